@@ -6,7 +6,10 @@ import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.domain.event.PostDeletedEvent;
 import goojeans.harulog.post.repository.PostRepository;
+import goojeans.harulog.post.service.DailyActivityService;
+import goojeans.harulog.post.service.TimelineService;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.user.domain.entity.Users;
 import goojeans.harulog.user.repository.UserRepository;
@@ -15,6 +18,7 @@ import goojeans.harulog.user.util.UserRole;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -28,6 +32,9 @@ public class AdminServiceImpl implements AdminService{
     private final SecurityUtils securityUtils;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DailyActivityService dailyActivityService;
+    private final TimelineService timelineService;
 
     private Integer pageSize = 10;
 
@@ -62,7 +69,12 @@ public class AdminServiceImpl implements AdminService{
 
         authorityCheck();
 
-        postRepository.deleteById(id);
+        postRepository.findById(id).ifPresent(post -> {
+            postRepository.delete(post);
+            dailyActivityService.refreshAfterCommit(post);
+            timelineService.removePost(id);
+        });
+        eventPublisher.publishEvent(new PostDeletedEvent(id));
 
         return Response.ok();
     }
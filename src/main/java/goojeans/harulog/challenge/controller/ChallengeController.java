@@ -5,7 +5,10 @@ import goojeans.harulog.challenge.domain.dto.request.ChallengeJoinRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeLeaveRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeRequest;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeMemberHistoryResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeRankingResponse;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeSearchResponse;
 import goojeans.harulog.challenge.service.ChallengeService;
 import goojeans.harulog.domain.dto.ImageUrlString;
 import goojeans.harulog.domain.dto.Response;
@@ -77,6 +80,23 @@ public class ChallengeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/challenge/{challengeId}/history")
+    public ResponseEntity<Response<List<ChallengeMemberHistoryResponse>>> getChallengeHistory(@PathVariable("challengeId") Long challengeId) {
+        Response<List<ChallengeMemberHistoryResponse>> response = challengeService.getChallengeHistory(challengeId);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/challenge/{challengeId}/ranking")
+    public ResponseEntity<Response<ChallengeRankingResponse>> getChallengeRanking(@PathVariable("challengeId") Long challengeId,
+                                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                                  @RequestParam(defaultValue = "20") int size) {
+        Long userId = securityUtils.getCurrentUserInfo().getId();
+        Response<ChallengeRankingResponse> response = challengeService.getChallengeRanking(userId, challengeId, page, size);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/challenge")
     public ResponseEntity<Response<List<ChallengeAllResponse>>> getAllChallenge() {
         Response<List<ChallengeAllResponse>> response = challengeService.getAllChallenge();
@@ -84,6 +104,15 @@ public class ChallengeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/challenge/search")
+    public ResponseEntity<Response<ChallengeSearchResponse>> searchChallenge(@RequestParam("keyword") String keyword,
+                                                                             @RequestParam(defaultValue = "0") int page,
+                                                                             @RequestParam(defaultValue = "20") int size) {
+        Response<ChallengeSearchResponse> response = challengeService.searchChallenge(keyword, page, size);
+
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/challenge/{challengeId}")
     public ResponseEntity<Response<ChallengeResponse>> updateChallenge(@PathVariable("challengeId") Long challengeId,@Validated @RequestBody ChallengeRequest request) {
         Long userId = securityUtils.getCurrentUserInfo().getId();
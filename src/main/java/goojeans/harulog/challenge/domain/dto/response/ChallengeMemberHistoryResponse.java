@@ -0,0 +1,28 @@
+package goojeans.harulog.challenge.domain.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 챌린지 참여자별 지난 날짜 달성 기록 (매일 기록된 결과를 읽는다. 오늘은 포함하지 않는다)
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChallengeMemberHistoryResponse {
+
+    private Long userId;
+
+    private String nickname;
+
+    private String imageUrl;
+
+    private int successDays;
+
+    private List<LocalDate> successDates;
+}
@@ -0,0 +1,26 @@
+package goojeans.harulog.challenge.domain.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 챌린지 참여자 한 명의 순위
+ * score 는 기상 챌린지면 달성 일수, 그 외에는 챌린지 기간 안의 활동 시간 합(분)이다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChallengeRankResponse {
+
+    private Long userId;
+
+    private String nickname;
+
+    private String imageUrl;
+
+    private long score;
+
+    private int rank;
+}
@@ -0,0 +1,28 @@
+package goojeans.harulog.challenge.domain.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 챌린지 참여자 순위 (page 는 0 부터 시작)
+ * myRank 는 조회한 사용자가 참여자가 아니면 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChallengeRankingResponse {
+
+    private List<ChallengeRankResponse> ranking;
+
+    private ChallengeRankResponse myRank;
+
+    private int memberCount;
+
+    private int page;
+
+    private boolean hasNext;
+}
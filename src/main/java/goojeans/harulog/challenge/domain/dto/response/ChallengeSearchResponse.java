@@ -0,0 +1,26 @@
+package goojeans.harulog.challenge.domain.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 챌린지 제목 검색 결과 (검색 순위 순서)
+ * page 는 0 부터 시작하고, totalCount 는 모든 페이지의 결과 수이다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChallengeSearchResponse {
+
+    private List<ChallengeAllResponse> content;
+
+    private int page;
+
+    private int totalCount;
+
+    private boolean hasNext;
+}
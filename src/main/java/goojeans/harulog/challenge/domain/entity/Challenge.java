@@ -61,11 +61,18 @@ public class Challenge extends BaseEntity {
     @Builder.Default
     private List<ChallengeUser> challengeUserList = new ArrayList<>();
 
+    // 참여자 수 (목록 조회용 반정규화)
+    // 동시에 참여 / 탈퇴해도 어긋나지 않게 DB 에는 ChallengeRepository.addParticipantCount 로 상대값만 반영한다.
+    @Column(updatable = false)
+    @Builder.Default
+    private int participantCount = 0;
+
     //연관관계 편의 메서드
     public void addChallengeUser(ChallengeUser challengeUser) {
         //ChallengeUserList를 가지고 있는 Challenge, User에 모두 ChallengeUser 추가
         this.challengeUserList.add(challengeUser);
         challengeUser.getUser().getChallengeUsers().add(challengeUser);
+        this.participantCount++;
 
         challengeUser.assignToChallenge(this);
     }
@@ -73,6 +80,7 @@ public class Challenge extends BaseEntity {
     public void removeChallengeUser(ChallengeUser challengeUser) {
         //ChallengeUserList를 가지고 있는 Challenge, User에 모두 ChallengeUser 제거
         this.challengeUserList.remove(challengeUser);
+        this.participantCount--;
         challengeUser.getUser().getChallengeUsers().remove(challengeUser);
     }
 
@@ -0,0 +1,51 @@
+package goojeans.harulog.challenge.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 챌린지 참여자의 날짜별 달성 결과 (매일 새벽 ChallengeResultSnapshotter 가 전날 결과를 기록)
+ * 같은 날짜를 다시 기록하면 덮어쓰므로 (challenge_id, user_id, result_date) 당 한 행이다.
+ * JDBC batch upsert 로 채우므로 연관관계 없이 id 만 가진다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "challenge_daily_result",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "challenge_daily_result_uk",
+                        columnNames = {"challenge_id", "user_id", "result_date"}
+                )
+        }
+)
+public class ChallengeDailyResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "challenge_daily_result_id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "challenge_id")
+    private Long challengeId;
+
+    @NotNull
+    @Column(name = "user_id")
+    private Long userId;
+
+    @NotNull
+    @Column(name = "result_date")
+    private LocalDate resultDate;
+
+    private boolean success;
+}
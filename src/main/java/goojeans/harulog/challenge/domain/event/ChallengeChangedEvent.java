@@ -0,0 +1,28 @@
+package goojeans.harulog.challenge.domain.event;
+
+import goojeans.harulog.challenge.domain.entity.Challenge;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 챌린지 생성 / 수정 / 삭제 이벤트 (메모리 인덱스 갱신용)
+ */
+@Getter
+@AllArgsConstructor
+public class ChallengeChangedEvent {
+
+    private Long challengeId;
+
+    // 삭제된 경우 null
+    private String challengeTitle;
+
+    private boolean deleted;
+
+    public static ChallengeChangedEvent saved(Challenge challenge) {
+        return new ChallengeChangedEvent(challenge.getChallengeId(), challenge.getChallengeTitle(), false);
+    }
+
+    public static ChallengeChangedEvent deleted(Long challengeId) {
+        return new ChallengeChangedEvent(challengeId, null, true);
+    }
+}
@@ -0,0 +1,14 @@
+package goojeans.harulog.challenge.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 챌린지 참여 / 탈퇴 / 강퇴 이벤트 (참여자 순위표 갱신용)
+ */
+@Getter
+@AllArgsConstructor
+public class ChallengeMembersChangedEvent {
+
+    private Long challengeId;
+}
@@ -0,0 +1,17 @@
+package goojeans.harulog.challenge.repository;
+
+import goojeans.harulog.challenge.domain.entity.ChallengeDailyResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ChallengeDailyResultRepository extends JpaRepository<ChallengeDailyResult, Long> {
+
+    // 챌린지 기록 조회 : 달성한 날만 읽는다.
+    @Query("select r from ChallengeDailyResult r where r.challengeId = :challengeId and r.success = true order by r.resultDate")
+    List<ChallengeDailyResult> findSuccessesByChallengeId(@Param("challengeId") Long challengeId);
+
+    List<ChallengeDailyResult> findByChallengeId(Long challengeId);
+}
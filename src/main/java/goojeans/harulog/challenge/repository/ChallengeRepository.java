@@ -1,10 +1,14 @@
 package goojeans.harulog.challenge.repository;
 
+import goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse;
 import goojeans.harulog.challenge.domain.entity.Challenge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,60 @@ public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
     @Query("select c from Challenge c join fetch c.challengeUserList cu where cu.challengeUserPK.userId = :userId")
     List<Challenge> findAllByUserId(@Param("userId") Long userId);
 
-    @Query(value = "select * from challenge where active_status = 'ACTIVE' order by rand() limit 4", nativeQuery = true)
-    List<Challenge> findRandomLimitFour();
+    // 랜덤 챌린지 인덱스용 활성 챌린지 id
+    @Query("select c.challengeId from Challenge c")
+    List<Long> findAllIds();
+
+    // 제목 검색 인덱스용 (id, 제목)
+    @Query("select c.challengeId as challengeId, c.challengeTitle as challengeTitle from Challenge c")
+    List<ChallengeTitle> findAllTitles();
+
+    // 결과 기록용 : 주어진 하루와 기간이 겹치는 챌린지 id
+    @Query("select c.challengeId from Challenge c where c.startDate < :to and c.endDate >= :from order by c.challengeId")
+    List<Long> findIdsInProgress(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 결과 기록 채우기용 : 주어진 하루와 기간이 겹치는 챌린지 중 가장 이른 시작일
+    @Query("select min(c.startDate) from Challenge c where c.startDate < :to and c.endDate >= :from")
+    Optional<LocalDateTime> findFirstStartDateInProgress(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select c from Challenge c join fetch c.category where c.challengeId in :challengeIds")
+    List<Challenge> findAllWithCategoryByIds(@Param("challengeIds") Collection<Long> challengeIds);
+
+    // 목록 조회 : 참여자 목록을 읽지 않고 반정규화된 참여자 수를 바로 담는다.
+    @Query("select new goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse(" +
+            "c.challengeId, c.challengeTitle, cat.categoryName, c.participantCount, c.imageUrl) " +
+            "from Challenge c join c.category cat")
+    List<ChallengeAllResponse> findAllSummaries();
+
+    @Query("select new goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse(" +
+            "c.challengeId, c.challengeTitle, cat.categoryName, c.participantCount, c.imageUrl) " +
+            "from ChallengeUser cu join cu.challenge c join c.category cat " +
+            "where cu.challengeUserPK.userId = :userId")
+    List<ChallengeAllResponse> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query("select new goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse(" +
+            "c.challengeId, c.challengeTitle, cat.categoryName, c.participantCount, c.imageUrl) " +
+            "from Challenge c join c.category cat where c.challengeId in :challengeIds")
+    List<ChallengeAllResponse> findSummariesByIds(@Param("challengeIds") Collection<Long> challengeIds);
+
+    // 참여자 수는 읽고 쓰지 않고 DB 에서 상대값으로 갱신
+    @Modifying
+    @Query("update Challenge c set c.participantCount = c.participantCount + :delta where c.challengeId = :challengeId")
+    int addParticipantCount(@Param("challengeId") Long challengeId, @Param("delta") int delta);
+
+    // 참여자 수 보정 : challenge_user 를 다시 세서 어긋난 챌린지만 갱신
+    @Modifying
+    @Query(value = "update challenge c " +
+            "left join (select challenge_id, count(*) as cnt from challenge_user " +
+            "where active_status = 'ACTIVE' group by challenge_id) counted on counted.challenge_id = c.challenge_id " +
+            "set c.participant_count = coalesce(counted.cnt, 0) " +
+            "where c.participant_count <> coalesce(counted.cnt, 0)", nativeQuery = true)
+    int reconcileParticipantCounts();
+
+    interface ChallengeTitle {
+
+        Long getChallengeId();
+
+        String getChallengeTitle();
+    }
 }
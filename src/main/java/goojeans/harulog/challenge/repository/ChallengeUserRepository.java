@@ -3,10 +3,14 @@ package goojeans.harulog.challenge.repository;
 import goojeans.harulog.challenge.domain.entity.ChallengeUser;
 import goojeans.harulog.challenge.domain.entity.ChallengeUserPK;
 import goojeans.harulog.challenge.util.ChallengeRole;
+import goojeans.harulog.domain.ActiveStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ChallengeUserRepository extends JpaRepository<ChallengeUser, ChallengeUserPK> {
@@ -20,4 +24,53 @@ public interface ChallengeUserRepository extends JpaRepository<ChallengeUser, Ch
     //softdelete된 ChallengeUser 조회
     @Query(value = "SELECT * FROM challenge_user WHERE active_status = 'DELETED' AND user_id = :userId AND challenge_id = :challengeId", nativeQuery = true)
     Optional<ChallengeUser> findDeletedChallengeUser(@Param("userId") Long userId, @Param("challengeId") Long challengeId);
+
+    //참여 가능 여부 확인용 : 같은 카테고리의 활성 챌린지 참여 기록과, 주어진 챌린지의 참여 / 탈퇴 기록을 한 번에 조회
+    @Query(value = "SELECT cu.challenge_id AS challengeId, c.category_id AS categoryId, cu.active_status AS activeStatus " +
+            "FROM challenge_user cu JOIN challenge c ON c.challenge_id = cu.challenge_id " +
+            "WHERE cu.user_id = :userId AND c.active_status = 'ACTIVE' " +
+            "AND ((cu.active_status = 'ACTIVE' AND c.category_id = :categoryId) OR cu.challenge_id = :challengeId)",
+            nativeQuery = true)
+    List<Membership> findMemberships(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                                     @Param("challengeId") Long challengeId);
+
+    //챌린지 기록 조회용 : 참여자와 유저를 한 번에 조회
+    @Query("select cu from ChallengeUser cu join fetch cu.user where cu.challengeUserPK.challengeId = :challengeId")
+    List<ChallengeUser> findAllWithUserByChallengeId(@Param("challengeId") Long challengeId);
+
+    //결과 기록용 : 여러 챌린지의 참여자 id
+    @Query("select cu.challengeUserPK.challengeId as challengeId, cu.challengeUserPK.userId as userId " +
+            "from ChallengeUser cu where cu.challengeUserPK.challengeId in :challengeIds")
+    List<ChallengeMember> findMembersByChallengeIds(@Param("challengeIds") Collection<Long> challengeIds);
+
+    //결과 기록용 : 여러 챌린지에서 before 이전에 참여한 참여자 id
+    @Query("select cu.challengeUserPK.challengeId as challengeId, cu.challengeUserPK.userId as userId " +
+            "from ChallengeUser cu where cu.challengeUserPK.challengeId in :challengeIds and cu.createdAt < :before")
+    List<ChallengeMember> findMembersJoinedBefore(@Param("challengeIds") Collection<Long> challengeIds,
+                                                  @Param("before") LocalDateTime before);
+
+    //순위표 갱신용 : 사용자가 참여 중인 해당 카테고리의 챌린지 id
+    @Query("select cu.challengeUserPK.challengeId from ChallengeUser cu join cu.challenge c " +
+            "where cu.challengeUserPK.userId = :userId and c.category.categoryId = :categoryId")
+    List<Long> findChallengeIdsByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    interface Membership {
+
+        Long getChallengeId();
+
+        Long getCategoryId();
+
+        String getActiveStatus();
+
+        default boolean isActive() {
+            return ActiveStatus.ACTIVE.name().equals(getActiveStatus());
+        }
+    }
+
+    interface ChallengeMember {
+
+        Long getChallengeId();
+
+        Long getUserId();
+    }
 }
@@ -0,0 +1,161 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.domain.event.ChallengeChangedEvent;
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 활성 챌린지 id 인덱스 (메인 페이지 랜덤 챌린지용)
+ * id 배열과 위치 map 으로 추가 / 삭제는 O(1) (삭제는 마지막 원소와 자리를 바꾼다), 서로 다른 k 개 추출은 O(k) 이다.
+ * 챌린지 생성 / 삭제 커밋 후에 반영하고, 놓친 변경은 주기적으로 id 만 다시 읽어서 맞춘다.
+ * 다시 읽는 동안 들어온 변경은 따로 모아 두었다가 새 목록으로 바꾼 뒤에 다시 적용한다. (읽은 목록이 그 변경보다 오래됐을 수 있다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveChallengeIndex {
+
+    private final ChallengeRepository challengeRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<Long> ids = new ArrayList<>();
+    private Map<Long, Integer> positions = new HashMap<>();
+    // reload 중에 들어온 변경 (reload 중이 아니면 null)
+    private List<Runnable> changedDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${challenge.random-index.refresh-interval:600000}",
+            initialDelayString = "${challenge.random-index.refresh-interval:600000}")
+    public synchronized void reload() {
+        bufferChanges(new ArrayList<>());
+        try {
+            List<Long> loaded = challengeRepository.findAllIds();
+
+            List<Long> newIds = new ArrayList<>(loaded.size());
+            Map<Long, Integer> newPositions = new HashMap<>(loaded.size() * 2);
+            loaded.forEach(id -> {
+                newPositions.put(id, newIds.size());
+                newIds.add(id);
+            });
+
+            lock.writeLock().lock();
+            try {
+                ids = newIds;
+                positions = newPositions;
+                List<Runnable> changed = changedDuringReload;
+                changedDuringReload = null;
+                changed.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("active challenge index reloaded. size={}", newIds.size());
+        } finally {
+            bufferChanges(null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getChallengeId());
+        } else {
+            add(event.getChallengeId());
+        }
+    }
+
+    public void add(Long challengeId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(() -> add(challengeId));
+            }
+            if (positions.putIfAbsent(challengeId, ids.size()) == null) {
+                ids.add(challengeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long challengeId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(() -> remove(challengeId));
+            }
+            Integer position = positions.remove(challengeId);
+            if (position == null) {
+                return;
+            }
+            Long last = ids.remove(ids.size() - 1);
+            if (position < ids.size()) {
+                ids.set(position, last);
+                positions.put(last, position);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 서로 다른 id 를 최대 count 개 무작위로 뽑는다.
+    public List<Long> sample(int count) {
+        lock.readLock().lock();
+        try {
+            int size = ids.size();
+            if (size <= count) {
+                List<Long> all = new ArrayList<>(ids);
+                Collections.shuffle(all, ThreadLocalRandom.current());
+                return all;
+            }
+
+            // 이미 뽑은 자리가 나오면 다시 뽑는다. count 가 작아서 기대 시도 횟수는 count 에 비례한다.
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Set<Integer> picked = new HashSet<>();
+            List<Long> sampled = new ArrayList<>(count);
+            while (sampled.size() < count) {
+                int position = random.nextInt(size);
+                if (picked.add(position)) {
+                    sampled.add(ids.get(position));
+                }
+            }
+            return sampled;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void bufferChanges(List<Runnable> buffer) {
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = buffer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * challenge 의 반정규화된 참여자 수 보정
+ * challenge_user 를 다시 세서 어긋난 챌린지만 한 번의 UPDATE 로 갱신한다.
+ * 컬럼이 새로 생긴 뒤에도 값이 채워지도록 서버 시작 시에도 한 번 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChallengeParticipantCountReconciler {
+
+    private final ChallengeRepository challengeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${challenge.participant-count.reconcile-cron:0 40 4 * * *}")
+    public void reconcile() {
+        Integer fixed = transactionTemplate.execute(status -> challengeRepository.reconcileParticipantCounts());
+        log.info("challenge participant count reconcile finished. fixed={}", fixed);
+    }
+}
@@ -0,0 +1,91 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.post.domain.dto.UserActivitySumDto;
+import goojeans.harulog.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 챌린지 참여자들의 하루 달성 여부를 한 번에 계산한다.
+ * 챌린지 카테고리의 게시글을 사용자별로 묶어 한 번의 쿼리로 집계하고,
+ * 기상은 가장 이른 기상 시각이 목표 이하, 그 외 카테고리는 활동 시간 합이 목표 이상이면 달성이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChallengeProgressEvaluator {
+
+    private final PostRepository postRepository;
+
+    public Map<Long, Boolean> evaluateToday(Challenge challenge, Collection<Long> userIds) {
+        return evaluate(challenge, userIds, LocalDate.now());
+    }
+
+    // 게시글이 없는 사용자도 false 로 채워서 돌려준다.
+    public Map<Long, Boolean> evaluate(Challenge challenge, Collection<Long> userIds, LocalDate date) {
+        Map<Long, Boolean> successMap = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return successMap;
+        }
+        userIds.forEach(userId -> successMap.put(userId, false));
+
+        boolean wakeUp = challenge.getCategory().getCategoryName().equals("기상");
+        postRepository.sumActivityByUsers(userIds, challenge.getCategory().getCategoryId(),
+                        date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .forEach(sum -> successMap.put(sum.getUserId(), isSuccess(sum, challenge.getChallengeGoal(), wakeUp)));
+
+        return successMap;
+    }
+
+    /**
+     * 여러 챌린지의 참여자 달성 여부를 한 번의 쿼리로 계산한다. (챌린지 id -> (사용자 id -> 달성 여부))
+     * 참여자 전체의 (사용자, 카테고리)별 집계를 한 번에 읽고, 챌린지마다 자기 카테고리의 집계로 판정한다.
+     */
+    public Map<Long, Map<Long, Boolean>> evaluateAll(Collection<Challenge> challenges, Map<Long, List<Long>> membersByChallenge,
+                                                     LocalDate date) {
+        Map<Long, Map<Long, Boolean>> results = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        challenges.forEach(challenge -> {
+            List<Long> members = membersByChallenge.getOrDefault(challenge.getChallengeId(), List.of());
+            Map<Long, Boolean> successMap = new HashMap<>();
+            members.forEach(userId -> successMap.put(userId, false));
+            results.put(challenge.getChallengeId(), successMap);
+            userIds.addAll(members);
+            categoryIds.add(challenge.getCategory().getCategoryId());
+        });
+        if (userIds.isEmpty()) {
+            return results;
+        }
+
+        // (사용자 id, 카테고리 id) -> 집계
+        Map<List<Long>, UserActivitySumDto> sums = new HashMap<>();
+        postRepository.sumActivityByUsersAndCategories(userIds, categoryIds, date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .forEach(sum -> sums.put(List.of(sum.getUserId(), sum.getCategoryId()), sum));
+
+        challenges.forEach(challenge -> {
+            Long categoryId = challenge.getCategory().getCategoryId();
+            boolean wakeUp = challenge.getCategory().getCategoryName().equals("기상");
+            results.get(challenge.getChallengeId()).replaceAll((userId, success) -> {
+                UserActivitySumDto sum = sums.get(List.of(userId, categoryId));
+                return sum != null && isSuccess(sum, challenge.getChallengeGoal(), wakeUp);
+            });
+        });
+        return results;
+    }
+
+    private boolean isSuccess(UserActivitySumDto sum, int goal, boolean wakeUp) {
+        if (wakeUp) {
+            return sum.getMinActivityTime() != null && sum.getMinActivityTime() <= goal;
+        }
+        return sum.getTotalActivityTime() != null && sum.getTotalActivityTime() >= goal;
+    }
+}
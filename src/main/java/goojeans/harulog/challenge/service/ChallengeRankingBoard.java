@@ -0,0 +1,134 @@
+package goojeans.harulog.challenge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.challenge.domain.event.ChallengeChangedEvent;
+import goojeans.harulog.challenge.domain.event.ChallengeMembersChangedEvent;
+import goojeans.harulog.challenge.repository.ChallengeUserRepository;
+import goojeans.harulog.challenge.util.RankingTreap;
+import goojeans.harulog.post.domain.event.DailyActivityChangedEvent;
+import goojeans.harulog.post.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 챌린지별 참여자 순위표 캐시
+ * 점수는 기상 챌린지면 달성 일수, 그 외에는 챌린지 기간 안의 활동 시간 합이다.
+ * 순위표는 처음 조회할 때 참여자 전체 점수를 한 번의 집계 쿼리로 만들고,
+ * 이후에는 게시글 작성 / 수정 / 삭제 커밋 후에 그 사용자의 점수만 다시 계산해서 반영한다.
+ * 참여자나 챌린지 정보(기간, 목표)가 바뀌면 그 챌린지의 순위표를 비운다.
+ */
+@Component
+public class ChallengeRankingBoard {
+
+    private final ChallengeUserRepository challengeUserRepository;
+    private final PostRepository postRepository;
+    private final Cache<Long, Ranking> cache;
+
+    public ChallengeRankingBoard(ChallengeUserRepository challengeUserRepository,
+                                 PostRepository postRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${challenge.ranking-cache.max-size:1000}") long maxSize,
+                                 @Value("${challenge.ranking-cache.ttl:30m}") Duration ttl) {
+        this.challengeUserRepository = challengeUserRepository;
+        this.postRepository = postRepository;
+        // 순위표를 만드는 중에 커밋된 게시글은 반영되지 않을 수 있어서 ttl 마다 다시 만든다.
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "challenge.ranking");
+    }
+
+    public RankingTreap get(Challenge challenge) {
+        return cache.get(challenge.getChallengeId(), challengeId -> load(challenge)).treap();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyActivityChanged(DailyActivityChangedEvent event) {
+        if (cache.estimatedSize() == 0) {
+            return;
+        }
+        if (event.getCategoryId() == null) {
+            cache.invalidateAll();
+            return;
+        }
+
+        // 같은 카테고리의 챌린지에는 하나만 참여할 수 있어서 보통 한 개이다.
+        challengeUserRepository.findChallengeIdsByUserIdAndCategoryId(event.getUserId(), event.getCategoryId())
+                .forEach(challengeId -> {
+                    Ranking ranking = cache.getIfPresent(challengeId);
+                    if (ranking != null && ranking.covers(event.getActivityDate())) {
+                        Long userId = event.getUserId();
+                        ranking.treap().put(userId, scores(ranking, List.of(userId)).get(userId));
+                    }
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        cache.invalidate(event.getChallengeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembersChanged(ChallengeMembersChangedEvent event) {
+        cache.invalidate(event.getChallengeId());
+    }
+
+    private Ranking load(Challenge challenge) {
+        Ranking ranking = new Ranking(
+                challenge.getCategory().getCategoryId(),
+                challenge.getCategory().getCategoryName().equals("기상"),
+                challenge.getChallengeGoal(),
+                challenge.getStartDate().toLocalDate(),
+                challenge.getEndDate().toLocalDate(),
+                new RankingTreap());
+
+        List<Long> userIds = challengeUserRepository.findMembersByChallengeIds(List.of(challenge.getChallengeId())).stream()
+                .map(ChallengeUserRepository.ChallengeMember::getUserId)
+                .toList();
+        scores(ranking, userIds).forEach(ranking.treap()::put);
+        return ranking;
+    }
+
+    // 게시글이 없는 사용자도 0 점으로 채운다.
+    private Map<Long, Long> scores(Ranking ranking, Collection<Long> userIds) {
+        Map<Long, Long> scores = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return scores;
+        }
+        userIds.forEach(userId -> scores.put(userId, 0L));
+
+        LocalDateTime from = ranking.startDate().atStartOfDay();
+        LocalDateTime to = ranking.endDate().plusDays(1).atStartOfDay();
+        if (ranking.wakeUp()) {
+            postRepository.countWakeUpSuccessDaysByUsers(userIds, ranking.categoryId(), from, to, ranking.goal())
+                    .forEach(row -> scores.put(row.getUserId(), row.getSuccessDays()));
+        } else {
+            postRepository.sumActivityByUsers(userIds, ranking.categoryId(), from, to)
+                    .forEach(sum -> scores.put(sum.getUserId(), sum.getTotalActivityTime() == null ? 0L : sum.getTotalActivityTime()));
+        }
+        return scores;
+    }
+
+    private record Ranking(Long categoryId, boolean wakeUp, int goal, LocalDate startDate, LocalDate endDate, RankingTreap treap) {
+
+        boolean covers(LocalDate date) {
+            return date != null && !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import goojeans.harulog.challenge.repository.ChallengeUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 챌린지 참여자의 하루 달성 결과 기록 (challenge_daily_result)
+ * 그날 진행 중인 챌린지 id 를 chunk 로 나눠서 크기가 정해진 ForkJoinPool 에서 병렬로 처리한다.
+ * chunk 마다 챌린지와 참여자를 읽고, 달성 여부는 한 번의 집계 쿼리로 계산해서 JDBC batch upsert 로 쓴다.
+ * 같은 날짜를 다시 실행하면 결과를 덮어쓰므로 지난 날짜도 언제든 다시 기록할 수 있다.
+ * 참여자는 실행 시점의 참여자 중 그 날짜 이전에 참여한 사용자만 기록한다. 그 사이에 나간 사용자의 기존 기록은 그대로 남는다.
+ * (다시 참여한 사용자는 처음 참여한 날짜 기준이다)
+ * 서버 시작 시 지금 진행 중인 챌린지의 지난 날짜 중 기록이 하나도 없는 날을 채운다. (기록을 도입하기 전 기간)
+ * 모든 기록은 전용 스레드 하나에서 요청 순서대로 실행하므로, 실행이 겹치면 건너뛰지 않고 앞의 실행이 끝난 뒤에 기록한다.
+ */
+@Slf4j
+@Component
+public class ChallengeResultSnapshotter {
+
+    private static final String RECORDED_DATES_SQL =
+            "SELECT DISTINCT result_date FROM challenge_daily_result WHERE result_date >= ?";
+    private static final String UPSERT_SQL =
+            "INSERT INTO challenge_daily_result(challenge_id, user_id, result_date, success) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE success = VALUES(success)";
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeUserRepository challengeUserRepository;
+    private final ChallengeProgressEvaluator challengeProgressEvaluator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+    private final ExecutorService queue = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "challenge-result-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicInteger totalChallenges = new AtomicInteger();
+    private final AtomicInteger processedChallenges = new AtomicInteger();
+    private final Counter writtenRows;
+    private final Counter failedChunks;
+    private final Timer snapshotTimer;
+
+    public ChallengeResultSnapshotter(ChallengeRepository challengeRepository,
+                                      ChallengeUserRepository challengeUserRepository,
+                                      ChallengeProgressEvaluator challengeProgressEvaluator,
+                                      JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${challenge.result-snapshot.chunk-size:200}") int chunkSize,
+                                      @Value("${challenge.result-snapshot.batch-size:500}") int batchSize,
+                                      @Value("${challenge.result-snapshot.parallelism:4}") int parallelism) {
+        this.challengeRepository = challengeRepository;
+        this.challengeUserRepository = challengeUserRepository;
+        this.challengeProgressEvaluator = challengeProgressEvaluator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.pool = new ForkJoinPool(parallelism);
+
+        Gauge.builder("challenge.result_snapshot.total", totalChallenges, AtomicInteger::get)
+                .description("이번 실행에서 기록할 챌린지 수")
+                .register(meterRegistry);
+        Gauge.builder("challenge.result_snapshot.processed", processedChallenges, AtomicInteger::get)
+                .description("이번 실행에서 기록을 마친 챌린지 수")
+                .register(meterRegistry);
+        this.writtenRows = Counter.builder("challenge.result_snapshot.rows")
+                .description("기록한 참여자별 결과 수")
+                .register(meterRegistry);
+        this.failedChunks = Counter.builder("challenge.result_snapshot.failures")
+                .description("기록에 실패한 chunk 수")
+                .register(meterRegistry);
+        this.snapshotTimer = Timer.builder("challenge.result_snapshot.duration")
+                .description("하루 결과 기록 전체 시간")
+                .register(meterRegistry);
+    }
+
+    // 매일 새벽 전날 결과를 기록한다. 스케줄러 스레드는 기다리지 않는다.
+    @Scheduled(cron = "${challenge.result-snapshot.cron:0 10 0 * * *}")
+    public void snapshotYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        queue.execute(() -> record(yesterday));
+    }
+
+    // 서버 시작을 막지 않도록 기록 스레드에 넘긴다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        queue.execute(() -> {
+            try {
+                fillMissingDates();
+            } catch (RuntimeException e) {
+                log.error("challenge result backfill failed", e);
+            }
+        });
+    }
+
+    /**
+     * 진행 중인 챌린지 중 가장 이른 시작일부터 어제까지, 기록이 하나도 없는 날짜만 하루씩 기록한다.
+     * 기록한 날짜는 다음 시작 때 건너뛰므로 한 번만 채운다. 기록한 행 수는 Future 로 돌려준다.
+     */
+    public Future<Integer> backfill() {
+        return queue.submit(this::fillMissingDates);
+    }
+
+    /**
+     * date 에 진행 중이던 모든 챌린지의 참여자 결과를 기록하고, 기록한 행 수를 돌려준다.
+     * 다른 기록이 실행 중이면 끝날 때까지 기다린다. 실패한 chunk 는 건너뛰고 로그를 남긴다. (같은 날짜로 다시 실행하면 된다)
+     */
+    public int snapshot(LocalDate date) {
+        try {
+            return queue.submit(() -> record(date)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            log.error("challenge result snapshot failed. date={}", date, e.getCause());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queue.shutdownNow();
+        pool.shutdown();
+    }
+
+    private int fillMissingDates() {
+        LocalDate today = LocalDate.now();
+        Optional<LocalDateTime> firstStart =
+                challengeRepository.findFirstStartDateInProgress(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+        if (firstStart.isEmpty()) {
+            return 0;
+        }
+
+        LocalDate from = firstStart.get().toLocalDate();
+        Set<LocalDate> recorded = new HashSet<>(jdbcTemplate.queryForList(RECORDED_DATES_SQL, LocalDate.class, Date.valueOf(from)));
+        int days = 0;
+        int rows = 0;
+        for (LocalDate date = from; date.isBefore(today); date = date.plusDays(1)) {
+            if (!recorded.contains(date)) {
+                rows += record(date);
+                days++;
+            }
+        }
+        log.info("challenge result backfill finished. from={}, days={}, rows={}", from, days, rows);
+        return rows;
+    }
+
+    // 기록 스레드에서만 실행한다.
+    private int record(LocalDate date) {
+        List<Long> challengeIds = challengeRepository.findIdsInProgress(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < challengeIds.size(); from += chunkSize) {
+            chunks.add(challengeIds.subList(from, Math.min(from + chunkSize, challengeIds.size())));
+        }
+        totalChallenges.set(challengeIds.size());
+        processedChallenges.set(0);
+
+        AtomicInteger rows = new AtomicInteger();
+        snapshotTimer.record(() -> run(() -> chunks.parallelStream()
+                .forEach(chunk -> rows.addAndGet(snapshotChunk(chunk, date)))));
+
+        log.info("challenge result snapshot finished. date={}, challenges={}/{}, rows={}",
+                date, processedChallenges.get(), challengeIds.size(), rows.get());
+        return rows.get();
+    }
+
+    // 병렬 스트림을 공용 풀 대신 이 작업의 풀에서 돌린다.
+    private void run(Runnable task) {
+        try {
+            pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("challenge result snapshot failed", e.getCause());
+        }
+    }
+
+    private int snapshotChunk(List<Long> challengeIds, LocalDate date) {
+        try {
+            Integer written = transactionTemplate.execute(status -> {
+                List<Challenge> challenges = challengeRepository.findAllWithCategoryByIds(challengeIds);
+                Map<Long, List<Long>> membersByChallenge = challengeUserRepository.findMembersJoinedBefore(challengeIds, date.plusDays(1).atStartOfDay()).stream()
+                        .collect(Collectors.groupingBy(ChallengeUserRepository.ChallengeMember::getChallengeId,
+                                Collectors.mapping(ChallengeUserRepository.ChallengeMember::getUserId, Collectors.toList())));
+
+                List<Object[]> results = new ArrayList<>();
+                challengeProgressEvaluator.evaluateAll(challenges, membersByChallenge, date)
+                        .forEach((challengeId, successMap) -> successMap.forEach((userId, success) ->
+                                results.add(new Object[]{challengeId, userId, Date.valueOf(date), success})));
+
+                jdbcTemplate.batchUpdate(UPSERT_SQL, results, batchSize, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setLong(2, (Long) row[1]);
+                    ps.setDate(3, (Date) row[2]);
+                    ps.setBoolean(4, (Boolean) row[3]);
+                });
+                return results.size();
+            });
+
+            writtenRows.increment(written);
+            int processed = processedChallenges.addAndGet(challengeIds.size());
+            log.debug("challenge result snapshot progress. date={}, challenges={}/{}", date, processed, totalChallenges.get());
+            return written;
+        } catch (RuntimeException e) {
+            failedChunks.increment();
+            log.error("challenge result snapshot chunk failed. date={}, challengeIds={}..{}",
+                    date, challengeIds.get(0), challengeIds.get(challengeIds.size() - 1), e);
+            return 0;
+        }
+    }
+}
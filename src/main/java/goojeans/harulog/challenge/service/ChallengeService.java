@@ -4,7 +4,10 @@ import goojeans.harulog.challenge.domain.dto.request.ChallengeJoinRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeLeaveRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeRequest;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeMemberHistoryResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeRankingResponse;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeSearchResponse;
 import goojeans.harulog.domain.dto.ImageUrlString;
 import goojeans.harulog.domain.dto.Response;
 import org.springframework.web.multipart.MultipartFile;
@@ -31,9 +34,18 @@ public interface ChallengeService {
     //챌린지 단건 조회
     Response<ChallengeResponse> getChallenge(Long userId, Long ChallengeId);
 
+    //챌린지 참여자별 지난 달성 기록 조회
+    Response<List<ChallengeMemberHistoryResponse>> getChallengeHistory(Long challengeId);
+
+    //챌린지 참여자 순위 조회 (내 순위 포함)
+    Response<ChallengeRankingResponse> getChallengeRanking(Long userId, Long challengeId, int page, int size);
+
     //모든 챌린지 조회
     Response<List<ChallengeAllResponse>> getAllChallenge();
 
+    //제목으로 챌린지 검색 (검색 순위 순, 페이지 단위)
+    Response<ChallengeSearchResponse> searchChallenge(String keyword, int page, int size);
+
     //한 사용자가 참여하는 모든 챌린지 조회
     Response<List<ChallengeAllResponse>> getUserChallenge(Long userId);
 
@@ -9,13 +9,22 @@ import goojeans.harulog.challenge.domain.dto.request.ChallengeJoinRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeLeaveRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeRequest;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeMemberHistoryResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeRankResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeRankingResponse;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeSearchResponse;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeUsersResponse;
 import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.challenge.domain.entity.ChallengeDailyResult;
 import goojeans.harulog.challenge.domain.entity.ChallengeUser;
+import goojeans.harulog.challenge.domain.event.ChallengeChangedEvent;
+import goojeans.harulog.challenge.domain.event.ChallengeMembersChangedEvent;
+import goojeans.harulog.challenge.repository.ChallengeDailyResultRepository;
 import goojeans.harulog.challenge.repository.ChallengeRepository;
 import goojeans.harulog.challenge.repository.ChallengeUserRepository;
 import goojeans.harulog.challenge.util.ChallengeRole;
+import goojeans.harulog.challenge.util.RankingTreap;
 import goojeans.harulog.chat.domain.entity.ChatRoom;
 import goojeans.harulog.chat.repository.ChatRoomRepository;
 import goojeans.harulog.chat.service.ChatRoomService;
@@ -24,13 +33,12 @@ import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.ImageUrlString;
 import goojeans.harulog.domain.dto.Response;
-import goojeans.harulog.post.domain.entity.Post;
-import goojeans.harulog.post.repository.PostRepository;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.user.domain.entity.Users;
 import goojeans.harulog.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -40,7 +48,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -49,11 +60,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class ChallengeServiceImpl implements ChallengeService {
 
+    private static final int RANDOM_CHALLENGE_COUNT = 4;
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final ChallengeRepository challengeRepository;
     private final ChallengeUserRepository challengeUserRepository;
+    private final ChallengeDailyResultRepository challengeDailyResultRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final PostRepository postRepository;
+    private final ChallengeProgressEvaluator challengeProgressEvaluator;
+    private final ActiveChallengeIndex activeChallengeIndex;
+    private final ChallengeTitleIndex challengeTitleIndex;
+    private final ChallengeRankingBoard challengeRankingBoard;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 채팅
     private final ChatRoomService chatRoomService;
@@ -68,7 +87,7 @@ public class ChallengeServiceImpl implements ChallengeService {
         Users user = userRepository.findById(userId).orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
         Category category = categoryRepository.findByCategoryName(request.getCategoryName()).orElseThrow(() -> new BusinessException(ResponseCode.CATEGORY_NOT_FOUND));
 
-        if (!canJoinChallenge(user, request.getCategoryName())) {
+        if (!canJoinChallenge(user.getId(), category.getCategoryId())) {
             throw new BusinessException(ResponseCode.CHALLENGE_CAT_ALREADY_PARTICIPATE);
         }
 
@@ -92,9 +111,10 @@ public class ChallengeServiceImpl implements ChallengeService {
                 .build();
 
         challengeRepository.save(challenge);
+        eventPublisher.publishEvent(ChallengeChangedEvent.saved(challenge));
 
         ChallengeUser challengeUser = ChallengeUser.create(user, challenge);
-        challenge.addChallengeUser(challengeUser);
+        addParticipant(challenge, challengeUser);
 
         //첫 참여자라면 리더로 역할을 바꿔준다. 챌린지 생성자 = 방장
         if (challenge.getChallengeUserList().size() == 1) {
@@ -143,28 +163,32 @@ public class ChallengeServiceImpl implements ChallengeService {
         Users user = userRepository.findById(userId).orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
         Challenge challenge = challengeRepository.findByChallengeId(request.getChallengeId()).orElseThrow(() -> new BusinessException(ResponseCode.CHALLENGE_NOT_FOUND));
 
-        if (isAlreadyJoin(userId, challenge.getChallengeId())) {
+        //참여 중인지, 같은 카테고리에 참여 중인지, 재가입인지 한 번에 확인
+        Participation participation = findParticipation(userId, challenge.getCategory().getCategoryId(), challenge.getChallengeId());
+
+        if (participation.joined()) {
             throw new BusinessException(ResponseCode.CHALLENGE_ALREADY_JOIN);
         }
 
-        if (!canJoinChallenge(user, challenge.getCategory().getCategoryName())) {
+        if (participation.categoryTaken()) {
             throw new BusinessException(ResponseCode.CHALLENGE_CAT_ALREADY_PARTICIPATE);
         }
 
-        //재가입인지 검사
         //재가입이면 활성 상태만 업데이트
-        ChallengeUser deletedChallengeUser = challengeUserRepository.findDeletedChallengeUser(userId, challenge.getChallengeId()).orElse(null);
+        ChallengeUser deletedChallengeUser = participation.rejoin()
+                ? challengeUserRepository.findDeletedChallengeUser(userId, challenge.getChallengeId()).orElse(null)
+                : null;
 
         if (deletedChallengeUser == null) {
             ChallengeUser challengeUser = ChallengeUser.create(user, challenge);
-            challenge.addChallengeUser(challengeUser);
+            addParticipant(challenge, challengeUser);
 
             // 채팅방 참여자 추가
             chatRoomUserService.addUser(challenge.getChatroom(), user);
 
         } else {
             deletedChallengeUser.updateActiveStatus();
-            challenge.addChallengeUser(deletedChallengeUser);
+            addParticipant(challenge, deletedChallengeUser);
         }
 
         List<ChallengeUsersResponse> challengeUserList = createChallengeUserList(challenge);
@@ -186,12 +210,13 @@ public class ChallengeServiceImpl implements ChallengeService {
         // 채팅방 퇴장 (챌린지 삭제 전)
         chatRoomUserService.deleteUser(challenge.getChatroom().getId(), user.getNickname());
 
-        challenge.removeChallengeUser(challengeUser);
+        removeParticipant(challenge, challengeUser);
         challengeUserRepository.delete(challengeUser);
 
         //참여자가 0명이 됐다면 챌린지 자체도 삭제한다.
-        if (challenge.getChallengeUserList().size() == 0) {
+        if (challenge.getParticipantCount() == 0) {
             challengeRepository.delete(challenge);
+            eventPublisher.publishEvent(ChallengeChangedEvent.deleted(challenge.getChallengeId()));
         }
 
         return Response.ok();
@@ -206,6 +231,7 @@ public class ChallengeServiceImpl implements ChallengeService {
 
         if (isChallengeLeader) {
             challengeRepository.delete(challenge);
+            eventPublisher.publishEvent(ChallengeChangedEvent.deleted(challengeId));
             chatRoomService.deleteChatRoom(challenge.getChatroom().getId()); // soft-delete 때문에 채팅방을 챌린지 이후에 삭제
 
             return Response.ok();
@@ -237,35 +263,87 @@ public class ChallengeServiceImpl implements ChallengeService {
     }
 
     @Override
-    public Response<List<ChallengeAllResponse>> getAllChallenge() {
+    public Response<List<ChallengeMemberHistoryResponse>> getChallengeHistory(Long challengeId) {
+
+        Challenge challenge = challengeRepository.findByChallengeId(challengeId).orElseThrow(() -> new BusinessException(ResponseCode.CHALLENGE_NOT_FOUND));
 
-        List<Challenge> challenges = challengeRepository.findAll();
+        //매일 기록된 결과만 읽는다. (게시글을 다시 집계하지 않는다)
+        Map<Long, List<LocalDate>> successDates = challengeDailyResultRepository.findSuccessesByChallengeId(challengeId).stream()
+                .collect(Collectors.groupingBy(ChallengeDailyResult::getUserId,
+                        Collectors.mapping(ChallengeDailyResult::getResultDate, Collectors.toList())));
 
-        List<ChallengeAllResponse> challengeResponse = challenges.stream()
-                .map(challenge -> new ChallengeAllResponse(
-                        challenge.getChallengeId(),
-                        challenge.getChallengeTitle(),
-                        challenge.getCategory().getCategoryName(),
-                        challenge.getChallengeUserList().size(),
-                        challenge.getImageUrl()
-                )).collect(Collectors.toList());
+        //참여자와 유저는 한 번에 조회한다.
+        List<ChallengeUser> members = challengeUserRepository.findAllWithUserByChallengeId(challenge.getChallengeId());
+        List<ChallengeMemberHistoryResponse> history = members.stream().map(challengeUser -> {
+            Users user = challengeUser.getUser();
+            List<LocalDate> dates = successDates.getOrDefault(user.getId(), List.of());
+            return new ChallengeMemberHistoryResponse(user.getId(), user.getNickname(), user.getImageUrl(), dates.size(), dates);
+        })
+        .collect(Collectors.toList());
+
+        return Response.ok(history);
+    }
+
+    @Override
+    public Response<ChallengeRankingResponse> getChallengeRanking(Long userId, Long challengeId, int page, int size) {
+
+        Challenge challenge = challengeRepository.findByChallengeId(challengeId).orElseThrow(() -> new BusinessException(ResponseCode.CHALLENGE_NOT_FOUND));
+
+        //참여자 전체 게시글을 다시 집계하지 않고 순위표에서 한 페이지와 내 순위만 읽는다.
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        RankingTreap ranking = challengeRankingBoard.get(challenge);
+        List<RankingTreap.Entry> entries = ranking.page(pageNumber * pageSize, pageSize);
+        Optional<RankingTreap.Entry> mine = ranking.find(userId);
+        int memberCount = ranking.size();
+
+        Set<Long> userIds = entries.stream().map(RankingTreap.Entry::userId).collect(Collectors.toSet());
+        mine.ifPresent(entry -> userIds.add(entry.userId()));
+        Map<Long, Users> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(Users::getId, user -> user));
+
+        List<ChallengeRankResponse> rankResponses = entries.stream()
+                .filter(entry -> users.containsKey(entry.userId()))
+                .map(entry -> toRankResponse(entry, users.get(entry.userId())))
+                .collect(Collectors.toList());
+        ChallengeRankResponse myRank = mine.filter(entry -> users.containsKey(entry.userId()))
+                .map(entry -> toRankResponse(entry, users.get(entry.userId())))
+                .orElse(null);
+        boolean hasNext = (long) (pageNumber + 1) * pageSize < memberCount;
+
+        return Response.ok(new ChallengeRankingResponse(rankResponses, myRank, memberCount, pageNumber, hasNext));
+    }
+
+    private ChallengeRankResponse toRankResponse(RankingTreap.Entry entry, Users user) {
+        return new ChallengeRankResponse(user.getId(), user.getNickname(), user.getImageUrl(), entry.score(), entry.rank());
+    }
+
+    @Override
+    public Response<List<ChallengeAllResponse>> getAllChallenge() {
+
+        List<ChallengeAllResponse> challengeResponse = challengeRepository.findAllSummaries();
 
         return Response.ok(challengeResponse);
     }
 
     @Override
-    public Response<List<ChallengeAllResponse>> getUserChallenge(Long userId) {
+    public Response<ChallengeSearchResponse> searchChallenge(String keyword, int page, int size) {
+
+        //LIKE 전체 스캔 대신 제목 글자쌍 색인에서 순위대로 id 를 받아 한 번의 IN 쿼리로 조회한다.
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ChallengeTitleIndex.Result result = challengeTitleIndex.search(keyword, pageNumber, pageSize);
 
-        List<Challenge> challenges = challengeRepository.findAllByUserId(userId);
+        List<ChallengeAllResponse> content = findSummariesInOrder(result.challengeIds());
+        boolean hasNext = (long) (pageNumber + 1) * pageSize < result.totalCount();
 
-        List<ChallengeAllResponse> challengeResponse = challenges.stream()
-                .map(challenge -> new ChallengeAllResponse(
-                        challenge.getChallengeId(),
-                        challenge.getChallengeTitle(),
-                        challenge.getCategory().getCategoryName(),
-                        challenge.getChallengeUserList().size(),
-                        challenge.getImageUrl()
-                )).collect(Collectors.toList());
+        return Response.ok(new ChallengeSearchResponse(content, pageNumber, result.totalCount(), hasNext));
+    }
+
+    @Override
+    public Response<List<ChallengeAllResponse>> getUserChallenge(Long userId) {
+
+        List<ChallengeAllResponse> challengeResponse = challengeRepository.findSummariesByUserId(userId);
 
         return Response.ok(challengeResponse);
     }
@@ -274,16 +352,7 @@ public class ChallengeServiceImpl implements ChallengeService {
     public Response<List<ChallengeAllResponse>> getOthersChallenge(String nickname) {
 
         Users user = userRepository.findByNickname(nickname).orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
-        List<Challenge> challenges = challengeRepository.findAllByUserId(user.getId());
-
-        List<ChallengeAllResponse> challengeResponse = challenges.stream()
-                .map(challenge -> new ChallengeAllResponse(
-                        challenge.getChallengeId(),
-                        challenge.getChallengeTitle(),
-                        challenge.getCategory().getCategoryName(),
-                        challenge.getChallengeUserList().size(),
-                        challenge.getImageUrl()
-                )).collect(Collectors.toList());
+        List<ChallengeAllResponse> challengeResponse = challengeRepository.findSummariesByUserId(user.getId());
 
         return Response.ok(challengeResponse);
     }
@@ -305,6 +374,7 @@ public class ChallengeServiceImpl implements ChallengeService {
             challenge.updateEndDate(request.getEndDate());
 
             Challenge updatedChallenge = challengeRepository.save(challenge);
+            eventPublisher.publishEvent(ChallengeChangedEvent.saved(updatedChallenge));
 
             List<ChallengeUsersResponse> challengeUserList = createChallengeUserList(updatedChallenge);
             ChallengeResponse challengeResponse = ChallengeResponse.of(challenge, challengeUserList, true, true);
@@ -318,23 +388,25 @@ public class ChallengeServiceImpl implements ChallengeService {
     @Override
     public Response<List<ChallengeAllResponse>> getRandomChallenge() {
 
-        List<Challenge> challenges;
+        //메모리 인덱스에서 id 를 뽑고 한 번의 IN 쿼리로 조회한다. 뽑은 순서를 유지한다.
+        List<Long> challengeIds = activeChallengeIndex.sample(RANDOM_CHALLENGE_COUNT);
 
-        //존재하는 챌린지가 4개 미만이라면 findAll 해준다.
-        if (challengeRepository.count() < 4) {
-            challenges = challengeRepository.findAll();
+        return Response.ok(findSummariesInOrder(challengeIds));
+    }
 
-        } else {
-            challenges = challengeRepository.findRandomLimitFour();
+    // 메모리 인덱스가 준 id 순서대로 목록 조회 (인덱스 반영 전에 삭제된 챌린지는 빠진다)
+    private List<ChallengeAllResponse> findSummariesInOrder(List<Long> challengeIds) {
+        if (challengeIds.isEmpty()) {
+            return List.of();
         }
 
-        List<ChallengeAllResponse> challengeResponse = challenges.stream().map(challenge -> new ChallengeAllResponse(challenge.getChallengeId(),
-                challenge.getChallengeTitle(),
-                challenge.getCategory().getCategoryName(),
-                challenge.getChallengeUserList().size(),
-                challenge.getImageUrl())).collect(Collectors.toList());
+        Map<Long, ChallengeAllResponse> summaries = challengeRepository.findSummariesByIds(challengeIds).stream()
+                .collect(Collectors.toMap(ChallengeAllResponse::getChallengeId, summary -> summary));
 
-        return Response.ok(challengeResponse);
+        return challengeIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -355,7 +427,7 @@ public class ChallengeServiceImpl implements ChallengeService {
 
             ChallengeUser kickoutChallengeUser = challengeUserRepository.findChallengeUserByUserAndChallenge(kickoutUser.getId(), challengeId).orElseThrow(() -> new BusinessException(ResponseCode.CHALLENGE_NO_PERMISSION));
 
-            challenge.removeChallengeUser(kickoutChallengeUser);
+            removeParticipant(challenge, kickoutChallengeUser);
             challengeUserRepository.delete(kickoutChallengeUser);
 
             // 채팅방에서도 강퇴
@@ -386,6 +458,19 @@ public class ChallengeServiceImpl implements ChallengeService {
         }
     }
 
+    //참여자 추가 / 제거 : 참여자 수는 DB 에서 상대값으로 갱신하고, 순위표는 커밋 후에 다시 만든다.
+    private void addParticipant(Challenge challenge, ChallengeUser challengeUser) {
+        challenge.addChallengeUser(challengeUser);
+        challengeRepository.addParticipantCount(challenge.getChallengeId(), 1);
+        eventPublisher.publishEvent(new ChallengeMembersChangedEvent(challenge.getChallengeId()));
+    }
+
+    private void removeParticipant(Challenge challenge, ChallengeUser challengeUser) {
+        challenge.removeChallengeUser(challengeUser);
+        challengeRepository.addParticipantCount(challenge.getChallengeId(), -1);
+        eventPublisher.publishEvent(new ChallengeMembersChangedEvent(challenge.getChallengeId()));
+    }
+
     //첼린지에 참여 중인지 검사
     public boolean isAlreadyJoin(Long userId, Long ChallengeId) {
         Optional<ChallengeUser> challengeUser = challengeUserRepository.findChallengeUserByUserAndChallenge(userId, ChallengeId);
@@ -394,15 +479,30 @@ public class ChallengeServiceImpl implements ChallengeService {
     }
 
     //한 사용자는 한 카테고리에 한 챌린지만 참여 가능하다.
-    public boolean canJoinChallenge(Users user, String categoryName) {
-        List<Challenge> userChallenges = challengeRepository.findAllByUserId(user.getId());
+    public boolean canJoinChallenge(Long userId, Long categoryId) {
+        return !findParticipation(userId, categoryId, null).categoryTaken();
+    }
 
-        for (Challenge challenge : userChallenges) {
-            if (challenge.getCategory().getCategoryName().equals(categoryName)) {
-                return false;
+    //(사용자, 카테고리) 참여 기록을 한 번의 쿼리로 조회한다. challengeId 가 있으면 그 챌린지의 참여 / 탈퇴 기록도 함께 본다.
+    private Participation findParticipation(Long userId, Long categoryId, Long challengeId) {
+        List<ChallengeUserRepository.Membership> memberships = challengeUserRepository.findMemberships(userId, categoryId, challengeId);
+
+        boolean joined = false;
+        boolean categoryTaken = false;
+        boolean rejoin = false;
+        for (ChallengeUserRepository.Membership membership : memberships) {
+            boolean sameChallenge = membership.getChallengeId().equals(challengeId);
+            if (membership.isActive()) {
+                joined |= sameChallenge;
+                categoryTaken |= membership.getCategoryId().equals(categoryId);
+            } else {
+                rejoin |= sameChallenge;
             }
         }
-        return true;
+        return new Participation(joined, categoryTaken, rejoin);
+    }
+
+    private record Participation(boolean joined, boolean categoryTaken, boolean rejoin) {
     }
 
     public boolean isChallengeLeader(Long userId, Long challengeId) {
@@ -412,7 +512,13 @@ public class ChallengeServiceImpl implements ChallengeService {
     }
 
     //ChallengeUser 정보를 담은 ChallengeUsersResponse 리스트 생성
+    //오늘 달성 여부는 참여자 전체를 한 번에 계산한다.
     public List<ChallengeUsersResponse> createChallengeUserList(Challenge challenge) {
+        List<Long> userIds = challenge.getChallengeUserList().stream()
+                .map(challengeUser -> challengeUser.getChallengeUserPK().getUserId())
+                .toList();
+        Map<Long, Boolean> successMap = challengeProgressEvaluator.evaluateToday(challenge, userIds);
+
         return challenge.getChallengeUserList().stream().map(challengeUser -> {
             Users user = challengeUser.getUser();
                     return new ChallengeUsersResponse(
@@ -420,31 +526,10 @@ public class ChallengeServiceImpl implements ChallengeService {
                     user.getNickname(),
                     user.getImageUrl(),
                     challengeUser.getRole(),
-                    isSuccess(challengeUser, challenge)
+                    successMap.getOrDefault(user.getId(), false)
 
             );
         })
         .collect(Collectors.toList());
     }
-
-    public boolean isSuccess(ChallengeUser challengeUser, Challenge challenge) {
-        LocalDate today = LocalDate.now();
-        List<Post> posts = postRepository.findByUserIdAndToday(challengeUser.getUser().getId(), today.atStartOfDay());
-
-        boolean isSuccess = false;
-
-        if (challenge.getCategory().getCategoryName().equals("기상")) {
-            isSuccess = posts.stream()
-                    .filter(post -> post.getCategory().getCategoryName().equals("기상"))
-                    .anyMatch(post -> post.getActivityTime() <= challenge.getChallengeGoal());
-        } else {
-            int totalActivityTime = posts.stream()
-                    .filter(post -> post.getCategory().getCategoryName().equals(challenge.getCategory().getCategoryName()))
-                    .mapToInt(Post::getActivityTime).sum();
-
-            isSuccess = totalActivityTime >= challenge.getChallengeGoal();
-        }
-
-        return isSuccess;
-    }
 }
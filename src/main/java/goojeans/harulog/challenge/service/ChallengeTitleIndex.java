@@ -0,0 +1,229 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.domain.event.ChallengeChangedEvent;
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 챌린지 제목 검색용 bigram 역색인
+ * 공백을 뺀 소문자 제목을 두 글자씩 잘라 (글자쌍 -> 챌린지 id) 로 둔다. 한글은 형태소 분석 없이도 글자쌍으로 부분 일치를 찾을 수 있다.
+ * 검색은 검색어의 글자쌍 목록만 읽고, 글자쌍의 절반 이상이 일치한 챌린지를 (검색어 포함 여부, 일치 수, 최신순) 으로 정렬한다.
+ * ActiveChallengeIndex 와 같이 커밋 후 이벤트로 반영하고, 놓친 변경은 주기적으로 다시 읽어서 맞춘다.
+ * (다시 읽는 동안 들어온 변경은 새 색인으로 바꾼 뒤에 다시 적용한다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChallengeTitleIndex {
+
+    private static final Comparator<Hit> RANKING = Comparator.comparing(Hit::contains)
+            .thenComparingInt(Hit::matched)
+            .thenComparing(Hit::challengeId)
+            .reversed();
+
+    private final ChallengeRepository challengeRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Set<Long>> postings = new HashMap<>();
+    private Map<Long, String> titles = new HashMap<>();
+    // reload 중에 들어온 변경 (reload 중이 아니면 null)
+    private List<Runnable> changedDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${challenge.title-index.refresh-interval:600000}",
+            initialDelayString = "${challenge.title-index.refresh-interval:600000}")
+    public synchronized void reload() {
+        bufferChanges(new ArrayList<>());
+        try {
+            List<ChallengeRepository.ChallengeTitle> loaded = challengeRepository.findAllTitles();
+
+            Map<String, Set<Long>> newPostings = new HashMap<>();
+            Map<Long, String> newTitles = new HashMap<>(loaded.size() * 2);
+            loaded.forEach(row -> index(newPostings, newTitles, row.getChallengeId(), row.getChallengeTitle()));
+
+            lock.writeLock().lock();
+            try {
+                postings = newPostings;
+                titles = newTitles;
+                List<Runnable> changed = changedDuringReload;
+                changedDuringReload = null;
+                changed.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("challenge title index reloaded. challenges={}, grams={}", newTitles.size(), newPostings.size());
+        } finally {
+            bufferChanges(null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getChallengeId());
+        } else {
+            put(event.getChallengeId(), event.getChallengeTitle());
+        }
+    }
+
+    // 새 챌린지 추가, 또는 제목 변경 (이전 제목의 글자쌍은 지운다)
+    public void put(Long challengeId, String challengeTitle) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(() -> put(challengeId, challengeTitle));
+            }
+            unindex(challengeId);
+            index(postings, titles, challengeId, challengeTitle);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long challengeId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(() -> remove(challengeId));
+            }
+            unindex(challengeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 순위대로 page 번째 (0 부터) 페이지의 챌린지 id 와 전체 결과 수
+    public Result search(String keyword, int page, int size) {
+        String query = normalize(keyword);
+        if (query.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> hits = new HashMap<>();
+            int minMatched;
+            if (query.length() == 1) {
+                // 한 글자 검색어는 그 글자가 들어간 글자쌍을 모두 읽는다.
+                postings.forEach((gram, ids) -> {
+                    if (gram.indexOf(query.charAt(0)) >= 0) {
+                        ids.forEach(id -> hits.put(id, 1));
+                    }
+                });
+                minMatched = 1;
+            } else {
+                Set<String> grams = grams(query);
+                grams.forEach(gram -> postings.getOrDefault(gram, Set.of())
+                        .forEach(id -> hits.merge(id, 1, Integer::sum)));
+                minMatched = (grams.size() + 1) / 2;
+            }
+
+            // 요청한 페이지 끝까지만 힙에 남긴다. 힙의 맨 앞이 가장 순위가 낮은 결과
+            int limit = (page + 1) * size;
+            PriorityQueue<Hit> top = new PriorityQueue<>(RANKING.reversed());
+            int totalCount = 0;
+            for (Map.Entry<Long, Integer> entry : hits.entrySet()) {
+                if (entry.getValue() < minMatched) {
+                    continue;
+                }
+                totalCount++;
+                top.offer(new Hit(entry.getKey(), entry.getValue(), titles.get(entry.getKey()).contains(query)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<Long> challengeIds = ranked.stream()
+                    .skip((long) page * size)
+                    .map(Hit::challengeId)
+                    .toList();
+            return new Result(challengeIds, totalCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return titles.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void bufferChanges(List<Runnable> buffer) {
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = buffer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void index(Map<String, Set<Long>> postings, Map<Long, String> titles, Long challengeId, String challengeTitle) {
+        String normalized = normalize(challengeTitle);
+        titles.put(challengeId, normalized);
+        grams(normalized).forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(challengeId));
+    }
+
+    private void unindex(Long challengeId) {
+        String previous = titles.remove(challengeId);
+        if (previous == null) {
+            return;
+        }
+        grams(previous).forEach(gram -> {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(challengeId) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    // 공백을 지우고 소문자로 ("아침 러닝" 과 "아침러닝" 을 같게 본다)
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    // 한 글자 제목은 그 글자 하나를 글자쌍 대신 쓴다.
+    static Set<String> grams(String normalized) {
+        if (normalized.length() < 2) {
+            return normalized.isEmpty() ? Set.of() : Set.of(normalized);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    public record Result(List<Long> challengeIds, int totalCount) {
+    }
+
+    private record Hit(Long challengeId, int matched, boolean contains) {
+    }
+}
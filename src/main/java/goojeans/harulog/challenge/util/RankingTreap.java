@@ -0,0 +1,210 @@
+package goojeans.harulog.challenge.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 참여자 점수 순위표 (점수 내림차순, 같은 점수는 userId 오름차순)
+ * 노드마다 서브트리 크기를 가진 treap 이라서 점수 갱신 / 삭제 / 순위 조회 / k 번째부터 조회가 모두 기대 O(log n) 이다.
+ * 순위는 같은 점수끼리 같은 순위를 준다. (1, 2, 2, 4)
+ * 동시 접근은 인스턴스 단위로 동기화한다.
+ */
+public class RankingTreap {
+
+    private final Map<Long, Long> scores = new HashMap<>();
+    private Node root;
+
+    public synchronized void put(long userId, long score) {
+        Long previous = scores.put(userId, score);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            root = delete(root, previous, userId);
+        }
+        root = insert(root, new Node(userId, score, ThreadLocalRandom.current().nextInt()));
+    }
+
+    public synchronized void remove(long userId) {
+        Long previous = scores.remove(userId);
+        if (previous != null) {
+            root = delete(root, previous, userId);
+        }
+    }
+
+    public synchronized Optional<Entry> find(long userId) {
+        Long score = scores.get(userId);
+        if (score == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Entry(userId, score, rankOf(score)));
+    }
+
+    // offset 번째 (0 부터) 부터 limit 개
+    public synchronized List<Entry> page(int offset, int limit) {
+        List<Entry> page = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        if (offset < 0 || offset >= size(root) || limit <= 0) {
+            return page;
+        }
+
+        // offset 번째 노드까지 내려가면서 왼쪽으로 내려간 조상만 쌓는다. (그 조상들이 순서상 다음 노드들)
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        int skip = offset;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (skip < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (skip == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!stack.isEmpty() && page.size() < limit) {
+            Node current = stack.pop();
+            int rank;
+            if (page.isEmpty()) {
+                rank = rankOf(current.score);
+            } else {
+                Entry previous = page.get(page.size() - 1);
+                rank = previous.score() == current.score ? previous.rank() : offset + page.size() + 1;
+            }
+            page.add(new Entry(current.userId, current.score, rank));
+
+            for (Node next = current.right; next != null; next = next.left) {
+                stack.push(next);
+            }
+        }
+        return page;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    // 점수가 더 높은 참여자 수 + 1
+    private int rankOf(long score) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.score, node.userId, score, Long.MIN_VALUE) < 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return before + 1;
+    }
+
+    private static Node insert(Node node, Node item) {
+        if (node == null) {
+            return item;
+        }
+        if (item.priority > node.priority) {
+            Node[] parts = split(node, item.score, item.userId);
+            item.left = parts[0];
+            item.right = parts[1];
+            return update(item);
+        }
+        if (compare(item.score, item.userId, node.score, node.userId) < 0) {
+            node.left = insert(node.left, item);
+        } else {
+            node.right = insert(node.right, item);
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, long score, long userId) {
+        if (node == null) {
+            return null;
+        }
+        int compared = compare(score, userId, node.score, node.userId);
+        if (compared == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compared < 0) {
+            node.left = delete(node.left, score, userId);
+        } else {
+            node.right = delete(node.right, score, userId);
+        }
+        return update(node);
+    }
+
+    // (키보다 앞, 키와 같거나 뒤) 로 나눈다.
+    private static Node[] split(Node node, long score, long userId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.score, node.userId, score, userId) < 0) {
+            Node[] parts = split(node.right, score, userId);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+        Node[] parts = split(node.left, score, userId);
+        node.left = parts[1];
+        return new Node[]{parts[0], update(node)};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    // 순위표 순서로 a 가 앞이면 음수
+    private static int compare(long aScore, long aUserId, long bScore, long bUserId) {
+        if (aScore != bScore) {
+            return Long.compare(bScore, aScore);
+        }
+        return Long.compare(aUserId, bUserId);
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final long userId;
+        private final long score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long userId, long score, int priority) {
+            this.userId = userId;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    public record Entry(long userId, long score, int rank) {
+    }
+}
@@ -3,6 +3,7 @@ package goojeans.harulog.chat.controller;
 import goojeans.harulog.chat.domain.dto.MessageDTO;
 import goojeans.harulog.chat.domain.dto.request.LastMessageRequest;
 import goojeans.harulog.chat.domain.dto.request.MessageRequest;
+import goojeans.harulog.chat.service.ChatMessagePipeline;
 import goojeans.harulog.chat.service.MessageService;
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.user.util.SecurityUtils;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class MessageController {
 
     private final MessageService messageService;
+    private final ChatMessagePipeline chatMessagePipeline;
     private final RabbitTemplate rabbitTemplate;
     private final SecurityUtils securityUtils;
 
@@ -89,6 +91,13 @@ public class MessageController {
             @Payload MessageRequest messageRequest
     ) {
         log.trace("sendMessage: {}", messageRequest);
+
+        // 파이프라인 모드에서는 권한 확인 후 바로 전송하고, 저장은 파이프라인이 모아서 한다.
+        if (chatMessagePipeline.isEnabled()) {
+            chatMessagePipeline.send(roomId, messageRequest);
+            return;
+        }
+
         MessageDTO dto = messageService.sendMessage(roomId, messageRequest);
 
         // 메세지 전송
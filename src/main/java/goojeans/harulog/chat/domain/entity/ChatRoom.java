@@ -48,12 +48,28 @@ public class ChatRoom extends BaseEntity implements Comparable<ChatRoom>{
         this.imageUrl = imageUrl;
     }
 
+    /**
+     * 마지막 채팅 메세지 Id, 번호는 엔티티 저장으로 덮어쓰지 않는다. (updatable = false)
+     * 락 없이 읽은 채팅방을 저장할 때 그 사이에 커밋된 메세지의 값이 되돌아가지 않도록,
+     * ChatRoomRepository.advanceLastMessage 로만 늘린다.
+     */
     // 마지막 채팅 메세지 Id
-    @Column(name = "chatroom_last_message_id")
+    @Column(name = "chatroom_last_message_id", updatable = false)
     @Builder.Default
-    @Setter
     private Long lastMessageId = 0L;
 
+    // 마지막 채팅 메세지 번호 (채팅방 안에서 1 부터 차례로 매긴다)
+    // 읽지 않은 메세지 개수 = lastSeq - 채팅방-유저의 lastReadSeq
+    @Column(name = "chatroom_last_seq", updatable = false)
+    @Builder.Default
+    @NotNull
+    private Long lastSeq = 0L;
+
+    // 다음 채팅 메세지 번호 : 채팅방 row 에 쓰기 락을 잡은 상태에서 호출해야 한다. (DB 반영은 advanceLastMessage)
+    public long nextSeq() {
+        return ++lastSeq;
+    }
+
     // 채팅방 생성 - 정적 팩토리 메서드
     public static ChatRoom createChallenge(String name, String imageUrl) {
         return ChatRoom.builder()
@@ -44,7 +44,12 @@ public class ChatRoomUser extends BaseEntity {
     @Builder.Default
     @Setter
     @NotNull
-    private Integer unreadMessageCount = 0; // 읽지 않은 메세지 개수
+    private Long lastReadSeq = 0L; // 마지막으로 읽은 채팅 메세지 번호
+
+    // 읽지 않은 메세지 개수 : 채팅방의 마지막 메세지 번호와의 차이로 계산한다.
+    public int getUnreadMessageCount() {
+        return (int) Math.max(0, chatRoom.getLastSeq() - lastReadSeq);
+    }
 
     // 정적 팩토리 메서드
     public static ChatRoomUser create(ChatRoom chatRoom, Users user) {
@@ -54,6 +59,7 @@ public class ChatRoomUser extends BaseEntity {
                 .id(chatRoomUserId)
                 .chatRoom(chatRoom)
                 .user(user)
+                .lastReadSeq(chatRoom.getLastSeq()) // 참여하기 전 메세지는 읽지 않은 메세지로 세지 않는다.
                 .build();
     }
 }
@@ -39,6 +39,9 @@ public class Message extends BaseEntity {
     @NotNull
     private String content;
 
+    // 채팅방 안에서의 채팅 메세지 번호 (입장, 퇴장 메세지는 null)
+    private Long seq;
+
     public static Message create(ChatRoom chatRoom, Users sender, String content){
         return Message.builder()
                 .chatRoom(chatRoom)
@@ -54,4 +57,15 @@ public class Message extends BaseEntity {
                 .content(content)
                 .build();
     }
+
+    // 번호가 매겨진 채팅 메세지
+    public static Message create(ChatRoom chatRoom, Users sender, MessageType type, String content, long seq) {
+        return Message.builder()
+                .chatRoom(chatRoom)
+                .sender(sender)
+                .type(type)
+                .content(content)
+                .seq(seq)
+                .build();
+    }
 }
\ No newline at end of file
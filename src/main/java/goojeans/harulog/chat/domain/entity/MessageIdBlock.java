@@ -0,0 +1,32 @@
+package goojeans.harulog.chat.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메세지 id 블록 발급 위치 (ChatMessagePipeline 이 id 를 블록 단위로 미리 받아갈 때 사용)
+ * next_id 는 아직 아무도 받아가지 않은 첫 id 이다. JDBC 로만 읽고 쓴다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "message_id_block")
+public class MessageIdBlock {
+
+    @Id
+    @Column(name = "block_name")
+    private String name;
+
+    @NotNull
+    @Column(name = "next_id")
+    private Long nextId;
+}
@@ -0,0 +1,14 @@
+package goojeans.harulog.chat.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 채팅방 유저 추가 / 삭제 이벤트 (메세지 파이프라인의 참여자 캐시 갱신용)
+ */
+@Getter
+@AllArgsConstructor
+public class ChatRoomMembersChangedEvent {
+
+    private String roomId;
+}
@@ -1,9 +1,32 @@
 package goojeans.harulog.chat.repository;
 
 import goojeans.harulog.chat.domain.entity.ChatRoom;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
-}
\ No newline at end of file
+
+    // 메세지 번호를 매기기 위해 채팅방 row 에 쓰기 락을 잡고 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ChatRoom r WHERE r.id = :roomId")
+    Optional<ChatRoom> findByIdForUpdate(@Param("roomId") String roomId);
+
+    // 채팅방의 마지막 메세지 번호
+    @Query("SELECT r.lastSeq FROM ChatRoom r WHERE r.id = :roomId")
+    Optional<Long> findLastSeqById(@Param("roomId") String roomId);
+
+    // 마지막 메세지 id, 번호를 늘린다. (줄어들지 않게 GREATEST, 채팅방 목록 정렬을 위해 updated_at 도 갱신)
+    @Modifying
+    @Query(value = "UPDATE chatroom SET chatroom_last_seq = GREATEST(chatroom_last_seq, :seq), " +
+            "chatroom_last_message_id = GREATEST(COALESCE(chatroom_last_message_id, 0), :messageId), " +
+            "updated_at = CURRENT_TIMESTAMP WHERE chatroom_id = :roomId", nativeQuery = true)
+    int advanceLastMessage(@Param("roomId") String roomId, @Param("messageId") Long messageId, @Param("seq") long seq);
+}
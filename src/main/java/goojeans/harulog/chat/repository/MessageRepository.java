@@ -1,12 +1,20 @@
 package goojeans.harulog.chat.repository;
 
 import goojeans.harulog.chat.domain.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long>, CustomMessageRepository {
 
     Message findTopByChatRoomIdOrderByCreatedAtDesc(String roomId); // 채팅방의 마지막 메세지 조회
 
+    // 채팅방의 최근 메세지 : 내림차순 (최신부터), 보낸 사람까지 한 번에 조회
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.chatRoom.id = :roomId ORDER BY m.id DESC")
+    List<Message> findRecentWithSender(@Param("roomId") String roomId, Pageable pageable);
 }
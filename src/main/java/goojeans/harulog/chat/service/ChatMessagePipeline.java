@@ -0,0 +1,470 @@
+package goojeans.harulog.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import goojeans.harulog.chat.domain.dto.MessageDTO;
+import goojeans.harulog.chat.domain.dto.request.MessageRequest;
+import goojeans.harulog.chat.domain.event.ChatRoomMembersChangedEvent;
+import goojeans.harulog.chat.repository.ChatRoomRepository;
+import goojeans.harulog.chat.repository.ChatRoomUserRepository;
+import goojeans.harulog.chat.util.MessageType;
+import goojeans.harulog.domain.BusinessException;
+import goojeans.harulog.domain.ResponseCode;
+import goojeans.harulog.user.domain.entity.Users;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 메세지 비동기 저장 파이프라인 (chat.pipeline.enabled=true 일 때 MessageController, ChatRoomUserService 가 사용)
+ * 메세지를 보내면 캐시해 둔 채팅방 참여자로 권한을 확인하고, 미리 받아 둔 id 블록에서 id 를, 채팅방 카운터에서 번호를 받아
+ * 바로 chatroom.{roomId} exchange 로 전송한다. 저장은 큐에 넣어두고 writer 스레드가 flush-interval 마다 모아서 JDBC batch insert 한다.
+ * - 저장을 기다리는 메세지가 max-pending 개면 send-timeout 만큼 자리를 기다리고, 그래도 없으면 CHAT_BUSY 로 거절한다.
+ * - id / 번호 발급과 큐에 넣기를 채팅방 단위로 한 번에 하고 writer 는 하나라서, 같은 채팅방 메세지는 보낸 순서대로 저장된다.
+ * - 채팅방의 마지막 메세지 번호 / id 는 batch 마다 채팅방당 한 번만 갱신한다.
+ * - 종료할 때는 새 메세지를 받지 않고 큐에 남은 메세지를 모두 저장한 뒤 끝낸다.
+ * 채팅방 번호와 id 를 서버 메모리에서 발급하므로 채팅 서버가 한 대일 때를 전제로 한다.
+ * 마지막 batch 이후에 서버가 비정상 종료되면 그 사이의 메세지는 전송만 되고 저장되지 않는다.
+ */
+@Slf4j
+@Component
+public class ChatMessagePipeline {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO message(message_id, chatroom_id, user_id, type, content, seq, active_status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?)";
+    private static final String ROOM_SQL =
+            "UPDATE chatroom SET chatroom_last_seq = GREATEST(chatroom_last_seq, ?), " +
+            "chatroom_last_message_id = GREATEST(COALESCE(chatroom_last_message_id, 0), ?), updated_at = ? WHERE chatroom_id = ?";
+
+    // 처음 받을 때는 이미 저장된 메세지 id 다음부터 시작한다. (동기 저장으로 쌓인 id 와 겹치지 않게)
+    private static final String ID_BLOCK_INIT_SQL =
+            "INSERT INTO message_id_block(block_name, next_id) SELECT 'message', COALESCE(MAX(message_id), 0) + 1 FROM message " +
+            "ON DUPLICATE KEY UPDATE next_id = GREATEST(next_id, VALUES(next_id))";
+    private static final String ID_BLOCK_SELECT_SQL = "SELECT next_id FROM message_id_block WHERE block_name = 'message' FOR UPDATE";
+    private static final String ID_BLOCK_UPDATE_SQL = "UPDATE message_id_block SET next_id = next_id + ? WHERE block_name = 'message'";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomUserRepository chatRoomUserRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final RecentMessageCache recentMessageCache;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long sendTimeoutMillis;
+    private final int idBlockSize;
+    private final long sequenceIdleMillis;
+
+    private final Cache<String, Map<String, Sender>> members;
+    private final ConcurrentHashMap<String, RoomSequence> sequences = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+    private final Object idLock = new Object();
+    private final Object refillLock = new Object();
+    private long nextId;
+    private long idBlockEnd;
+
+    private final Thread writer;
+    private volatile boolean closed;
+    private long lastEviction = System.currentTimeMillis();
+
+    private final Timer flushTimer;
+    private final Counter writtenMessages;
+    private final Counter rejectedMessages;
+    private final Counter droppedMessages;
+
+    public ChatMessagePipeline(ChatRoomRepository chatRoomRepository,
+                               ChatRoomUserRepository chatRoomUserRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               RabbitTemplate rabbitTemplate,
+                               RecentMessageCache recentMessageCache,
+                               MeterRegistry meterRegistry,
+                               @Value("${chat.pipeline.enabled:false}") boolean enabled,
+                               @Value("${chat.pipeline.max-pending:10000}") int maxPending,
+                               @Value("${chat.pipeline.batch-size:500}") int batchSize,
+                               @Value("${chat.pipeline.flush-interval:5}") long flushIntervalMillis,
+                               @Value("${chat.pipeline.send-timeout:100}") long sendTimeoutMillis,
+                               @Value("${chat.pipeline.id-block-size:1000}") int idBlockSize,
+                               @Value("${chat.pipeline.member-cache.max-size:10000}") long memberCacheSize,
+                               @Value("${chat.pipeline.member-cache.ttl:10m}") Duration memberCacheTtl) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRoomUserRepository = chatRoomUserRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.recentMessageCache = recentMessageCache;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.idBlockSize = idBlockSize;
+        // 1분 동안 메세지가 없고 모두 저장된 채팅방의 번호 카운터는 내려놓는다. (다시 보내면 DB 에서 읽는다)
+        this.sequenceIdleMillis = 60_000;
+        this.permits = new Semaphore(maxPending);
+
+        // id 블록은 보내는 쪽 트랜잭션(입장 메세지는 커밋 직후)과 상관없이 바로 커밋한다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // 참여자 추가 / 삭제는 이벤트로 비우고, 닉네임 / 프로필 이미지 변경은 ttl 이 지나면 반영된다.
+        this.members = Caffeine.newBuilder()
+                .maximumSize(memberCacheSize)
+                .expireAfterWrite(memberCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "chat.pipeline.members");
+
+        Gauge.builder("chat.pipeline.pending", queue, LinkedBlockingQueue::size)
+                .description("아직 DB 에 저장되지 않은 메세지 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.pipeline.flush")
+                .description("메세지 batch 저장 시간")
+                .register(meterRegistry);
+        this.writtenMessages = Counter.builder("chat.pipeline.written")
+                .description("DB 에 저장한 메세지 수")
+                .register(meterRegistry);
+        this.rejectedMessages = Counter.builder("chat.pipeline.rejected")
+                .description("저장 대기열이 가득 차서 거절한 메세지 수")
+                .register(meterRegistry);
+        this.droppedMessages = Counter.builder("chat.pipeline.dropped")
+                .description("한 건씩 다시 저장해도 실패해서 버린 메세지 수")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::runWriter, "chat-message-writer");
+        writer.setDaemon(true);
+        if (enabled) {
+            writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 채팅 메세지 전송 : 참여자인지 확인하고, 번호를 매겨 바로 전송한다. 저장은 writer 가 한다.
+     */
+    public MessageDTO send(String roomId, MessageRequest messageRequest) {
+        Sender sender = members.get(roomId, this::loadMembers).get(messageRequest.getSender());
+        if (sender == null) {
+            throw new BusinessException(ResponseCode.CHAT_NO_PERMISSION);
+        }
+
+        MessageType type = messageRequest.getMessageType() != null ? messageRequest.getMessageType() : MessageType.TALK;
+        MessageDTO message = enqueue(roomId, sender, type, messageRequest.getContent(), true);
+        rabbitTemplate.convertAndSend("chatroom." + roomId, "", message);
+        return message;
+    }
+
+    /**
+     * 입장, 퇴장 메세지 전송 (번호 없음)
+     * 유저 추가 / 삭제 트랜잭션 안에서 부르면 커밋된 뒤에 전송하고 저장한다. (새로 만든 채팅방도 저장할 수 있도록)
+     * 번호를 매기지 않으므로 채팅방 번호를 읽지 않는다. (마지막 참여자가 나가서 삭제된 채팅방도 그대로 저장된다)
+     * 커밋 뒤에 실패하면 (CHAT_BUSY 등) 이미 끝난 요청에 예외를 던지지 않고 로그만 남긴다.
+     */
+    public void sendSystemMessage(String roomId, Users user, MessageType type, String content) {
+        Sender sender = new Sender(user.getId(), user.getNickname(), user.getImageUrl());
+        Runnable send = () -> rabbitTemplate.convertAndSend("chatroom." + roomId, "", enqueue(roomId, sender, type, content, false));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        send.run();
+                    } catch (RuntimeException e) {
+                        log.warn("chat system message not sent. roomId={}, userId={}, type={}", roomId, user.getId(), type, e);
+                    }
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembersChanged(ChatRoomMembersChangedEvent event) {
+        members.invalidate(event.getRoomId());
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    // 새 메세지를 받지 않고, 큐에 남은 메세지를 모두 저장할 때까지 기다린다.
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (!writer.isAlive()) {
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("chat message pipeline stopped. pending={}", queue.size());
+    }
+
+    private MessageDTO enqueue(String roomId, Sender sender, MessageType type, String content, boolean numbered) {
+        if (closed) {
+            throw new BusinessException(ResponseCode.CHAT_TRANSMISSION_FAIL);
+        }
+        acquire();
+        try {
+            return allocate(roomId, sender, type, content, numbered).toDto();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 저장을 기다리는 메세지 수를 제한한다. (backpressure)
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(sendTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejectedMessages.increment();
+                throw new BusinessException(ResponseCode.CHAT_BUSY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResponseCode.CHAT_TRANSMISSION_FAIL);
+        }
+    }
+
+    /**
+     * 채팅방 카운터를 잡은 상태에서 id, 번호를 받고 큐에 넣는다.
+     * 카운터가 없으면 DB 의 마지막 번호를 (락 밖에서) 읽어서 다시 시도한다. 번호가 없는 메세지는 카운터 없이도 넣는다.
+     * 카운터는 번호를 매긴 메세지가 모두 저장된 뒤에만 내려놓으므로, 다시 읽은 번호에는 이전 메세지가 모두 반영되어 있다.
+     * id 블록을 다 썼으면 compute 밖에서 다음 블록을 받고 다시 시도한다. (compute 안에서는 DB 를 읽지 않는다)
+     */
+    private PendingMessage allocate(String roomId, Sender sender, MessageType type, String content, boolean numbered) {
+        Long lastSeq = null;
+        while (true) {
+            Long seed = lastSeq;
+            PendingMessage[] allocated = new PendingMessage[1];
+            boolean[] unseeded = new boolean[1];
+            sequences.compute(roomId, (id, sequence) -> {
+                if (sequence == null && numbered) {
+                    if (seed == null) {
+                        unseeded[0] = true;
+                        return null;
+                    }
+                    sequence = new RoomSequence(seed);
+                }
+                long messageId = takeId();
+                if (messageId < 0) {
+                    return sequence;
+                }
+                Long seq = numbered ? ++sequence.lastSeq : null;
+                PendingMessage message = new PendingMessage(messageId, roomId, sender, type, content, seq, LocalDateTime.now());
+                queue.add(message);
+                if (numbered) {
+                    sequence.unflushed++;
+                    sequence.touchedAt = System.currentTimeMillis();
+                }
+                allocated[0] = message;
+                return sequence;
+            });
+            if (allocated[0] != null) {
+                return allocated[0];
+            }
+            if (unseeded[0]) {
+                lastSeq = chatRoomRepository.findLastSeqById(roomId)
+                        .orElseThrow(() -> new BusinessException(ResponseCode.CHATROOM_NOT_FOUND));
+            } else {
+                refillIds();
+            }
+        }
+    }
+
+    // 받아 둔 id 블록에서 하나를 꺼낸다. 다 썼으면 -1
+    private long takeId() {
+        synchronized (idLock) {
+            return nextId < idBlockEnd ? nextId++ : -1;
+        }
+    }
+
+    // DB 에서 다음 id 블록을 받는다. 받는 동안 idLock 은 잡지 않으므로 takeId 는 기다리지 않는다.
+    private void refillIds() {
+        synchronized (refillLock) {
+            synchronized (idLock) {
+                if (nextId < idBlockEnd) {
+                    return;
+                }
+            }
+            Long start = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(ID_BLOCK_INIT_SQL);
+                Long next = jdbcTemplate.queryForObject(ID_BLOCK_SELECT_SQL, Long.class);
+                jdbcTemplate.update(ID_BLOCK_UPDATE_SQL, idBlockSize);
+                return next;
+            });
+            synchronized (idLock) {
+                nextId = start;
+                idBlockEnd = start + idBlockSize;
+            }
+        }
+    }
+
+    private Map<String, Sender> loadMembers(String roomId) {
+        return chatRoomUserRepository.findUserByChatroomId(roomId).stream()
+                .collect(Collectors.toMap(Users::getNickname,
+                        user -> new Sender(user.getId(), user.getNickname(), user.getImageUrl()),
+                        (first, second) -> first));
+    }
+
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                }
+                evictIdleSequences();
+            } catch (InterruptedException e) {
+                // 남은 메세지를 저장할 때까지 멈추지 않는다.
+                log.warn("chat message writer interrupted. pending={}", queue.size());
+            } catch (RuntimeException e) {
+                log.error("chat message writer failed. size={}", batch.size(), e);
+                release(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingMessage> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> writeBatch(batch)));
+            writtenMessages.increment(batch.size());
+            batch.forEach(this::cacheRecent);
+        } catch (RuntimeException e) {
+            log.warn("chat message batch write failed, retrying one by one. size={}", batch.size(), e);
+            writeOneByOne(batch);
+        }
+        release(batch);
+    }
+
+    private void writeBatch(List<PendingMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batchSize, (ps, message) -> {
+            Timestamp createdAt = Timestamp.valueOf(message.createdAt());
+            ps.setLong(1, message.id());
+            ps.setString(2, message.roomId());
+            ps.setLong(3, message.sender().userId());
+            ps.setString(4, message.type().name());
+            ps.setString(5, message.content());
+            ps.setObject(6, message.seq());
+            ps.setTimestamp(7, createdAt);
+            ps.setTimestamp(8, createdAt);
+        });
+
+        // 채팅방마다 마지막 채팅 메세지만 반영한다. (입장, 퇴장 메세지 제외)
+        Map<String, PendingMessage> lastByRoom = batch.stream()
+                .filter(message -> message.seq() != null)
+                .collect(Collectors.toMap(PendingMessage::roomId, Function.identity(), (first, second) -> second, LinkedHashMap::new));
+        jdbcTemplate.batchUpdate(ROOM_SQL, lastByRoom.values(), batchSize, (ps, message) -> {
+            ps.setLong(1, message.seq());
+            ps.setLong(2, message.id());
+            ps.setTimestamp(3, Timestamp.valueOf(message.createdAt()));
+            ps.setString(4, message.roomId());
+        });
+    }
+
+    // batch 중 하나가 실패하면 (삭제된 유저 등) 한 건씩 저장하고, 실패한 건은 버린다.
+    private void writeOneByOne(List<PendingMessage> batch) {
+        for (PendingMessage message : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(List.of(message)));
+                writtenMessages.increment();
+                cacheRecent(message);
+            } catch (RuntimeException e) {
+                droppedMessages.increment();
+                log.error("chat message dropped. messageId={}, roomId={}, userId={}",
+                        message.id(), message.roomId(), message.sender().userId(), e);
+            }
+        }
+    }
+
+    // 저장된 메세지만 최근 메세지 버퍼에 추가한다.
+    private void cacheRecent(PendingMessage message) {
+        recentMessageCache.append(message.roomId(), message.toDto());
+    }
+
+    // 저장이 끝난 (또는 버린) 메세지만큼 자리를 돌려주고 채팅방 카운터의 미저장 수를 줄인다. (번호를 매긴 메세지만 센다)
+    private void release(List<PendingMessage> batch) {
+        batch.stream()
+                .filter(message -> message.seq() != null)
+                .collect(Collectors.groupingBy(PendingMessage::roomId, Collectors.counting()))
+                .forEach((roomId, count) -> sequences.computeIfPresent(roomId, (id, sequence) -> {
+                    sequence.unflushed -= count;
+                    return sequence;
+                }));
+        permits.release(batch.size());
+    }
+
+    private void evictIdleSequences() {
+        long now = System.currentTimeMillis();
+        if (now - lastEviction < sequenceIdleMillis) {
+            return;
+        }
+        lastEviction = now;
+        sequences.keySet().forEach(roomId -> sequences.computeIfPresent(roomId, (id, sequence) ->
+                sequence.unflushed == 0 && now - sequence.touchedAt > sequenceIdleMillis ? null : sequence));
+    }
+
+    private record Sender(Long userId, String nickname, String imageUrl) {
+    }
+
+    private record PendingMessage(long id, String roomId, Sender sender, MessageType type, String content,
+                                  Long seq, LocalDateTime createdAt) {
+
+        private MessageDTO toDto() {
+            return new MessageDTO(id, sender.nickname(), sender.imageUrl(), type, content, createdAt.toString());
+        }
+    }
+
+    // 채팅방 번호 카운터. sequences.compute 안에서만 읽고 쓴다.
+    private static class RoomSequence {
+        private long lastSeq;
+        private long unflushed;
+        private long touchedAt;
+
+        private RoomSequence(long lastSeq) {
+            this.lastSeq = lastSeq;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import goojeans.harulog.chat.domain.dto.MessageDTO;
 import goojeans.harulog.chat.domain.entity.ChatRoom;
 import goojeans.harulog.chat.domain.entity.ChatRoomUser;
 import goojeans.harulog.chat.domain.entity.Message;
+import goojeans.harulog.chat.domain.event.ChatRoomMembersChangedEvent;
 import goojeans.harulog.chat.repository.ChatRoomRepository;
 import goojeans.harulog.chat.repository.ChatRoomUserRepository;
 import goojeans.harulog.chat.repository.MessageRepository;
@@ -19,6 +20,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -46,6 +48,15 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
     // 채팅방 - 유저 binding, unbinding
     private final RabbitMQConfig rabbitMQConfig;
 
+    // 파이프라인 모드의 입장, 퇴장 메세지 전송
+    private final ChatMessagePipeline chatMessagePipeline;
+
+    // 채팅방 참여자 변경 알림
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 입장, 퇴장 메세지를 최근 메세지 버퍼에 추가
+    private final RecentMessageCache recentMessageCache;
+
 
     // 기본형
     // 채팅방id, 유저 닉네임으로 채팅방-유저 조회
@@ -72,6 +83,7 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
     public void addUser(ChatRoom room, Users user){
         ChatRoomUser cru = ChatRoomUser.create(room, user);
         chatRoomUserRepository.save(cru);
+        eventPublisher.publishEvent(new ChatRoomMembersChangedEvent(room.getId()));
 
         // 입장 메세지 전송
         sendEnterMessage(room, user);
@@ -92,6 +104,7 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
     @Override
     public void addUsers(ChatRoom room, List<Users> users) {
         users.forEach(user -> chatRoomUserRepository.save(ChatRoomUser.create(room, user)));
+        eventPublisher.publishEvent(new ChatRoomMembersChangedEvent(room.getId()));
 
         // 입장 메세지 전송
         users.forEach(user -> sendEnterMessage(room, user));
@@ -135,6 +148,7 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
 
         // 채팅방에서 유저 삭제
         chatRoomUserRepository.delete(cru);
+        eventPublisher.publishEvent(new ChatRoomMembersChangedEvent(room.getId()));
     }
 
 
@@ -214,6 +228,7 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
     public Response<List<ChatRoomDTO>> getChatRooms(Long userId) {
 
         // 유저 id로 채팅방-유저 조회 (최신순)
+        // 읽지 않은 메세지 개수는 함께 조회한 채팅방의 마지막 메세지 번호로 계산한다.
         List<ChatRoomUser> cruList = chatRoomUserRepository.findByUserId(userId);
         List<ChatRoomDTO> chatRoomDTOList = cruList.stream()
                 .map(ChatRoomDTO::of)
@@ -229,11 +244,20 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
 
         // 입장 메세지 생성 및 저장
         String content = user.getNickname() + "님이 들어오셨습니다.";
+
+        // 파이프라인 모드에서는 커밋 후 전송하고, 저장은 파이프라인이 모아서 한다.
+        if (chatMessagePipeline.isEnabled()) {
+            chatMessagePipeline.sendSystemMessage(room.getId(), user, ENTER, content);
+            return;
+        }
+
         Message message = Message.create(room, user, ENTER, content);
         messageRepository.save(message);
 
-        // 채팅방 Exchange에 입장 메세지 전송
-        rabbitTemplate.convertAndSend("chatroom." + room.getId(), "", MessageDTO.of(message));
+        // 채팅방 Exchange에 입장 메세지 전송, 커밋 후 최근 메세지 버퍼에 추가
+        MessageDTO dto = MessageDTO.of(message);
+        rabbitTemplate.convertAndSend("chatroom." + room.getId(), "", dto);
+        recentMessageCache.appendAfterCommit(room.getId(), dto);
     }
 
     /**
@@ -244,11 +268,20 @@ public class ChatRoomUserServiceImpl implements ChatRoomUserService {
 
         // 퇴장 메세지 생성 및 저장
         String content = user.getNickname() + "님이 나가셨습니다.";
+
+        // 파이프라인 모드에서는 커밋 후 전송하고, 저장은 파이프라인이 모아서 한다.
+        if (chatMessagePipeline.isEnabled()) {
+            chatMessagePipeline.sendSystemMessage(room.getId(), user, EXIT, content);
+            return;
+        }
+
         Message message = Message.create(room, user, EXIT, content);
         messageRepository.save(message);
 
-        // 채팅방 Exchange에 퇴장 메세지 전송
-        rabbitTemplate.convertAndSend("chatroom." + room.getId(), "", MessageDTO.of(message));
+        // 채팅방 Exchange에 퇴장 메세지 전송, 커밋 후 최근 메세지 버퍼에 추가
+        MessageDTO dto = MessageDTO.of(message);
+        rabbitTemplate.convertAndSend("chatroom." + room.getId(), "", dto);
+        recentMessageCache.appendAfterCommit(room.getId(), dto);
     }
 
     /**
@@ -21,9 +21,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 메세지 조회
@@ -41,6 +41,7 @@ public class MessageServiceImpl implements MessageService{
     private final ChatRoomUserRepository chatRoomUserRepository;
     private final MessageRepository messageRepository;
     private final RabbitMQConfig rabbitMQConfig;
+    private final RecentMessageCache recentMessageCache;
 
 
     /**
@@ -67,61 +68,57 @@ public class MessageServiceImpl implements MessageService{
 
     /**
      * 채팅방 메세지 조회 : 스크롤 올릴 때
-     * 1. 채팅방 찾기
-     * 2. 프론트에게 받은 메세지 id로부터 이전 메세지 30개씩 조회
+     * 1. 프론트에게 받은 메세지 id로부터 이전 메세지 30개씩 조회 (채팅방이 있는지만 확인하고, 최근 메세지 버퍼에 없을 때만 채팅방을 찾는다)
+     * 2. 참여 유저 수는 count 쿼리로 조회
      */
     @Override
     public Response<MessageListDTO> getMessagesBeforeResponse(String roomId, Long lastReadMessageId) {
         log.trace("scroll up : " + roomId + ", " + lastReadMessageId + " 이전 메세지 조회");
 
-        ChatRoom chatRoom = findChatRoom(roomId);
+        // 버퍼는 채팅방이 삭제된 것을 모르므로 먼저 확인
+        checkChatRoom(roomId);
 
-        // 마지막으로 읽은 메세지부터 20개씩 조회
-        List<Message> messages = getMessagesBefore(chatRoom, lastReadMessageId, 20);
+        // 마지막으로 읽은 메세지부터 20개씩 조회 (최근 메세지 버퍼 범위 안이면 DB 를 읽지 않음)
+        List<MessageDTO> result = recentMessageCache.findBefore(roomId, lastReadMessageId, 20)
+                .orElseGet(() -> toDTOs(getMessagesBefore(findChatRoom(roomId), lastReadMessageId, 20)));
 
         // 더이상 조회할 메세지가 없을 때 에러 처리 (but 200)
-        checkMessageList(messages);
-
-        List<MessageDTO> result = messages.stream()
-                .map(MessageDTO::of)
-                .toList();
+        checkMessageList(result);
 
         // 채팅방에 참여하고 있는 유저 수
-        int userCount = chatRoom.getUsers().size();
+        int userCount = (int) chatRoomUserRepository.countByChatRoomId(roomId);
 
         return Response.ok(MessageListDTO.of(roomId, userCount, result));
     }
 
     /**
      * 채팅방 메세지 조회 : 스크롤 내릴 때
-     * 1. 채팅방 찾기
-     * 2. 프론트에게 받은 메세지 id로부터 이후 메세지 30개씩 조회
+     * 1. 프론트에게 받은 메세지 id로부터 이후 메세지 30개씩 조회 (채팅방이 있는지만 확인하고, 최근 메세지 버퍼에 없을 때만 채팅방을 찾는다)
+     * 2. 참여 유저 수는 count 쿼리로 조회
      */
     @Override
     public Response<MessageListDTO> getMessagesAfterResponse(String roomId, Long lastReadMessageId) {
         log.trace("scroll down : " + roomId + ", " + lastReadMessageId + " 이후 메세지 조회");
 
-        ChatRoom chatRoom = findChatRoom(roomId);
+        // 버퍼는 채팅방이 삭제된 것을 모르므로 먼저 확인
+        checkChatRoom(roomId);
 
-        // 마지막으로 읽은 메세지부터 30개씩 조회
-        List<Message> messages = getMessagesAfter(chatRoom, lastReadMessageId, 20);
+        // 마지막으로 읽은 메세지부터 30개씩 조회 (최근 메세지 버퍼 범위 안이면 DB 를 읽지 않음)
+        List<MessageDTO> result = recentMessageCache.findAfter(roomId, lastReadMessageId, 20)
+                .orElseGet(() -> toDTOs(getMessagesAfter(findChatRoom(roomId), lastReadMessageId, 20)));
 
         // 더이상 조회할 메세지가 없을 때 에러 처리 (but 200)
-        checkMessageList(messages);
-
-        List<MessageDTO> result = messages.stream()
-                .map(MessageDTO::of)
-                .toList();
+        checkMessageList(result);
 
         // 채팅방에 참여하고 있는 유저 수
-        int userCount = chatRoom.getUsers().size();
+        int userCount = (int) chatRoomUserRepository.countByChatRoomId(roomId);
 
         return Response.ok(MessageListDTO.of(roomId, userCount, result));
     }
 
     // 조회한 메세지가 없으면 에러 (but 200)
     @Override
-    public void checkMessageList(List<Message> messages) {
+    public void checkMessageList(List<?> messages) {
 
         if(messages.isEmpty()){
             throw new BusinessException(ResponseCode.NO_MORE_MESSAGE);
@@ -146,21 +143,18 @@ public class MessageServiceImpl implements MessageService{
         // 채팅방 - 유저 binding
         rabbitMQConfig.binding(roomId, userNickname);
 
-        // 채팅방 메세지 조회 : 마지막으로 읽은 메세지 이전 5개 조회
-        List<Message> beforeMessages = getMessagesBefore(cru.getChatRoom(), cru.getLastReadMessageId(), 5);
-        Collections.reverse(beforeMessages);
-        List<MessageDTO> result = beforeMessages.stream()
-                .map(MessageDTO::of)
-                .collect(Collectors.toList()); // 변경 가능한 리스트를 만듭니다.
+        // 채팅방 메세지 조회 : 마지막으로 읽은 메세지 이전 5개 조회 (최근 메세지 버퍼 범위 안이면 DB 를 읽지 않음)
+        Long lastReadMessageId = cru.getLastReadMessageId();
+        List<MessageDTO> result = new ArrayList<>(recentMessageCache.findBefore(roomId, lastReadMessageId, 5)
+                .orElseGet(() -> toDTOs(getMessagesBefore(cru.getChatRoom(), lastReadMessageId, 5))));
+        Collections.reverse(result);
 
         // 채팅방 메세지 조회 : 마지막으로 읽은 메세지부터 30개씩 조회
-        List<Message> messages = getMessagesAfterIncludeLastMessage(cru.getChatRoom(), cru.getLastReadMessageId(), 30);
-        result.addAll(messages.stream()
-                .map(MessageDTO::of)
-                .collect(Collectors.toList())); // 여기도 변경 가능한 리스트를 만듭니다.
+        result.addAll(recentMessageCache.findFrom(roomId, lastReadMessageId, 30)
+                .orElseGet(() -> toDTOs(getMessagesAfterIncludeLastMessage(cru.getChatRoom(), lastReadMessageId, 30))));
 
         // 채팅방에 참여하고 있는 유저 수
-        int userCount = chatRoomUserRepository.findByChatRoomId(roomId).size();
+        int userCount = (int) chatRoomUserRepository.countByChatRoomId(roomId);
 
         return Response.ok(MessageListDTO.of(roomId, userCount, result));
     }
@@ -181,7 +175,7 @@ public class MessageServiceImpl implements MessageService{
 
         // 마지막 메세지 id 저장
         cru.setLastReadMessageId(messageRepository.findTopByChatRoomIdOrderByCreatedAtDesc(roomId).getId());
-        cru.setUnreadMessageCount(0);    // 읽지 않은 메세지 개수 초기화
+        cru.setLastReadSeq(cru.getChatRoom().getLastSeq());    // 읽지 않은 메세지 개수 초기화
         chatRoomUserRepository.save(cru);
 
         // 채팅방-유저 UNBINDING
@@ -203,28 +197,36 @@ public class MessageServiceImpl implements MessageService{
 
         log.trace("MessageServiceImpl.sendMessage : " + content + ", [" + roomId + " : " + userNickname + "]");
 
+        // 채팅방 row 에 쓰기 락을 잡아서 같은 채팅방의 메세지 번호가 겹치지 않게 한다.
+        // (채팅방 row 는 어차피 마지막 메세지 id 를 바꾸느라 갱신하므로 락이 추가로 생기지 않는다)
+        Users user = findUser(userNickname);
+        ChatRoom chatRoom = chatRoomRepository.findByIdForUpdate(roomId)
+                .orElseThrow(() -> new BusinessException(ResponseCode.CHATROOM_NOT_FOUND));
+
         // 유저가 채팅방에 참여한 유저인지 확인 -> 권한 없으면 에러
-        ChatRoomUser find = checkPermission(roomId, userNickname);
+        chatRoomUserRepository.findByChatRoomIdAndUserId(roomId, user.getId())
+                .orElseThrow(() -> new BusinessException(ResponseCode.CHAT_NO_PERMISSION));
 
-        Message message = Message.create(find.getChatRoom(), find.getUser(), messageType, content);
+        Message message = Message.create(chatRoom, user, messageType, content, chatRoom.nextSeq());
         messageRepository.save(message);
 
         /**
-         * 채팅방에 마지막 메세지 id 변경 : 오로지 "채팅 메세지"에 한정. enter, exit 메세지는 제외
-         * 1. 채팅방에 마지막 메세지 id 변경
-         * 2. 채팅방에 참여하고 있는 모든 ChatRoomUser의 lastReadMessageId를 기준으로 쌓인 메세지 개수 +1
+         * 채팅방에 마지막 메세지 id, 번호 변경 : 오로지 "채팅 메세지"에 한정. enter, exit 메세지는 제외
+         * 읽지 않은 메세지 개수는 채팅방의 마지막 메세지 번호 - 채팅방-유저의 마지막으로 읽은 번호로 조회할 때 계산하므로,
+         * 참여 유저 수와 상관없이 메세지 1건, 채팅방 1건만 쓴다.
          */
-        find.getChatRoom().setLastMessageId(message.getId());
-        chatRoomRepository.save(find.getChatRoom());
+        chatRoomRepository.advanceLastMessage(roomId, message.getId(), message.getSeq());
 
-        // 채팅방에 참여하고 있는 모든 ChatRoomUser의 lastReadMessageId를 기준으로 쌓인 메세지 개수 +1
-        List<ChatRoomUser> cruList = chatRoomUserRepository.findByChatRoomId(roomId);
-        cruList.forEach(cru -> {
-            cru.setUnreadMessageCount(cru.getUnreadMessageCount() + 1);
-            chatRoomUserRepository.save(cru);
-        });
+        // 커밋 후 최근 메세지 버퍼에 추가
+        MessageDTO dto = MessageDTO.of(message);
+        recentMessageCache.appendAfterCommit(roomId, dto);
+        return dto;
+    }
 
-        return MessageDTO.of(message);
+    private List<MessageDTO> toDTOs(List<Message> messages) {
+        return messages.stream()
+                .map(MessageDTO::of)
+                .toList();
     }
 
     private Users findUser(String userNickname){
@@ -237,6 +239,12 @@ public class MessageServiceImpl implements MessageService{
                 .orElseThrow(() -> new BusinessException(ResponseCode.CHATROOM_NOT_FOUND));
     }
 
+    private void checkChatRoom(String roomId){
+        if (!chatRoomRepository.existsById(roomId)) {
+            throw new BusinessException(ResponseCode.CHATROOM_NOT_FOUND);
+        }
+    }
+
     private ChatRoomUser checkPermission(String roomId, String userNickname){
         Users user = findUser(userNickname);
         findChatRoom(roomId);
@@ -0,0 +1,336 @@
+package goojeans.harulog.chat.service;
+
+import goojeans.harulog.chat.domain.dto.MessageDTO;
+import goojeans.harulog.chat.repository.MessageRepository;
+import goojeans.harulog.user.domain.event.UserProfileChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 채팅방별 최근 메세지 캐시 (메세지 id 오름차순 ring buffer)
+ * 채팅방마다 최근 size 개의 메세지를 들고 있고, 메세지가 저장(커밋)되면 뒤에 붙인다.
+ * 버퍼에는 가장 오래된 메세지부터 최신 메세지까지 빠짐없이 들어 있으므로, 요청한 범위가 버퍼 안이면 DB 를 읽지 않는다.
+ * (채팅방 메세지가 size 개보다 적으면 버퍼가 전체 기록이라 더 이전 요청도 버퍼로 답한다)
+ * 처음 조회한 채팅방은 최근 메세지를 한 번의 쿼리로 읽어서 버퍼를 만들고, 읽는 동안 저장된 메세지는 따로 모아 두었다가 붙인다.
+ * 채팅방은 LRU 로 내보내고, 메세지 크기 추정치의 합이 max-bytes 를 넘지 않게 한다.
+ * 메세지에는 보낸 사람의 닉네임, 프로필 이미지가 들어 있으므로, 프로필이 바뀌면 그 사람의 메세지가 있는 채팅방 버퍼를 버린다.
+ * (만드는 중이던 버퍼도 바뀌기 전 프로필을 읽었을 수 있으므로 담지 않는다)
+ *
+ * 메트릭: chat.recent_messages.requests{result=hit|miss}, chat.recent_messages.bytes, chat.recent_messages.rooms,
+ * chat.recent_messages.evictions
+ */
+@Component
+public class RecentMessageCache {
+
+    private final MessageRepository messageRepository;
+    private final int capacity;
+    private final long maxBytes;
+
+    // 접근 순서 (LRU). 아래 필드와 함께 this 로 동기화한다.
+    private final LinkedHashMap<String, RoomWindow> rooms = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, List<MessageDTO>> loading = new HashMap<>();
+    private long bytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RecentMessageCache(MessageRepository messageRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${chat.recent-messages.size:100}") int capacity,
+                              @Value("${chat.recent-messages.max-bytes:67108864}") long maxBytes) {
+        this.messageRepository = messageRepository;
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+
+        this.hits = Counter.builder("chat.recent_messages.requests")
+                .tag("result", "hit")
+                .description("최근 메세지 버퍼로 답한 조회 수")
+                .register(meterRegistry);
+        this.misses = Counter.builder("chat.recent_messages.requests")
+                .tag("result", "miss")
+                .description("버퍼 범위를 벗어나 DB 에서 읽은 조회 수")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("chat.recent_messages.evictions")
+                .description("메모리 한도 때문에 내보낸 채팅방 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.recent_messages.bytes", this, RecentMessageCache::bytes)
+                .description("버퍼에 올라와 있는 메세지 크기 추정치")
+                .register(meterRegistry);
+        Gauge.builder("chat.recent_messages.rooms", this, RecentMessageCache::roomCount)
+                .description("버퍼에 올라와 있는 채팅방 수")
+                .register(meterRegistry);
+    }
+
+    // messageId 이전 메세지 size 개 : 내림차순 (최신부터)
+    public Optional<List<MessageDTO>> findBefore(String roomId, Long messageId, int size) {
+        return find(roomId, messageId, window -> window.before(messageId, size));
+    }
+
+    // messageId 이후 메세지 size 개 : 오름차순 (과거부터)
+    public Optional<List<MessageDTO>> findAfter(String roomId, Long messageId, int size) {
+        return find(roomId, messageId, window -> window.after(messageId, false, size));
+    }
+
+    // messageId 를 포함해서 이후 메세지 size 개 : 오름차순 (과거부터)
+    public Optional<List<MessageDTO>> findFrom(String roomId, Long messageId, int size) {
+        return find(roomId, messageId, window -> window.after(messageId, true, size));
+    }
+
+    /**
+     * 저장한 메세지를 버퍼에 붙인다.
+     * 트랜잭션 안에서 부르면 커밋된 뒤에 붙인다. (롤백된 메세지가 보이거나, 버퍼를 만드는 쿼리와 엇갈려 빠지지 않도록)
+     */
+    public void appendAfterCommit(String roomId, MessageDTO message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(roomId, message);
+                }
+            });
+        } else {
+            append(roomId, message);
+        }
+    }
+
+    // 버퍼가 없는 채팅방이면 버리고, 만드는 중이면 모아 둔다.
+    public synchronized void append(String roomId, MessageDTO message) {
+        List<MessageDTO> pending = loading.get(roomId);
+        if (pending != null) {
+            pending.add(message);
+            return;
+        }
+        RoomWindow window = rooms.get(roomId);
+        if (window != null) {
+            bytes += window.add(message);
+            evict();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        evictSender(event.getNickname());
+    }
+
+    public synchronized void evictSender(String senderName) {
+        Iterator<RoomWindow> iterator = rooms.values().iterator();
+        while (iterator.hasNext()) {
+            RoomWindow window = iterator.next();
+            if (window.hasSender(senderName)) {
+                bytes -= window.bytes;
+                iterator.remove();
+            }
+        }
+        loading.clear();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized int roomCount() {
+        return rooms.size();
+    }
+
+    private Optional<List<MessageDTO>> find(String roomId, Long messageId, Function<RoomWindow, List<MessageDTO>> query) {
+        RoomWindow window = messageId == null ? null : window(roomId);
+        List<MessageDTO> result = null;
+        if (window != null) {
+            synchronized (this) {
+                result = query.apply(window);
+            }
+        }
+
+        if (result == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(result);
+    }
+
+    // 버퍼가 없으면 만든다. 다른 요청이 만드는 중이면 기다리지 않고 DB 에서 읽게 한다.
+    private RoomWindow window(String roomId) {
+        List<MessageDTO> pending = new ArrayList<>();
+        synchronized (this) {
+            RoomWindow window = rooms.get(roomId);
+            if (window != null || loading.containsKey(roomId)) {
+                return window;
+            }
+            loading.put(roomId, pending);
+        }
+
+        List<MessageDTO> recent;
+        try {
+            recent = messageRepository.findRecentWithSender(roomId, PageRequest.of(0, capacity)).stream()
+                    .map(MessageDTO::of)
+                    .toList();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.remove(roomId, pending);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            // 최신순으로 읽었으므로 뒤에서부터 붙인다.
+            RoomWindow window = new RoomWindow(capacity, recent.size() < capacity);
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                window.add(recent.get(i));
+            }
+            pending.forEach(window::add);
+
+            // 읽는 동안 버퍼를 버렸으면 (evictSender) 이번 조회에만 쓰고 담지 않는다.
+            if (!loading.remove(roomId, pending)) {
+                return window;
+            }
+            rooms.put(roomId, window);
+            bytes += window.bytes;
+            evict();
+            return window;
+        }
+    }
+
+    // 오래 안 쓴 채팅방부터 내보낸다.
+    private void evict() {
+        Iterator<RoomWindow> iterator = rooms.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().bytes;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    // 문자열은 글자당 2바이트, 객체 헤더와 필드는 대략 96바이트로 센다.
+    private static long weigh(MessageDTO message) {
+        return 96 + 2L * (length(message.getSenderName()) + length(message.getImageUrl())
+                + length(message.getContent()) + length(message.getCreatedAt()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    /**
+     * 한 채팅방의 최근 메세지 (id 오름차순)
+     * complete: 채팅방의 메세지가 모두 들어 있음 (버퍼가 한 번도 넘치지 않음)
+     */
+    private static class RoomWindow {
+
+        private final MessageDTO[] buffer;
+        private int head;
+        private int size;
+        private boolean complete;
+        private long bytes;
+
+        private RoomWindow(int capacity, boolean complete) {
+            this.buffer = new MessageDTO[capacity];
+            this.complete = complete;
+            this.bytes = 64 + 8L * capacity;
+        }
+
+        /**
+         * 메세지를 id 순서 자리에 넣고, 늘어난 크기를 돌려준다.
+         * 보통은 가장 최신이라 맨 뒤에 붙는다. 커밋 순서가 id 순서와 다르면 뒤에서부터 자리를 찾는다.
+         */
+        private long add(MessageDTO message) {
+            if (buffer.length == 0) {
+                complete = false;
+                return 0;
+            }
+
+            int position = size;
+            while (position > 0 && get(position - 1).getMessageId() >= message.getMessageId()) {
+                if (get(position - 1).getMessageId().equals(message.getMessageId())) {
+                    return 0;
+                }
+                position--;
+            }
+
+            long delta = weigh(message);
+            if (size == buffer.length) {
+                // 가득 찼는데 가장 오래된 메세지보다 이전 메세지면 버퍼에 넣지 않는다.
+                complete = false;
+                if (position == 0) {
+                    return 0;
+                }
+                delta -= weigh(get(0));
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+                size--;
+                position--;
+            }
+
+            for (int i = size; i > position; i--) {
+                set(i, get(i - 1));
+            }
+            set(position, message);
+            size++;
+            bytes += delta;
+            return delta;
+        }
+
+        // messageId 보다 이전 메세지를 최신부터 limit 개. 버퍼 밖의 메세지가 필요하면 null
+        private List<MessageDTO> before(long messageId, int limit) {
+            List<MessageDTO> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = size - 1; i >= 0 && result.size() < limit; i--) {
+                MessageDTO message = get(i);
+                if (message.getMessageId() < messageId) {
+                    result.add(message);
+                }
+            }
+            return result.size() == limit || complete ? result : null;
+        }
+
+        // messageId 이후 (inclusive 면 포함) 메세지를 과거부터 limit 개. 버퍼 밖의 메세지가 필요하면 null
+        private List<MessageDTO> after(long messageId, boolean inclusive, int limit) {
+            if (!complete && (size == 0 || messageId < get(0).getMessageId())) {
+                return null;
+            }
+            List<MessageDTO> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = 0; i < size && result.size() < limit; i++) {
+                MessageDTO message = get(i);
+                long id = message.getMessageId();
+                if (id > messageId || (inclusive && id == messageId)) {
+                    result.add(message);
+                }
+            }
+            return result;
+        }
+
+        private boolean hasSender(String senderName) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(get(i).getSenderName(), senderName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private MessageDTO get(int index) {
+            return buffer[(head + index) % buffer.length];
+        }
+
+        private void set(int index, MessageDTO message) {
+            buffer[(head + index) % buffer.length] = message;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package goojeans.harulog.comment.controller;
 
 import goojeans.harulog.comment.domain.dto.CommentRequestDto;
 import goojeans.harulog.comment.domain.dto.CommentResponseDto;
+import goojeans.harulog.comment.domain.dto.CommentSliceDto;
 import goojeans.harulog.comment.service.CommentService;
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.user.util.SecurityUtils;
@@ -43,4 +44,20 @@ public class CommentController {
 
 
     }
+
+    // 게시글의 최상위 댓글 목록 : cursor 는 이전 페이지의 nextCursor
+    @GetMapping("/feed/{feedId}/comments")
+    public ResponseEntity<Response<CommentSliceDto>> getComments(@PathVariable Long feedId,
+                                                                 @RequestParam(required = false) Long cursor,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(Response.ok(commentService.getComments(feedId, cursor, size)));
+    }
+
+    // 댓글의 대댓글 목록
+    @GetMapping("/comment/{id}/replies")
+    public ResponseEntity<Response<CommentSliceDto>> getReplies(@PathVariable Long id,
+                                                                @RequestParam(required = false) Long cursor,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(Response.ok(commentService.getReplies(id, cursor, size)));
+    }
 }
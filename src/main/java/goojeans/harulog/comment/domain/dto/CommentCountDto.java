@@ -0,0 +1,18 @@
+package goojeans.harulog.comment.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 부모 댓글 id 별 대댓글 수
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentCountDto {
+
+    private Long commentId;
+
+    private Long count;
+}
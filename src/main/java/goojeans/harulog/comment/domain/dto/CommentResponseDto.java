@@ -19,6 +19,7 @@ public class CommentResponseDto extends CommentRequestDto {
     private String nickname;
     private Long parentId;
     private int depth;
+    private int replyCount;
     private List<CommentResponseDto> children= new ArrayList<>();
 
     // Entity -> DTO
@@ -45,6 +46,17 @@ public class CommentResponseDto extends CommentRequestDto {
 
     }
 
+    public CommentResponseDto(CommentRowDto row){
+        this.id             = row.getId();
+        this.profileImg     = row.getProfileImg();
+        this.nickname       = row.getNickname();
+        this.content        = row.getContent();
+        this.parentId       = row.getParentId();
+        this.depth          = row.getDepth();
+        this.createdAt      = row.getCreatedAt();
+        this.updateAt       = row.getUpdatedAt();
+    }
+
     public CommentResponseDto(Comment comment){
         this.id             = comment.getId();
         this.profileImg     = comment.getUser().getImageUrl();
@@ -0,0 +1,32 @@
+package goojeans.harulog.comment.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글 트리 조립용 조회 결과 (댓글 + 작성자 프로필 이미지)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentRowDto {
+
+    private Long id;
+
+    private Long parentId;
+
+    private int depth;
+
+    private String content;
+
+    private String nickname;
+
+    private String profileImg;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package goojeans.harulog.comment.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서 기반 댓글 목록 응답
+ * nextCursor 는 마지막 댓글 id 이고, null 이면 마지막 페이지이다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentSliceDto {
+
+    private List<CommentResponseDto> content;
+
+    private Long nextCursor;
+
+    private boolean hasNext;
+}
@@ -21,6 +21,10 @@ import java.util.List;
 @NoArgsConstructor
 @SQLDelete(sql = "UPDATE comment SET active_status = 'DELETED' WHERE comment_id = ? AND active_status <> 'DELETED'")
 @SQLRestriction("active_status <> 'DELETED'")
+@Table(indexes = {
+        @Index(name = "idx_comment_post_parent", columnList = "post_id, parent_comment_id, comment_id"),
+        @Index(name = "idx_comment_parent", columnList = "parent_comment_id, comment_id")
+})
 public class Comment extends BaseEntity {
 
     @Id
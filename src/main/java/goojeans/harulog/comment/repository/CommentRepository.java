@@ -1,11 +1,16 @@
 package goojeans.harulog.comment.repository;
 
+import goojeans.harulog.comment.domain.dto.CommentCountDto;
+import goojeans.harulog.comment.domain.dto.CommentRowDto;
 import goojeans.harulog.comment.domain.entity.Comment;
+import goojeans.harulog.post.domain.dto.PostCountDto;
 import goojeans.harulog.post.domain.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +22,33 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId")
     int countCommentsByPostId(@Param("postId") Long postId);
 
+    @Query("SELECT new goojeans.harulog.post.domain.dto.PostCountDto(c.post.id, COUNT(c)) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCountDto> countCommentsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 게시글의 최상위 댓글을 id 순으로 cursor 다음부터 조회
+    @Query("SELECT new goojeans.harulog.comment.domain.dto.CommentRowDto(" +
+            "c.id, c.parent.id, c.depth, c.content, c.nickname, u.imageUrl, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.user u " +
+            "WHERE c.post.id = :postId AND c.parent IS NULL AND c.id > :cursor ORDER BY c.id ASC")
+    List<CommentRowDto> findTopLevelRows(@Param("postId") Long postId, @Param("cursor") Long cursor, Pageable pageable);
+
+    // 부모 댓글의 대댓글을 id 순으로 cursor 다음부터 조회
+    @Query("SELECT new goojeans.harulog.comment.domain.dto.CommentRowDto(" +
+            "c.id, c.parent.id, c.depth, c.content, c.nickname, u.imageUrl, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.user u " +
+            "WHERE c.parent.id = :parentId AND c.id > :cursor ORDER BY c.id ASC")
+    List<CommentRowDto> findReplyRows(@Param("parentId") Long parentId, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT new goojeans.harulog.comment.domain.dto.CommentCountDto(c.parent.id, COUNT(c)) " +
+            "FROM Comment c WHERE c.parent.id IN :parentIds GROUP BY c.parent.id")
+    List<CommentCountDto> countRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    // 댓글 하나와 그 대댓글을 한 번에 조회
+    @Query("SELECT new goojeans.harulog.comment.domain.dto.CommentRowDto(" +
+            "c.id, c.parent.id, c.depth, c.content, c.nickname, u.imageUrl, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.user u WHERE c.id = :commentId OR c.parent.id = :commentId ORDER BY c.id ASC")
+    List<CommentRowDto> findRowsWithChildren(@Param("commentId") Long commentId);
+
     @Query("SELECT c FROM Comment c WHERE c.parent.id = :parentId AND c.activeStatus <> 'DELETED'")
     List<Comment> findChildrenComments(@Param("parentId") Long parentId);
 
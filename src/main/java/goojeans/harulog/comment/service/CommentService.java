@@ -2,22 +2,23 @@ package goojeans.harulog.comment.service;
 
 import goojeans.harulog.comment.domain.dto.CommentRequestDto;
 import goojeans.harulog.comment.domain.dto.CommentResponseDto;
+import goojeans.harulog.comment.domain.dto.CommentSliceDto;
 import goojeans.harulog.comment.domain.entity.Comment;
 import goojeans.harulog.comment.repository.CommentRepository;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.domain.event.PostContentChangedEvent;
 import goojeans.harulog.post.repository.PostRepository;
 import goojeans.harulog.user.domain.entity.Users;
 import goojeans.harulog.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
 
 @Slf4j
 @Service
@@ -27,6 +28,8 @@ public class CommentService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
+    private final CommentTreeLoader commentTreeLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -49,27 +52,31 @@ public class CommentService {
 
             comment = commentRepository.save(new Comment(requestDto, user.getNickname(), post, user, childComment));
         }
+        postRepository.addCommentCount(postId, 1);
+        eventPublisher.publishEvent(new PostContentChangedEvent(postId));
         return new CommentResponseDto(comment, commentId);
     }
 
 
     public CommentResponseDto getComment(Long id) {
-        Comment comment = commentRepository.findById(id).orElseThrow(
-                () -> new BusinessException(ResponseCode.CMT_POST_NOT_FOUND)
-        );
+        CommentResponseDto comment = commentTreeLoader.loadWithChildren(id);
+        if (comment == null) {
+            throw new BusinessException(ResponseCode.CMT_POST_NOT_FOUND);
+        }
+        return comment;
+    }
 
-        List<Comment> childrenComments = commentRepository.findChildrenComments(id);
-        List<CommentResponseDto> childrenDtoList = new ArrayList<>();
 
-        for (Comment childComment : childrenComments) {
-            CommentResponseDto childDto = new CommentResponseDto(childComment, id);
-            childrenDtoList.add(childDto);
-        }
 
-        return  new CommentResponseDto(comment, childrenDtoList);
+    // 게시글의 최상위 댓글 목록 (커서 기반)
+    public CommentSliceDto getComments(Long postId, Long cursor, int size) {
+        return commentTreeLoader.loadTopLevelPage(postId, cursor, size);
     }
 
-
+    // 댓글의 대댓글 목록 (커서 기반)
+    public CommentSliceDto getReplies(Long commentId, Long cursor, int size) {
+        return commentTreeLoader.loadReplyPage(commentId, cursor, size);
+    }
 
     public CommentResponseDto updateComment(Long id, CommentRequestDto requestDto, Long userId) {
         Comment comment = commentRepository.findById(id).orElseThrow(
@@ -78,6 +85,7 @@ public class CommentService {
 
         if(comment.getUser().getId().equals(userId)){
             comment.update(requestDto);
+            eventPublisher.publishEvent(new PostContentChangedEvent(comment.getPost().getId()));
         }else{
             throw new BusinessException(ResponseCode.CMT_AUTHENTICATION_FAIL);
         }
@@ -90,7 +98,11 @@ public class CommentService {
                 () -> new BusinessException(ResponseCode.CMT_NOT_FOUND)
         );
         if(comment.getUser().getId().equals(userId)){
+            // 대댓글도 함께 삭제되므로 (cascade) 남아 있는 대댓글 수만큼 같이 뺀다.
+            int removed = 1 + comment.getChildren().size();
             commentRepository.deleteById(id);
+            postRepository.addCommentCount(comment.getPost().getId(), -removed);
+            eventPublisher.publishEvent(new PostContentChangedEvent(comment.getPost().getId()));
         }else {
             throw new BusinessException(ResponseCode.CMT_AUTHENTICATION_FAIL);
         }
@@ -0,0 +1,92 @@
+package goojeans.harulog.comment.service;
+
+import goojeans.harulog.comment.domain.dto.CommentCountDto;
+import goojeans.harulog.comment.domain.dto.CommentResponseDto;
+import goojeans.harulog.comment.domain.dto.CommentRowDto;
+import goojeans.harulog.comment.domain.dto.CommentSliceDto;
+import goojeans.harulog.comment.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 댓글 조회
+ * 댓글과 작성자 정보는 projection 쿼리 한 번으로 가져오고, 엔티티의 연관관계는 따라가지 않는다.
+ * 최상위 댓글과 대댓글은 각각 id 기준 keyset 페이지로 조회하고, 최상위 댓글에는 대댓글 수를 함께 내려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentTreeLoader {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final CommentRepository commentRepository;
+
+    // 게시글의 최상위 댓글 한 페이지 (대댓글은 replyCount 만 포함)
+    public CommentSliceDto loadTopLevelPage(Long postId, Long cursor, int size) {
+        int pageSize = clampSize(size);
+        List<CommentRowDto> rows = commentRepository.findTopLevelRows(postId, cursorOf(cursor), PageRequest.of(0, pageSize + 1));
+
+        CommentSliceDto slice = toSlice(rows, pageSize);
+        if (slice.getContent().isEmpty()) {
+            return slice;
+        }
+
+        Map<Long, Long> replyCounts = commentRepository.countRepliesByParentIds(
+                        slice.getContent().stream().map(CommentResponseDto::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(CommentCountDto::getCommentId, CommentCountDto::getCount));
+        slice.getContent().forEach(comment ->
+                comment.setReplyCount(replyCounts.getOrDefault(comment.getId(), 0L).intValue()));
+
+        return slice;
+    }
+
+    // 부모 댓글의 대댓글 한 페이지
+    public CommentSliceDto loadReplyPage(Long parentId, Long cursor, int size) {
+        int pageSize = clampSize(size);
+        List<CommentRowDto> rows = commentRepository.findReplyRows(parentId, cursorOf(cursor), PageRequest.of(0, pageSize + 1));
+        return toSlice(rows, pageSize);
+    }
+
+    // 댓글 하나와 그 대댓글. 댓글이 없으면 null
+    public CommentResponseDto loadWithChildren(Long commentId) {
+        List<CommentRowDto> rows = commentRepository.findRowsWithChildren(commentId);
+
+        Map<Long, CommentResponseDto> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.getId(), new CommentResponseDto(row)));
+
+        CommentResponseDto root = byId.get(commentId);
+        if (root == null) {
+            return null;
+        }
+        rows.stream()
+                .filter(row -> commentId.equals(row.getParentId()))
+                .forEach(row -> root.getChildren().add(byId.get(row.getId())));
+        root.setReplyCount(root.getChildren().size());
+        return root;
+    }
+
+    private CommentSliceDto toSlice(List<CommentRowDto> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<CommentRowDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<CommentResponseDto> content = page.stream().map(CommentResponseDto::new).toList();
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+        return new CommentSliceDto(content, nextCursor, hasNext);
+    }
+
+    private Long cursorOf(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,82 @@
+package goojeans.harulog.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나로 합친다 (single-flight)
+ * 처음 들어온 요청만 loader 를 실행하고, 그동안 들어온 요청은 그 결과(또는 예외)를 기다렸다가 같이 돌려받는다.
+ * 결과를 저장해두지는 않으므로 조회가 끝난 뒤에 들어온 요청은 다시 loader 를 실행한다.
+ * 결과 객체는 기다린 요청들이 공유하므로, 요청마다 달라지는 값은 호출한 쪽에서 복사해서 채운다.
+ * 트랜잭션 안에서 부르면 기다리는 요청마다 DB 커넥션을 잡고 있으므로, 트랜잭션 밖에서 부르고 loader 안에서만 트랜잭션을 연다.
+ *
+ * 메트릭: single.flight.calls{name, result=leader|coalesced}
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(name, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            counter(name, "coalesced").increment();
+            return (T) await(running);
+        }
+
+        counter(name, "leader").increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    // 현재 진행 중인 조회 수
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String name, String result) {
+        return Counter.builder("single.flight.calls")
+                .description("동시 조회 합치기 결과 (leader: 직접 조회, coalesced: 다른 요청의 결과를 기다림)")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record FlightKey(String name, Object key) {
+    }
+}
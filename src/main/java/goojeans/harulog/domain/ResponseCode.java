@@ -48,6 +48,7 @@ public enum ResponseCode {
     POS_CATEGORY_NOT_FOUND(400, "POS-002", "해당하는 카테고리를 찾지 못했습니다.", HttpStatus.BAD_REQUEST),
     POS_AUTHENTICATION_FAIL(400,"POS-003", "유저 인증에 실패했습니다.", HttpStatus.BAD_REQUEST),
     POS_UPDATE_TIME_FAIL(400,"POS-004", "수정할 수 있는 시간이 지났습니다.",HttpStatus.BAD_REQUEST),
+    POS_INVALID_CURSOR(400, "POS-005", "잘못된 페이지 커서입니다.", HttpStatus.BAD_REQUEST),
 
     // 댓글 : CMT
     CMT_AUTHENTICATION_FAIL(400, " CMT-101", "유저 인증에 실패했습니다.", HttpStatus.BAD_REQUEST),
@@ -59,6 +60,7 @@ public enum ResponseCode {
 
     // 채팅 : CHT
     CHAT_TRANSMISSION_FAIL(400, "CHT-001", "채팅 전송에 실패했습니다.", HttpStatus.BAD_REQUEST),
+    CHAT_BUSY(503, "CHT-002", "전송 대기 중인 메세지가 많습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
     CHAT_AUTHENTICATION_FAIL(400, "CHT-101", "유저 인증에 실패했습니다.", HttpStatus.BAD_REQUEST),
     CHAT_NO_PERMISSION(400, "CHT-102", "채팅방에 참여하지 않은 사용자입니다.", HttpStatus.BAD_REQUEST),
     CHATROOM_NOT_FOUND(400, "CHT-201", "채팅방을 찾을 수 없습니다.", HttpStatus.BAD_REQUEST),
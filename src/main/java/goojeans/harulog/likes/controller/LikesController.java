@@ -2,6 +2,7 @@ package goojeans.harulog.likes.controller;
 
 
 import goojeans.harulog.domain.dto.Response;
+import goojeans.harulog.likes.domain.dto.LikeStateResponseDto;
 import goojeans.harulog.likes.domain.dto.LikesResponseDto;
 import goojeans.harulog.likes.service.LikesService;
 import goojeans.harulog.user.util.SecurityUtils;
@@ -30,4 +31,11 @@ public class LikesController {
         Long userId = securityUtils.getCurrentUserInfo().getId();
         return ResponseEntity.ok(Response.ok(likesService.deleteLikes(postId,userId)));
     }
+
+    // 좋아요 상태 설정 (멱등) : 재시도해도 상태와 좋아요 수가 한 번만 바뀐다.
+    @PutMapping("/post/likes/{postId}")
+    public ResponseEntity<Response<LikeStateResponseDto>> setLike(@PathVariable Long postId, @RequestParam boolean liked){
+        Long userId = securityUtils.getCurrentUserInfo().getId();
+        return ResponseEntity.ok(Response.ok(likesService.setLike(postId, userId, liked)));
+    }
 }
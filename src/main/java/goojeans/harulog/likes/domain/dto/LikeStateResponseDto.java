@@ -0,0 +1,19 @@
+package goojeans.harulog.likes.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 좋아요 상태 설정 결과
+ * changed 가 false 면 이미 요청한 상태였고, 좋아요 수도 바뀌지 않았다.
+ */
+@Getter
+@AllArgsConstructor
+public class LikeStateResponseDto {
+
+    private boolean liked;
+
+    private boolean changed;
+
+    private int likeCount;
+}
@@ -0,0 +1,7 @@
+package goojeans.harulog.likes.repository;
+
+public interface CustomLikesRepository {
+
+    // 좋아요가 없을 때만 추가. 중복이어도 예외 없이 false (새로 추가됐으면 true)
+    boolean insertLikeIfAbsent(Long postId, Long userId);
+}
@@ -0,0 +1,58 @@
+package goojeans.harulog.likes.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DB 종류에 맞는 upsert 로 좋아요를 추가한다.
+ * 중복 좋아요(더블 탭, 재시도)는 likes_uk 위반 예외 대신 영향받은 행 0 으로 끝나서 트랜잭션이 롤백되지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomLikesRepositoryImpl implements CustomLikesRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Dialect dialect;
+
+    @Override
+    public boolean insertLikeIfAbsent(Long postId, Long userId) {
+        return jdbcTemplate.update(dialect().insertIfAbsentSql, postId, userId) > 0;
+    }
+
+    private Dialect dialect() {
+        if (dialect == null) {
+            dialect = jdbcTemplate.execute((ConnectionCallback<Dialect>) connection ->
+                    Dialect.of(connection.getMetaData().getDatabaseProductName()));
+        }
+        return dialect;
+    }
+
+    private enum Dialect {
+        // MySQL : Connector/J 는 기본으로 found rows 를 돌려줘서 ON DUPLICATE KEY UPDATE 로는
+        // 새로 추가한 경우와 이미 있던 경우를 구분할 수 없으므로, 중복이면 0 을 돌려주는 INSERT IGNORE 를 쓴다.
+        MYSQL("INSERT IGNORE INTO likes(post_id, user_id, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)"),
+        // H2 : 일치하는 행이 없을 때만 INSERT 하는 MERGE
+        H2("MERGE INTO likes l USING (SELECT CAST(? AS BIGINT) AS post_id, CAST(? AS BIGINT) AS user_id) s " +
+                "ON l.post_id = s.post_id AND l.user_id = s.user_id " +
+                "WHEN NOT MATCHED THEN INSERT (post_id, user_id, created_at) VALUES (s.post_id, s.user_id, CURRENT_TIMESTAMP)");
+
+        private final String insertIfAbsentSql;
+
+        Dialect(String insertIfAbsentSql) {
+            this.insertIfAbsentSql = insertIfAbsentSql;
+        }
+
+        static Dialect of(String databaseProductName) {
+            if ("H2".equalsIgnoreCase(databaseProductName)) {
+                return H2;
+            }
+            if ("MySQL".equalsIgnoreCase(databaseProductName) || "MariaDB".equalsIgnoreCase(databaseProductName)) {
+                return MYSQL;
+            }
+            throw new IllegalStateException("unsupported database for like upsert: " + databaseProductName);
+        }
+    }
+}
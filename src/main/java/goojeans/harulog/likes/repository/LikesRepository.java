@@ -2,27 +2,32 @@ package goojeans.harulog.likes.repository;
 
 import goojeans.harulog.likes.domain.entity.Likes;
 
+import goojeans.harulog.post.domain.dto.PostCountDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface LikesRepository extends JpaRepository<Likes, Integer> {
-
-    @Modifying
-    @Query(value = "INSERT INTO likes(post_id, user_id, created_at) VALUES (:postId, :userId, CURRENT_TIMESTAMP)", nativeQuery = true)
-    void insertLikes(@Param("postId") Long postId, @Param("userId") Long userId);
-
+import java.util.Collection;
+import java.util.List;
 
+public interface LikesRepository extends JpaRepository<Likes, Integer>, CustomLikesRepository {
 
     @Modifying
     @Query("DELETE FROM likes l WHERE l.post.id = :postId AND l.user.id = :userId")
-    void unLike(@Param("postId") Long postId, @Param("userId") Long userId);
+    int unLike(@Param("postId") Long postId, @Param("userId") Long userId);
 
 
     @Query("SELECT COUNT(l) FROM likes l WHERE l.post.id = :postId")
     int countLikesByPostId(@Param("postId") Long postId);
 
+    @Query("SELECT new goojeans.harulog.post.domain.dto.PostCountDto(l.post.id, COUNT(l)) FROM likes l WHERE l.post.id IN :postIds GROUP BY l.post.id")
+    List<PostCountDto> countLikesByPostIds(@Param("postIds") Collection<Long> postIds);
+
     boolean existsByPostIdAndUserId(Long postId, Long userId);
 
+    // 게시글 목록 중 사용자가 좋아요 누른 게시글 id
+    @Query("SELECT l.post.id FROM likes l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
 }
\ No newline at end of file
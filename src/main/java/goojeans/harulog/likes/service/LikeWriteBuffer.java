@@ -0,0 +1,498 @@
+package goojeans.harulog.likes.service;
+
+import goojeans.harulog.domain.BusinessException;
+import goojeans.harulog.domain.ResponseCode;
+import goojeans.harulog.likes.repository.LikesRepository;
+import goojeans.harulog.post.domain.dto.PostScoreDto;
+import goojeans.harulog.post.domain.event.PostScoreChangedEvent;
+import goojeans.harulog.post.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 좋아요 write-behind 버퍼 (likes.write-behind.enabled=true 일 때 LikesService 가 사용)
+ * 좋아요 / 취소는 (postId, userId) 별로 원하는 상태만 메모리에 기록하고, 응답하는 좋아요 수는 게시글별 메모리 카운터에서 읽는다.
+ * 주기적으로(또는 쌓인 변경이 max-pending 을 넘으면 flush 스레드에서 바로) 실제로 바뀐 키만 JDBC batch 로 likes 에 반영하고,
+ * post.like_count 는 게시글별 순증감만큼 같은 트랜잭션에서 갱신한다. 종료할 때도 남은 변경을 반영한다.
+ * flush 는 항상 자기 트랜잭션(REQUIRES_NEW)으로 커밋하고, 반영에 실패한 변경은 버퍼에서 버리고 메모리 좋아요 수도 되돌린다.
+ * 버퍼는 stripe 로 나눠서 같은 stripe 의 키끼리만 락을 경합한다.
+ * 마지막 flush 이후에 서버가 비정상 종료되면 그 사이의 변경은 사라진다.
+ */
+@Slf4j
+@Component
+public class LikeWriteBuffer {
+
+    private static final int STRIPES = 64;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO likes(post_id, user_id, created_at) SELECT ?, ?, CURRENT_TIMESTAMP FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM likes WHERE post_id = ? AND user_id = ?)";
+    private static final String DELETE_SQL = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+    private static final String LIKE_COUNT_SQL = "UPDATE post SET like_count = GREATEST(like_count + ?, 0) WHERE post_id = ?";
+
+    private final LikesRepository likesRepository;
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final int batchSize;
+    private final long counterIdleMillis;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final ConcurrentHashMap<Long, PostCounter> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "like-buffer-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private final Counter flushFailures;
+
+    public LikeWriteBuffer(LikesRepository likesRepository,
+                           PostRepository postRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${likes.write-behind.enabled:false}") boolean enabled,
+                           @Value("${likes.write-behind.max-pending:10000}") int maxPending,
+                           @Value("${likes.write-behind.batch-size:500}") int batchSize,
+                           @Value("${likes.write-behind.flush-interval:1000}") long flushIntervalMillis) {
+        this.likesRepository = likesRepository;
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // 요청 쪽 트랜잭션에 합류하지 않고 flush 마다 따로 커밋한다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        // 두 번의 flush 동안 건드리지 않은 게시글의 카운터는 내려놓는다.
+        this.counterIdleMillis = flushIntervalMillis * 2;
+
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        Gauge.builder("likes.write_behind.pending", pending, AtomicInteger::get)
+                .description("아직 DB 에 반영되지 않은 좋아요 변경 수")
+                .register(meterRegistry);
+        Gauge.builder("likes.write_behind.counters", counters, Map::size)
+                .description("메모리에 올라와 있는 게시글 좋아요 카운터 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("likes.write_behind.flush")
+                .description("좋아요 버퍼 flush 시간")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("likes.write_behind.flushed")
+                .description("DB 에 반영한 좋아요 변경 수")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("likes.write_behind.flush.failures")
+                .description("batch 반영에 실패해서 한 건씩 다시 반영한 횟수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * (postId, userId) 의 좋아요 상태를 liked 로 만든다.
+     * 이미 그 상태였으면 아무것도 바꾸지 않고 changed=false 를 돌려준다.
+     */
+    public Result set(Long postId, Long userId, boolean liked) {
+        LikeKey key = new LikeKey(postId, userId);
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        PostCounter counter = counterOf(postId);
+
+        Result result;
+        while ((result = apply(key, stripe, counter, liked)) == null) {
+            // 읽는 사이에 flush 가 같은 stripe 를 정리했으면 DB 상태가 바뀌었을 수 있어서 다시 읽는다.
+        }
+
+        // 쌓인 변경이 너무 많으면 flush 스레드에 바로 반영을 맡긴다. (요청 스레드 / 트랜잭션에서는 반영하지 않는다)
+        if (result.changed() && pending.get() >= maxPending) {
+            requestFlush();
+        }
+        return result;
+    }
+
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 종료 flush 가 반영한다.
+            flushRequested.set(false);
+        }
+    }
+
+    private Result apply(LikeKey key, Stripe stripe, PostCounter counter, boolean liked) {
+        long evictions;
+        boolean known;
+        synchronized (stripe) {
+            known = stripe.entries.containsKey(key);
+            evictions = stripe.evictions;
+        }
+
+        // 버퍼에 없는 키만 DB 에서 현재 상태를 읽는다. (락 밖에서)
+        boolean persisted = !known && likesRepository.existsByPostIdAndUserId(key.postId(), key.userId());
+
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(key);
+            if (entry == null) {
+                if (known || stripe.evictions != evictions) {
+                    return null;
+                }
+                entry = new Entry(persisted);
+                stripe.entries.put(key, entry);
+            }
+
+            if (entry.desired == liked) {
+                return new Result(false, counter.count.get());
+            }
+
+            boolean wasDirty = entry.isDirty();
+            entry.desired = liked;
+            pending.addAndGet(wasDirty ? -1 : 1);
+
+            // flush 가 카운터를 내려놓은 뒤라도 같은 객체를 다시 올리면 값은 그대로 맞다.
+            PostCounter live = counters.computeIfAbsent(key.postId(), id -> counter);
+            int delta = liked ? 1 : -1;
+            live.unflushed.addAndGet(delta);
+            return new Result(true, live.count.addAndGet(delta));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${likes.write-behind.flush-interval:1000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    // 종료 전에 남은 변경을 모두 반영한다.
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushExecutor.shutdown();
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 다른 flush 가 진행 중이면 건너뛴다.
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * DB 에서 읽은 좋아요 여부(liked) 위에 아직 반영되지 않은 사용자의 변경을 덮어쓴다.
+     */
+    public void applyPending(Long userId, Collection<Long> postIds, Set<Long> liked) {
+        for (Long postId : postIds) {
+            LikeKey key = new LikeKey(postId, userId);
+            Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+            synchronized (stripe) {
+                Entry entry = stripe.entries.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.desired) {
+                    liked.add(postId);
+                } else {
+                    liked.remove(postId);
+                }
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    private void doFlush() {
+        List<Change> changes = snapshot();
+        if (!changes.isEmpty()) {
+            flushTimer.record(() -> write(changes));
+        }
+        evictIdleCounters();
+    }
+
+    // 바뀐 키를 모으고, 바뀌지 않은 키는 버퍼에서 정리한다.
+    private List<Change> snapshot() {
+        List<Change> changes = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Map.Entry<LikeKey, Entry>> iterator = stripe.entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<LikeKey, Entry> entry = iterator.next();
+                    if (entry.getValue().isDirty()) {
+                        changes.add(new Change(entry.getKey(), entry.getValue().desired));
+                    } else {
+                        iterator.remove();
+                        stripe.evictions++;
+                    }
+                }
+            }
+        }
+        return changes;
+    }
+
+    private void write(List<Change> changes) {
+        Map<Long, Integer> deltas;
+        Set<Change> failed = new HashSet<>();
+        try {
+            deltas = transactionTemplate.execute(status -> writeBatch(changes));
+        } catch (RuntimeException e) {
+            log.warn("like buffer batch flush failed, retrying one by one. size={}", changes.size(), e);
+            flushFailures.increment();
+            deltas = writeOneByOne(changes, failed);
+        }
+
+        // 커밋된 변경만 반영된 것으로 표시하고, 실패한 변경은 버린다.
+        for (Change change : changes) {
+            if (failed.contains(change)) {
+                discard(change);
+            } else {
+                markPersisted(change);
+                PostCounter counter = counters.get(change.key().postId());
+                if (counter != null) {
+                    counter.unflushed.addAndGet(change.liked() ? -1 : 1);
+                }
+            }
+        }
+        flushedRows.increment(changes.size() - failed.size());
+        if (deltas != null) {
+            deltas.keySet().forEach(this::publishScore);
+        }
+    }
+
+    private Map<Long, Integer> writeBatch(List<Change> changes) {
+        List<Change> inserts = changes.stream().filter(Change::liked).toList();
+        List<Change> deletes = changes.stream().filter(change -> !change.liked()).toList();
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        int[][] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, inserts, batchSize, (ps, change) -> {
+            ps.setLong(1, change.key().postId());
+            ps.setLong(2, change.key().userId());
+            ps.setLong(3, change.key().postId());
+            ps.setLong(4, change.key().userId());
+        });
+        addDeltas(deltas, inserts, inserted, 1);
+
+        int[][] deleted = jdbcTemplate.batchUpdate(DELETE_SQL, deletes, batchSize, (ps, change) -> {
+            ps.setLong(1, change.key().postId());
+            ps.setLong(2, change.key().userId());
+        });
+        addDeltas(deltas, deletes, deleted, -1);
+
+        List<Map.Entry<Long, Integer>> moved = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .toList();
+        jdbcTemplate.batchUpdate(LIKE_COUNT_SQL, moved, batchSize, (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+        return deltas;
+    }
+
+    // batch 중 하나가 실패하면 (삭제된 게시글 등) 한 건씩 반영하고, 실패한 건은 failed 에 모은다.
+    private Map<Long, Integer> writeOneByOne(List<Change> changes, Set<Change> failed) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Change change : changes) {
+            try {
+                Map<Long, Integer> delta = transactionTemplate.execute(status -> writeBatch(List.of(change)));
+                if (delta != null) {
+                    delta.forEach((postId, value) -> deltas.merge(postId, value, Integer::sum));
+                }
+            } catch (RuntimeException e) {
+                failed.add(change);
+                log.error("like buffer change dropped. postId={}, userId={}, liked={}",
+                        change.key().postId(), change.key().userId(), change.liked(), e);
+            }
+        }
+        return deltas;
+    }
+
+    // 실제로 반영된 행 수로 게시글별 증감을 센다. (드라이버가 행 수를 알려주지 않으면 반영된 것으로 본다)
+    private void addDeltas(Map<Long, Integer> deltas, List<Change> changes, int[][] results, int sign) {
+        int index = 0;
+        for (int[] batch : results) {
+            for (int rows : batch) {
+                Change change = changes.get(index++);
+                int applied = rows == Statement.SUCCESS_NO_INFO ? 1 : Math.min(rows, 1);
+                deltas.merge(change.key().postId(), applied * sign, Integer::sum);
+            }
+        }
+    }
+
+    private void markPersisted(Change change) {
+        LikeKey key = change.key();
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(key);
+            if (entry == null) {
+                return;
+            }
+            boolean wasDirty = entry.isDirty();
+            entry.persisted = change.liked();
+            if (wasDirty != entry.isDirty()) {
+                pending.addAndGet(wasDirty ? -1 : 1);
+            }
+            if (!entry.isDirty()) {
+                stripe.entries.remove(key);
+                stripe.evictions++;
+            }
+        }
+    }
+
+    /**
+     * 반영하지 못한 변경을 버리고 DB 상태로 되돌린다.
+     * 그 사이에 같은 키가 원래 상태로 돌아갔으면 (버퍼가 이미 DB 와 같으면) 그대로 둔다.
+     */
+    private void discard(Change change) {
+        LikeKey key = change.key();
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(key);
+            if (entry == null || entry.desired != change.liked()) {
+                return;
+            }
+            stripe.entries.remove(key);
+            stripe.evictions++;
+            pending.decrementAndGet();
+
+            PostCounter counter = counters.get(key.postId());
+            if (counter != null) {
+                int delta = change.liked() ? 1 : -1;
+                counter.count.addAndGet(-delta);
+                counter.unflushed.addAndGet(-delta);
+            }
+        }
+    }
+
+    private void publishScore(Long postId) {
+        PostCounter counter = counters.get(postId);
+        if (counter != null) {
+            eventPublisher.publishEvent(new PostScoreChangedEvent(
+                    postId, counter.categoryId, counter.createdAt, counter.count.get()));
+        }
+    }
+
+    private void evictIdleCounters() {
+        long now = System.currentTimeMillis();
+        counters.forEach((postId, counter) -> {
+            if (counter.unflushed.get() == 0 && now - counter.touchedAt > counterIdleMillis) {
+                counters.remove(postId, counter);
+            }
+        });
+    }
+
+    // 게시글 카운터. 없으면 DB 의 좋아요 수로 만든다.
+    private PostCounter counterOf(Long postId) {
+        PostCounter counter = counters.get(postId);
+        if (counter == null) {
+            PostScoreDto score = postRepository.findScoreById(postId)
+                    .orElseThrow(() -> new BusinessException(ResponseCode.POS_NOT_FOUND));
+            counter = counters.computeIfAbsent(postId, id -> new PostCounter(score));
+        }
+        counter.touchedAt = System.currentTimeMillis();
+        return counter;
+    }
+
+    public record Result(boolean changed, int likeCount) {
+    }
+
+    private record LikeKey(Long postId, Long userId) {
+    }
+
+    private record Change(LikeKey key, boolean liked) {
+    }
+
+    private static class Stripe {
+        private final Map<LikeKey, Entry> entries = new HashMap<>();
+        private long evictions;
+    }
+
+    // persisted: DB 에 있는 (flush 중이면 곧 반영될) 상태, desired: 요청된 상태
+    private static class Entry {
+        private boolean persisted;
+        private boolean desired;
+
+        private Entry(boolean persisted) {
+            this.persisted = persisted;
+            this.desired = persisted;
+        }
+
+        private boolean isDirty() {
+            return persisted != desired;
+        }
+    }
+
+    private static class PostCounter {
+        private final Long categoryId;
+        private final LocalDateTime createdAt;
+        private final AtomicInteger count;
+        private final AtomicInteger unflushed = new AtomicInteger();
+        private volatile long touchedAt;
+
+        private PostCounter(PostScoreDto score) {
+            this.categoryId = score.getCategoryId();
+            this.createdAt = score.getCreatedAt();
+            this.count = new AtomicInteger(score.getLikeCount());
+        }
+    }
+}
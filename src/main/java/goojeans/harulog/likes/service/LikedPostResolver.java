@@ -0,0 +1,39 @@
+package goojeans.harulog.likes.service;
+
+import goojeans.harulog.likes.repository.LikesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 게시글 목록에 대한 사용자의 좋아요 여부 조회
+ * 게시글마다 exists 쿼리를 날리지 않고 IN 쿼리 한 번으로 좋아요 누른 게시글 id 만 가져온다.
+ * write-behind 모드에서는 아직 DB 에 반영되지 않은 변경을 덮어쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikedPostResolver {
+
+    private final LikesRepository likesRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+
+    public Set<Long> resolve(Long userId, Collection<Long> postIds) {
+        if (userId == null || postIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> liked = new HashSet<>(likesRepository.findLikedPostIds(userId, postIds));
+        if (likeWriteBuffer.isEnabled()) {
+            likeWriteBuffer.applyPending(userId, postIds, liked);
+        }
+        return liked;
+    }
+
+    public boolean isLiked(Long userId, Long postId) {
+        return resolve(userId, List.of(postId)).contains(postId);
+    }
+}
@@ -2,12 +2,17 @@ package goojeans.harulog.likes.service;
 
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
+import goojeans.harulog.likes.domain.dto.LikeStateResponseDto;
 import goojeans.harulog.likes.domain.dto.LikesResponseDto;
 import goojeans.harulog.likes.repository.LikesRepository;
+import goojeans.harulog.post.domain.dto.PostScoreDto;
+import goojeans.harulog.post.domain.event.PostScoreChangedEvent;
+import goojeans.harulog.post.repository.PostRepository;
 import goojeans.harulog.user.domain.entity.Users;
 import goojeans.harulog.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,27 +23,53 @@ public class LikesService {
 
     private final LikesRepository likesRepository;
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikeWriteBuffer likeWriteBuffer;
 
 
 
 
     public LikesResponseDto saveLikes(Long postId, Long userId) {
-        Users user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ResponseCode.Lik_AUTHENTICATION_FAIL));
-        likesRepository.insertLikes(postId, userId);
-        int updatedLikeCount = likesRepository.countLikesByPostId(postId);
-
-        return new LikesResponseDto(updatedLikeCount);
+        return new LikesResponseDto(setLike(postId, userId, true).getLikeCount());
     }
 
 
     public LikesResponseDto deleteLikes(Long postId, Long userId) {
+        return new LikesResponseDto(setLike(postId, userId, false).getLikeCount());
+    }
+
+    // 좋아요 상태를 liked 로 만든다. 이미 그 상태면 아무것도 바꾸지 않으므로 같은 요청을 다시 보내도 결과가 같다.
+    // 좋아요 수는 상태가 실제로 바뀐 경우에만 움직인다.
+    public LikeStateResponseDto setLike(Long postId, Long userId, boolean liked) {
+        // write-behind 모드에서는 버퍼에만 기록하고 메모리 카운터 값을 돌려준다. (로그인 사용자라 사용자 조회는 생략)
+        if (likeWriteBuffer.isEnabled()) {
+            LikeWriteBuffer.Result result = likeWriteBuffer.set(postId, userId, liked);
+            return new LikeStateResponseDto(liked, result.changed(), result.likeCount());
+        }
+
         Users user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ResponseCode.Lik_AUTHENTICATION_FAIL));
-        likesRepository.unLike(postId, userId);
-        int updatedLikeCount = likesRepository.countLikesByPostId(postId);
 
-        return new LikesResponseDto(updatedLikeCount);
+        boolean changed = liked
+                ? likesRepository.insertLikeIfAbsent(postId, userId)
+                : likesRepository.unLike(postId, userId) > 0;
+        if (changed) {
+            postRepository.addLikeCount(postId, liked ? 1 : -1);
+        }
+
+        return new LikeStateResponseDto(liked, changed, getLikeCount(postId, changed));
+    }
+
+    // 좋아요 수를 반환하고, 바뀌었으면 인기 순위표에 알린다.
+    private int getLikeCount(Long postId, boolean changed) {
+        PostScoreDto score = postRepository.findScoreById(postId)
+                .orElseThrow(() -> new BusinessException(ResponseCode.POS_NOT_FOUND));
 
+        if (changed) {
+            eventPublisher.publishEvent(new PostScoreChangedEvent(
+                    score.getPostId(), score.getCategoryId(), score.getCreatedAt(), score.getLikeCount()));
+        }
+        return score.getLikeCount();
     }
 }
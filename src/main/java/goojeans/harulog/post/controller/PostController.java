@@ -7,7 +7,10 @@ import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.post.domain.dto.PostLikeResponseDto;
 import goojeans.harulog.post.domain.dto.PostRequestDto;
 import goojeans.harulog.post.domain.dto.PostResponseDto;
+import goojeans.harulog.post.domain.dto.response.PostSliceDto;
+import goojeans.harulog.post.service.PostDetailReader;
 import goojeans.harulog.post.service.PostService;
+import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.user.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +27,7 @@ import java.util.List;
 @RequestMapping("/api")
 public class PostController {
     private final PostService postService;
+    private final PostDetailReader postDetailReader;
     private final SecurityUtils securityUtils;
 
     @PostMapping("/feed/create")
@@ -47,13 +51,13 @@ public class PostController {
     //게시글 상세 보기
     @GetMapping("/feed/{feedId}")
     public ResponseEntity<Response<PostResponseDto>> getPost(@PathVariable Long feedId){
-        return ResponseEntity.ok(Response.ok(postService.getPost(feedId)));
+        return ResponseEntity.ok(Response.ok(postDetailReader.getPost(feedId)));
     }
 
     @GetMapping("/feed/user/{feedId}")
     public ResponseEntity<Response<PostLikeResponseDto>> getPostUser(@PathVariable Long feedId){
         Long userId = securityUtils.getCurrentUserInfo().getId();
-        return ResponseEntity.ok(Response.ok(postService.getPostUser(feedId,userId)));
+        return ResponseEntity.ok(Response.ok(postDetailReader.getPostUser(feedId,userId)));
 
     }
 
@@ -62,7 +66,7 @@ public class PostController {
     //게시글 좋아요 순으로 정렬
     @GetMapping("/feed/like")
     public ResponseEntity<Response<List<PostResponseDto>>> getPostOrderByLikes(){
-        List<PostResponseDto> Posts = postService.getPostsOrderByLikes();
+        List<PostResponseDto> Posts = postService.applyLikedByUser(currentUserId(), postService.getPostsOrderByLikes());
         return ResponseEntity.ok(Response.ok(Posts));
     }
 
@@ -70,7 +74,7 @@ public class PostController {
     @GetMapping("/feed/like/category")
     public ResponseEntity<Response<List<PostResponseDto>>> getPostCategoryOrderByLikes(@RequestBody PostRequestDto requestDto){
         String categoryName = requestDto.getCategoryName();
-        List<PostResponseDto> Posts = postService.getPostCategoryOrderByLikes(categoryName);
+        List<PostResponseDto> Posts = postService.applyLikedByUser(currentUserId(), postService.getPostCategoryOrderByLikes(categoryName));
         return ResponseEntity.ok(Response.ok(Posts));
 
     }
@@ -80,7 +84,7 @@ public class PostController {
     @GetMapping("/feed/user")
     public ResponseEntity<Response<List<PostResponseDto>>> getUserPosts() {
         Long userId = securityUtils.getCurrentUserInfo().getId();
-        List<PostResponseDto> userPosts = postService.getUserPost(userId);
+        List<PostResponseDto> userPosts = postService.applyLikedByUser(userId, postService.getUserPost(userId));
         return ResponseEntity.ok(Response.ok(userPosts));
     }
 
@@ -109,13 +113,65 @@ public class PostController {
     @GetMapping("/feed/follow/user")
     public ResponseEntity<Response<List<PostResponseDto>>> userFollowPost(){
         Long userId = securityUtils.getCurrentUserInfo().getId();
-        return ResponseEntity.ok(Response.ok(postService.userFollowPost(userId)));
+        return ResponseEntity.ok(Response.ok(postService.applyLikedByUser(userId, postService.userFollowPost(userId))));
     }
 
     //게시글 전체 보기
     @GetMapping("/feed/all")
     public ResponseEntity<Response<List<PostResponseDto>>> getAllPost(){
-        return ResponseEntity.ok(Response.ok(postService.getAllPost()));
+        return ResponseEntity.ok(Response.ok(postService.applyLikedByUser(currentUserId(), postService.getAllPost())));
     }
 
+    // 커서 기반 피드 목록 : size 파라미터가 있으면 전체 목록 대신 한 페이지와 nextCursor 를 돌려준다.
+    @GetMapping(value = "/feed/all", params = "size")
+    public ResponseEntity<Response<PostSliceDto>> getAllPostPage(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam int size) {
+        return ResponseEntity.ok(Response.ok(withLikedByUser(currentUserId(), postService.getAllPostPage(cursor, size))));
+    }
+
+    @GetMapping(value = "/feed/like", params = "size")
+    public ResponseEntity<Response<PostSliceDto>> getPostOrderByLikesPage(@RequestParam(required = false) String cursor,
+                                                                          @RequestParam int size) {
+        return ResponseEntity.ok(Response.ok(withLikedByUser(currentUserId(), postService.getPostsOrderByLikesPage(cursor, size))));
+    }
+
+    @GetMapping(value = "/feed/like/category", params = "size")
+    public ResponseEntity<Response<PostSliceDto>> getPostCategoryOrderByLikesPage(@RequestParam String categoryName,
+                                                                                  @RequestParam(required = false) String cursor,
+                                                                                  @RequestParam int size) {
+        return ResponseEntity.ok(Response.ok(withLikedByUser(currentUserId(),
+                postService.getPostCategoryOrderByLikesPage(categoryName, cursor, size))));
+    }
+
+    @GetMapping(value = "/feed/user", params = "size")
+    public ResponseEntity<Response<PostSliceDto>> getUserPostsPage(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam int size) {
+        Long userId = securityUtils.getCurrentUserInfo().getId();
+        return ResponseEntity.ok(Response.ok(withLikedByUser(userId, postService.getUserPostPage(userId, cursor, size))));
+    }
+
+    @GetMapping(value = "/feed/like/user", params = "size")
+    public ResponseEntity<Response<PostSliceDto>> userLikePostPage(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam int size) {
+        Long userId = securityUtils.getCurrentUserInfo().getId();
+        return ResponseEntity.ok(Response.ok(postService.userLikePostPage(userId, cursor, size)));
+    }
+
+    @GetMapping(value = "/feed/follow/user", params = "size")
+    public ResponseEntity<Response<PostSliceDto>> userFollowPostPage(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam int size) {
+        Long userId = securityUtils.getCurrentUserInfo().getId();
+        return ResponseEntity.ok(Response.ok(withLikedByUser(userId, postService.userFollowPostPage(userId, cursor, size))));
+    }
+
+    private PostSliceDto withLikedByUser(Long userId, PostSliceDto slice) {
+        postService.applyLikedByUser(userId, slice.getContent());
+        return slice;
+    }
+
+    // 비로그인 요청이면 null
+    private Long currentUserId() {
+        JwtUserDetail currentUserInfo = securityUtils.getCurrentUserInfo();
+        return currentUserInfo == null ? null : currentUserInfo.getId();
+    }
 }
@@ -2,6 +2,7 @@ package goojeans.harulog.post.controller;
 
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.post.domain.dto.response.DailyPostDto;
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
 import goojeans.harulog.post.domain.dto.response.YearlyPostDto;
 import goojeans.harulog.post.service.PostStatisticService;
 import goojeans.harulog.user.util.SecurityUtils;
@@ -37,6 +38,22 @@ public class PostStatisticController {
         return ResponseEntity.ok(response);
     }
 
+    // 압축 응답 : format=compact 이면 카테고리별 하루 한 칸 배열(base64)로 내려준다.
+    @GetMapping(value = "/grow/yearly", params = "format=compact")
+    public ResponseEntity<Response<YearlyHeatmapDto>> getYearlyHeatmap() {
+        Long userId = securityUtils.getCurrentUserInfo().getId();
+        Response<YearlyHeatmapDto> response = postStatisticService.getYearlyHeatmap(userId);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/grow/yearly/{nickname}", params = "format=compact")
+    public ResponseEntity<Response<YearlyHeatmapDto>> getOthersYearlyHeatmap(@PathVariable("nickname") String nickname) {
+        Response<YearlyHeatmapDto> response = postStatisticService.getOthersYearlyHeatmap(nickname);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/grow/daily")
     public ResponseEntity<Response<List<DailyPostDto>>> getDailyStatistics() {
         Long userId = securityUtils.getCurrentUserInfo().getId();
@@ -0,0 +1,18 @@
+package goojeans.harulog.post.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글 id 별 집계 결과 (좋아요 수, 댓글 수)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCountDto {
+
+    private Long postId;
+
+    private Long count;
+}
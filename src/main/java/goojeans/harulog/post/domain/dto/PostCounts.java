@@ -0,0 +1,42 @@
+package goojeans.harulog.post.domain.dto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 게시글의 좋아요 수, 댓글 수를 한 번에 담아두는 객체
+ * 집계 결과에 없는 게시글은 0으로 취급한다.
+ */
+public class PostCounts {
+
+    private final Map<Long, Long> likeCounts;
+    private final Map<Long, Long> commentCounts;
+
+    private PostCounts(Map<Long, Long> likeCounts, Map<Long, Long> commentCounts) {
+        this.likeCounts = likeCounts;
+        this.commentCounts = commentCounts;
+    }
+
+    public static PostCounts of(List<PostCountDto> likeCounts, List<PostCountDto> commentCounts) {
+        return new PostCounts(toMap(likeCounts), toMap(commentCounts));
+    }
+
+    public static PostCounts empty() {
+        return new PostCounts(Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public int getLikeCount(Long postId) {
+        return likeCounts.getOrDefault(postId, 0L).intValue();
+    }
+
+    public int getCommentCount(Long postId) {
+        return commentCounts.getOrDefault(postId, 0L).intValue();
+    }
+
+    private static Map<Long, Long> toMap(List<PostCountDto> counts) {
+        return counts.stream()
+                .collect(Collectors.toMap(PostCountDto::getPostId, PostCountDto::getCount));
+    }
+}
@@ -30,6 +30,7 @@ public class PostLikeResponseDto {
     private int likeCount;
     private int commentCount;
     private List<CommentResponseDto> commentList = new ArrayList<>();
+    private Long commentNextCursor; // 댓글 첫 페이지 이후 조회용 커서 (없으면 null)
 
 
     public PostLikeResponseDto(Post post, List<CommentResponseDto> commentResponseDtos, int commentCount, int likeCount, boolean like) {
@@ -49,4 +50,23 @@ public class PostLikeResponseDto {
         this.likedByUser = like;
     }
 
+    // 캐시된 게시글 상세에 사용자별 좋아요 여부를 더한다.
+    public PostLikeResponseDto(PostResponseDto post, boolean like) {
+        this.id = post.getId();
+        this.content = post.getContent();
+        this.profileImg = post.getProfileImg();
+        this.imgUrl = post.getImgUrl();
+        this.activityTime = post.getActivityTime();
+        this.categoryName = post.getCategoryName();
+        this.nickname = post.getNickname();
+        this.likeCount = post.getLikeCount();
+        this.commentCount = post.getCommentCount();
+        this.createdAt = post.getCreatedAt();
+        this.updateAt = post.getUpdateAt();
+        this.commentList = post.getCommentList();
+        this.commentNextCursor = post.getCommentNextCursor();
+        this.goal = post.getGoal();
+        this.likedByUser = like;
+    }
+
 }
@@ -29,8 +29,10 @@ public class PostResponseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updateAt;
     private List<CommentResponseDto> commentList = new ArrayList<>();
+    private Long commentNextCursor; // 댓글 첫 페이지 이후 조회용 커서 (없으면 null)
     private int likeCount;
     private int commentCount;
+    private Boolean likedByUser; // 로그인한 사용자의 좋아요 여부 (목록 조회용, 비로그인이면 null)
 
     public PostResponseDto(Post post){
         this.id = post.getId();
@@ -0,0 +1,24 @@
+package goojeans.harulog.post.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인기 순위 계산에 필요한 게시글 정보
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostScoreDto {
+
+    private Long postId;
+
+    private Long categoryId;
+
+    private LocalDateTime createdAt;
+
+    private int likeCount;
+}
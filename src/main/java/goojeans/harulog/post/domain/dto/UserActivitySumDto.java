@@ -0,0 +1,28 @@
+package goojeans.harulog.post.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 기간 안의 사용자별 (또는 사용자, 카테고리별) 활동 시간 집계 (합, 최솟값)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivitySumDto {
+
+    private Long userId;
+
+    // 카테고리 하나만 집계한 경우 null
+    private Long categoryId;
+
+    private Long totalActivityTime;
+
+    // 기상 : 가장 일찍 일어난 시각
+    private Integer minActivityTime;
+
+    public UserActivitySumDto(Long userId, Long totalActivityTime, Integer minActivityTime) {
+        this(userId, null, totalActivityTime, minActivityTime);
+    }
+}
@@ -19,6 +19,11 @@ public class DailyPostDto {
 
     private Long achievement;
 
+    // 연속 달성일 (어제나 오늘 달성하지 않았으면 0)
+    private Integer currentStreak;
+
+    private Integer longestStreak;
+
     public void updateAchievement(long achievement) {
         this.achievement = achievement;
     }
@@ -0,0 +1,24 @@
+package goojeans.harulog.post.domain.dto.response;
+
+import goojeans.harulog.post.domain.dto.PostResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서 기반 피드 목록 응답
+ * nextCursor 가 null 이면 마지막 페이지이다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSliceDto {
+
+    private List<PostResponseDto> content;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -0,0 +1,26 @@
+package goojeans.harulog.post.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 연간 통계(잔디밭) 압축 응답
+ * 카테고리마다 startDate 부터 하루 한 칸씩 days 개의 활동 시간을 big-endian short 배열로 묶어 base64 로 내려준다.
+ * 활동이 없는 날은 0 이다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class YearlyHeatmapDto {
+
+    private LocalDate startDate;
+
+    private int days;
+
+    // 카테고리 이름 -> base64(short[days])
+    private Map<String, String> minutes;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Getter
@@ -20,4 +21,11 @@ public class YearlyPostDto {
 
     @NotNull
     private int activityTime;
+
+    // 날짜별 집계 한 줄 (date 는 그날 0시)
+    public YearlyPostDto(LocalDate date, String categoryName, Integer activityTime) {
+        this.date = date.atStartOfDay();
+        this.categoryName = categoryName;
+        this.activityTime = activityTime;
+    }
 }
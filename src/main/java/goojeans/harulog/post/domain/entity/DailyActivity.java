@@ -0,0 +1,57 @@
+package goojeans.harulog.post.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자의 날짜별, 카테고리별 활동 집계 (성장 통계용 rollup)
+ * 게시글 작성 / 수정 / 삭제 때 해당 날짜의 행을 post 에서 다시 집계하고, 전체 재생성 작업으로 post 에서 다시 만들 수 있다.
+ * 대부분 native 쿼리(INSERT ... SELECT)로 채우므로 연관관계 없이 id 만 가진다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "daily_activity",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "daily_activity_uk",
+                        columnNames = {"user_id", "activity_date", "category_id"}
+                )
+        }
+)
+public class DailyActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "daily_activity_id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id")
+    private Long userId;
+
+    @NotNull
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    @NotNull
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    // 그날 게시글 활동 시간 합
+    private int totalActivityTime;
+
+    private int postCount;
+
+    // 기상 : 목표 시각 이전에 일어난 게시글이 있으면 달성, 그 외 : 활동 시간 합이 목표 이상이면 달성
+    private boolean goalMet;
+}
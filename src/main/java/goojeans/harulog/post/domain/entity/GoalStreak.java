@@ -0,0 +1,128 @@
+package goojeans.harulog.post.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 사용자의 카테고리별 목표 달성 기록 (성공일 수, 연속 달성일)
+ * 목표를 설정(변경)한 날(sinceDate)부터 날짜별 집계(daily_activity)의 goalMet 을 센다.
+ * 새 날짜의 결과는 그 자리에서 더하고, 이미 센 날짜의 결과가 달성 -> 미달성으로 바뀌거나 지난 날짜가 바뀌면
+ * sinceDate 이후의 집계로 다시 계산한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "goal_streak",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "goal_streak_uk",
+                        columnNames = {"user_id", "category_id"}
+                )
+        }
+)
+public class GoalStreak {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "goal_streak_id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id")
+    private Long userId;
+
+    @NotNull
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    // 목표를 설정(변경)한 날. 이 날부터 센다.
+    @NotNull
+    private LocalDate sinceDate;
+
+    private int successDays;
+
+    // lastSuccessDate 로 끝나는 연속 달성일
+    private int currentStreak;
+
+    private int longestStreak;
+
+    private LocalDate lastSuccessDate;
+
+    // 결과를 반영한 마지막 날짜
+    private LocalDate lastEvaluatedDate;
+
+    public static GoalStreak of(Long userId, Long categoryId, LocalDate sinceDate) {
+        return GoalStreak.builder()
+                .userId(userId)
+                .categoryId(categoryId)
+                .sinceDate(sinceDate)
+                .build();
+    }
+
+    /**
+     * 하루의 달성 여부를 반영한다.
+     * 그 자리에서 반영할 수 없는 경우(지난 날짜가 바뀌었거나 이미 센 달성이 취소된 경우) false 를 돌려주고,
+     * 이때는 recompute 로 다시 계산해야 한다.
+     */
+    public boolean apply(LocalDate date, boolean goalMet) {
+        if (date.isBefore(sinceDate)) {
+            return true;
+        }
+        if (lastEvaluatedDate != null && date.isBefore(lastEvaluatedDate)) {
+            return false;
+        }
+
+        boolean wasMet = date.equals(lastSuccessDate);
+        if (wasMet == goalMet) {
+            lastEvaluatedDate = date;
+            return true;
+        }
+        if (!goalMet) {
+            return false;
+        }
+
+        currentStreak = date.minusDays(1).equals(lastSuccessDate) ? currentStreak + 1 : 1;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        successDays++;
+        lastSuccessDate = date;
+        lastEvaluatedDate = date;
+        return true;
+    }
+
+    // sinceDate 이후 달성한 날짜(오름차순)로 처음부터 다시 계산한다.
+    public void recompute(List<LocalDate> successDates, LocalDate today) {
+        successDays = 0;
+        currentStreak = 0;
+        longestStreak = 0;
+        lastSuccessDate = null;
+        lastEvaluatedDate = null;
+
+        successDates.forEach(date -> apply(date, true));
+        if (lastEvaluatedDate == null || lastEvaluatedDate.isBefore(today)) {
+            lastEvaluatedDate = today;
+        }
+    }
+
+    // 목표가 바뀌면 바뀐 날부터 다시 센다.
+    public void reset(LocalDate sinceDate) {
+        this.sinceDate = sinceDate;
+    }
+
+    // 어제나 오늘 달성하지 않았으면 연속 기록은 끊긴 상태
+    public int getCurrentStreak(LocalDate today) {
+        if (lastSuccessDate == null || lastSuccessDate.isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return currentStreak;
+    }
+}
@@ -10,6 +10,7 @@ import goojeans.harulog.user.domain.entity.Users;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -21,7 +22,14 @@ import java.util.List;
 @Builder
 @SQLDelete(sql = "UPDATE post SET active_status = 'DELETED' WHERE post_id = ? AND active_status <> 'DELETED'")
 @SQLRestriction("active_status <> 'DELETED'")
+@DynamicUpdate
 @Entity(name = "post")
+@Table(indexes = {
+        @Index(name = "idx_post_like_count", columnList = "like_count, post_id"),
+        @Index(name = "idx_post_category_like_count", columnList = "category_id, like_count, post_id"),
+        @Index(name = "idx_post_created_at", columnList = "created_at, post_id"),
+        @Index(name = "idx_post_user_created_at", columnList = "user_id, created_at, post_id")
+})
 public class Post extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -54,6 +62,16 @@ public class Post extends BaseEntity {
 
     private String imgUrl;
 
+    // 좋아요 수, 댓글 수 (likes, comment 테이블 집계 결과를 반정규화)
+    // 엔티티 변경으로는 덮어쓰지 않고 PostRepository 의 상대 UPDATE 로만 변경한다.
+    @Builder.Default
+    @Column(nullable = false)
+    private int likeCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int commentCount = 0;
+
     public void addUser(Users user) {
         if (this.user != user) {
             this.user = user;
@@ -0,0 +1,60 @@
+package goojeans.harulog.post.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 팔로우 피드용 타임라인 (fan-out-on-write)
+ * 게시글이 작성될 때 작성자의 팔로워마다 한 줄씩 미리 넣어둔다.
+ * 대부분 native 쿼리(INSERT ... SELECT)로 채우므로 연관관계 없이 id 만 가진다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "timeline",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "timeline_uk",
+                        columnNames = {"user_id", "post_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_timeline_user_created_at", columnList = "user_id, post_created_at, post_id"),
+                @Index(name = "idx_timeline_user_author", columnList = "user_id, author_id"),
+                @Index(name = "idx_timeline_post", columnList = "post_id")
+        }
+)
+public class Timeline {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "timeline_id")
+    private Long id;
+
+    // 타임라인 주인 (팔로워)
+    @NotNull
+    @Column(name = "user_id")
+    private Long userId;
+
+    @NotNull
+    @Column(name = "post_id")
+    private Long postId;
+
+    // 게시글 작성자 (팔로잉)
+    @NotNull
+    @Column(name = "author_id")
+    private Long authorId;
+
+    @NotNull
+    @Column(name = "post_created_at")
+    private LocalDateTime postCreatedAt;
+}
@@ -0,0 +1,25 @@
+package goojeans.harulog.post.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자의 날짜별 활동 집계 변경 이벤트 (게시글 작성 / 수정 / 삭제, 집계 재생성)
+ */
+@Getter
+@AllArgsConstructor
+public class DailyActivityChangedEvent {
+
+    private Long userId;
+
+    // 집계 재생성처럼 여러 날짜가 한 번에 바뀐 경우 null
+    private Long categoryId;
+
+    private LocalDate activityDate;
+
+    public DailyActivityChangedEvent(Long userId) {
+        this(userId, null, null);
+    }
+}
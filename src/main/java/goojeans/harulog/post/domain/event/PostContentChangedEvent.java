@@ -0,0 +1,14 @@
+package goojeans.harulog.post.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 상세 내용 변경 이벤트 (본문, 이미지 수정, 댓글 작성 / 수정 / 삭제)
+ */
+@Getter
+@AllArgsConstructor
+public class PostContentChangedEvent {
+
+    private Long postId;
+}
@@ -0,0 +1,14 @@
+package goojeans.harulog.post.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 삭제 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class PostDeletedEvent {
+
+    private Long postId;
+}
@@ -0,0 +1,23 @@
+package goojeans.harulog.post.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 인기 점수 변경 이벤트 (게시글 작성, 좋아요, 좋아요 취소)
+ * likeCount 는 변경 후의 절대값이라 같은 이벤트를 여러 번 적용해도 결과가 같다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostScoreChangedEvent {
+
+    private Long postId;
+
+    private Long categoryId;
+
+    private LocalDateTime createdAt;
+
+    private int likeCount;
+}
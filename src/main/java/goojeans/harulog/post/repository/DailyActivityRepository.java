@@ -0,0 +1,78 @@
+package goojeans.harulog.post.repository;
+
+import goojeans.harulog.post.domain.entity.DailyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyActivityRepository extends JpaRepository<DailyActivity, Long> {
+
+    String AGGREGATE_SELECT =
+            "SELECT p.user_id, CAST(p.created_at AS DATE), p.category_id, SUM(p.activity_time), COUNT(*), " +
+            "CASE WHEN c.category_name = '기상' THEN MIN(p.activity_time - p.goal) <= 0 " +
+            "ELSE SUM(p.activity_time) >= MAX(p.goal) END " +
+            "FROM post p JOIN category c ON c.category_id = p.category_id " +
+            "WHERE p.active_status <> 'DELETED' ";
+
+    String AGGREGATE_GROUP_BY = "GROUP BY p.user_id, CAST(p.created_at AS DATE), p.category_id, c.category_name";
+
+    String INSERT_INTO =
+            "INSERT INTO daily_activity(user_id, activity_date, category_id, total_activity_time, post_count, goal_met) ";
+
+    /**
+     * 하루치 집계 (게시글 작성 / 수정 / 삭제 직후, 영속성 컨텍스트의 변경을 먼저 반영)
+     * DELETE 없이 한 문장으로 덮어써서 같은 날 동시에 갱신해도 중복 키나 gap lock 교착이 생기지 않는다.
+     * 게시글이 모두 지워진 날도 한 줄이 나오도록 GROUP BY 없이 집계한다. (0 건인 줄은 deleteEmptyDay 로 지운다)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_INTO +
+            "SELECT :userId, :date, :categoryId, COALESCE(SUM(p.activity_time), 0), COUNT(p.post_id), " +
+            "COALESCE(CASE WHEN MAX(c.category_name) = '기상' THEN MIN(p.activity_time - p.goal) <= 0 " +
+            "ELSE SUM(p.activity_time) >= MAX(p.goal) END, FALSE) " +
+            "FROM post p JOIN category c ON c.category_id = p.category_id " +
+            "WHERE p.active_status <> 'DELETED' " +
+            "AND p.user_id = :userId AND p.category_id = :categoryId AND p.created_at >= :from AND p.created_at < :to " +
+            "ON DUPLICATE KEY UPDATE total_activity_time = VALUES(total_activity_time), " +
+            "post_count = VALUES(post_count), goal_met = VALUES(goal_met)", nativeQuery = true)
+    int upsertDay(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("categoryId") Long categoryId,
+                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // upsertDay 가 방금 잠근 줄만 지운다. (없는 범위를 지우지 않으므로 gap lock 이 생기지 않는다)
+    @Modifying
+    @Query(value = "DELETE FROM daily_activity " +
+            "WHERE user_id = :userId AND activity_date = :date AND category_id = :categoryId AND post_count = 0",
+            nativeQuery = true)
+    int deleteEmptyDay(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("categoryId") Long categoryId);
+
+    // 전체 재생성 (사용자 단위)
+    @Modifying
+    @Query(value = "DELETE FROM daily_activity WHERE user_id IN :userIds", nativeQuery = true)
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = INSERT_INTO + AGGREGATE_SELECT + "AND p.user_id IN :userIds " + AGGREGATE_GROUP_BY, nativeQuery = true)
+    int aggregateUsers(@Param("userIds") Collection<Long> userIds);
+
+    @Query(value = "SELECT DISTINCT p.user_id FROM post p WHERE p.user_id > :lastUserId ORDER BY p.user_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findPostUserIdsAfter(@Param("lastUserId") Long lastUserId, @Param("limit") int limit);
+
+    List<DailyActivity> findByUserIdAndActivityDate(Long userId, LocalDate activityDate);
+
+    @Query("SELECT d.goalMet FROM DailyActivity d WHERE d.userId = :userId AND d.activityDate = :date AND d.categoryId = :categoryId")
+    Optional<Boolean> findGoalMet(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("categoryId") Long categoryId);
+
+    // 연속 달성 기록 재계산용 : 목표 설정일 이후 달성한 날짜
+    @Query("SELECT d.activityDate FROM DailyActivity d " +
+            "WHERE d.userId = :userId AND d.categoryId = :categoryId AND d.goalMet = true AND d.activityDate >= :since " +
+            "ORDER BY d.activityDate")
+    List<LocalDate> findGoalMetDates(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                                     @Param("since") LocalDate since);
+}
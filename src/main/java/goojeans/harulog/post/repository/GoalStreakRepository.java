@@ -0,0 +1,35 @@
+package goojeans.harulog.post.repository;
+
+import goojeans.harulog.post.domain.entity.GoalStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface GoalStreakRepository extends JpaRepository<GoalStreak, Long> {
+
+    Optional<GoalStreak> findByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    List<GoalStreak> findByUserId(Long userId);
+
+    List<GoalStreak> findByUserIdIn(Collection<Long> userIds);
+
+    // 같은 기록을 동시에 갱신하지 않도록 쓰기 락을 잡고 조회 (다른 트랜잭션이 방금 만든 기록도 보인다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM GoalStreak g WHERE g.userId = :userId AND g.categoryId = :categoryId")
+    Optional<GoalStreak> findForUpdate(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    // 기록이 없을 때만 빈 기록을 만든다. (처음 만드는 요청이 겹쳐도 unique 제약 위반이 나지 않는다)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO goal_streak(user_id, category_id, since_date, success_days, current_streak, longest_streak) " +
+            "VALUES (:userId, :categoryId, :sinceDate, 0, 0, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                       @Param("sinceDate") LocalDate sinceDate);
+}
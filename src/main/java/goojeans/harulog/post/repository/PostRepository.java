@@ -1,32 +1,43 @@
 package goojeans.harulog.post.repository;
 
+import goojeans.harulog.post.domain.dto.PostScoreDto;
+import goojeans.harulog.post.domain.dto.UserActivitySumDto;
 import goojeans.harulog.post.domain.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post,Long> {
+    @EntityGraph(attributePaths = {"user", "category"})
     List<Post> findByUserId(Long userId);
 
-    @Query("SELECT p FROM post p LEFT JOIN likes l ON p.id = l.post.id GROUP BY p.id ORDER BY COUNT(l.id) DESC")
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p ORDER BY p.likeCount DESC, p.id DESC")
     List<Post> findPostsOrderByLikes();
 
-    @Query("SELECT p FROM post p LEFT JOIN p.likes l WHERE p.category.categoryId = :categoryId GROUP BY p.id ORDER BY COUNT(l.id) DESC")
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p WHERE p.category.categoryId = :categoryId ORDER BY p.likeCount DESC, p.id DESC")
     List<Post> findPostsByCategoryOrderByLikes(@Param("categoryId") Long categoryId);
 
     @Query("select p from post p where p.user.id =:userId and p.createdAt >= :today")
     List<Post> findByUserIdAndToday(@Param("userId") Long userId, @Param("today") LocalDateTime today);
 
+    @EntityGraph(attributePaths = {"user", "category"})
     @Query("SELECT p FROM post p LEFT JOIN p.likes l WHERE l.user.id = :userId ORDER BY p.createdAt DESC")
     List<Post> findPostsByUserOrderByCreatedAtDesc(@Param("userId") Long userId);
 
+    @EntityGraph(attributePaths = {"user", "category"})
     @Query("SELECT p FROM post p " +
             "JOIN Follow f ON p.user.id = f.following.id " +
             "WHERE f.follower.id = :userId " +
@@ -36,6 +47,162 @@ public interface PostRepository extends JpaRepository<Post,Long> {
     @Query("select p from post p join fetch p.category join fetch p.user")
     Page<Post> findAllWithCategoryAndUser(Pageable pageable);
 
-}
+    @Query("select p from post p join fetch p.category join fetch p.user")
+    List<Post> findAllWithCategoryAndUser();
+
+    // keyset 페이지네이션 : (정렬 키, id) 커서보다 뒤에 있는 게시글을 pageable 크기만큼 조회
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageOrderByCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p " +
+            "WHERE p.likeCount < :likeCount OR (p.likeCount = :likeCount AND p.id < :id) " +
+            "ORDER BY p.likeCount DESC, p.id DESC")
+    List<Post> findPageOrderByLikes(@Param("likeCount") int likeCount, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p " +
+            "WHERE p.category.categoryId = :categoryId " +
+            "AND (p.likeCount < :likeCount OR (p.likeCount = :likeCount AND p.id < :id)) " +
+            "ORDER BY p.likeCount DESC, p.id DESC")
+    List<Post> findPageByCategoryOrderByLikes(@Param("categoryId") Long categoryId,
+                                              @Param("likeCount") int likeCount, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p " +
+            "WHERE p.user.id = :userId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByUserId(@Param("userId") Long userId,
+                                @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p JOIN p.likes l " +
+            "WHERE l.user.id = :userId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageLikedByUser(@Param("userId") Long userId,
+                                   @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p " +
+            "JOIN Follow f ON p.user.id = f.following.id " +
+            "WHERE f.follower.id = :userId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByFollowers(@Param("userId") Long userId,
+                                   @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p " +
+            "WHERE p.user.id IN :userIds " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByUserIds(@Param("userIds") Collection<Long> userIds,
+                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // 미리 채워둔 타임라인 기준으로 팔로우 피드 조회
+    @EntityGraph(attributePaths = {"user", "category"})
+    @Query("SELECT p FROM post p JOIN Timeline t ON t.postId = p.id " +
+            "WHERE t.userId = :userId " +
+            "AND (t.postCreatedAt < :createdAt OR (t.postCreatedAt = :createdAt AND t.postId < :id)) " +
+            "ORDER BY t.postCreatedAt DESC, t.postId DESC")
+    List<Post> findTimelinePage(@Param("userId") Long userId,
+                                @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"user", "category"})
+    List<Post> findByIdIn(Collection<Long> ids);
 
+    // 게시글 상세 : 작성자, 카테고리 함께 조회
+    @EntityGraph(attributePaths = {"user", "category"})
+    Optional<Post> findDetailById(Long id);
+
+    // 인기 순위 계산용 게시글 정보
+    @Query("SELECT new goojeans.harulog.post.domain.dto.PostScoreDto(p.id, p.category.categoryId, p.createdAt, p.likeCount) " +
+            "FROM post p WHERE p.id = :postId")
+    Optional<PostScoreDto> findScoreById(@Param("postId") Long postId);
+
+    @Query("SELECT new goojeans.harulog.post.domain.dto.PostScoreDto(p.id, p.category.categoryId, p.createdAt, p.likeCount) " +
+            "FROM post p WHERE p.id > :lastId ORDER BY p.id ASC")
+    List<PostScoreDto> findScoreChunkAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 인기 순위표 빈자리 채우기 : (likeCount, id) 다음부터 좋아요 순
+    @Query("SELECT new goojeans.harulog.post.domain.dto.PostScoreDto(p.id, p.category.categoryId, p.createdAt, p.likeCount) " +
+            "FROM post p WHERE p.likeCount < :likeCount OR (p.likeCount = :likeCount AND p.id < :id) " +
+            "ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostScoreDto> findScorePageOrderByLikes(@Param("likeCount") int likeCount, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT new goojeans.harulog.post.domain.dto.PostScoreDto(p.id, p.category.categoryId, p.createdAt, p.likeCount) " +
+            "FROM post p WHERE p.category.categoryId = :categoryId " +
+            "AND (p.likeCount < :likeCount OR (p.likeCount = :likeCount AND p.id < :id)) " +
+            "ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostScoreDto> findScorePageByCategoryOrderByLikes(@Param("categoryId") Long categoryId,
+                                                           @Param("likeCount") int likeCount, @Param("id") Long id,
+                                                           Pageable pageable);
+
+    // 챌린지 참여자들의 기간 안 활동 시간을 사용자별로 한 번에 집계
+    @Query("SELECT new goojeans.harulog.post.domain.dto.UserActivitySumDto(p.user.id, SUM(p.activityTime), MIN(p.activityTime)) " +
+            "FROM post p " +
+            "WHERE p.user.id IN :userIds AND p.category.categoryId = :categoryId " +
+            "AND p.createdAt >= :from AND p.createdAt < :to " +
+            "GROUP BY p.user.id")
+    List<UserActivitySumDto> sumActivityByUsers(@Param("userIds") Collection<Long> userIds, @Param("categoryId") Long categoryId,
+                                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 챌린지 결과 기록용 : 여러 챌린지 참여자들의 하루 활동 시간을 (사용자, 카테고리)별로 한 번에 집계
+    @Query("SELECT new goojeans.harulog.post.domain.dto.UserActivitySumDto(p.user.id, p.category.categoryId, SUM(p.activityTime), MIN(p.activityTime)) " +
+            "FROM post p " +
+            "WHERE p.user.id IN :userIds AND p.category.categoryId IN :categoryIds " +
+            "AND p.createdAt >= :from AND p.createdAt < :to " +
+            "GROUP BY p.user.id, p.category.categoryId")
+    List<UserActivitySumDto> sumActivityByUsersAndCategories(@Param("userIds") Collection<Long> userIds,
+                                                             @Param("categoryIds") Collection<Long> categoryIds,
+                                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 기상 챌린지 순위용 : 기간 안에 가장 이른 기상 시각이 목표 이하였던 날 수를 사용자별로 집계
+    @Query(value = "SELECT t.user_id AS userId, COUNT(*) AS successDays FROM (" +
+            "SELECT p.user_id FROM post p " +
+            "WHERE p.active_status <> 'DELETED' AND p.user_id IN :userIds AND p.category_id = :categoryId " +
+            "AND p.created_at >= :from AND p.created_at < :to " +
+            "GROUP BY p.user_id, CAST(p.created_at AS DATE) HAVING MIN(p.activity_time) <= :goal) t " +
+            "GROUP BY t.user_id", nativeQuery = true)
+    List<UserSuccessDays> countWakeUpSuccessDaysByUsers(@Param("userIds") Collection<Long> userIds, @Param("categoryId") Long categoryId,
+                                                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                        @Param("goal") int goal);
+
+    // 좋아요 수, 댓글 수는 읽고 쓰지 않고 DB 에서 상대값으로 갱신 (0 아래로는 내려가지 않게)
+    @Modifying
+    @Query("UPDATE post p SET p.likeCount = CASE WHEN p.likeCount + :delta < 0 THEN 0 ELSE p.likeCount + :delta END " +
+            "WHERE p.id = :postId")
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE post p SET p.commentCount = CASE WHEN p.commentCount + :delta < 0 THEN 0 ELSE p.commentCount + :delta END " +
+            "WHERE p.id = :postId")
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Query("SELECT p.likeCount FROM post p WHERE p.id = :postId")
+    Optional<Integer> findLikeCountById(@Param("postId") Long postId);
+
+    @Query("SELECT p FROM post p WHERE p.id > :lastId ORDER BY p.id ASC")
+    List<Post> findChunkAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 보정 중 다른 트랜잭션이 값을 바꿨다면 덮어쓰지 않는다.
+    @Modifying
+    @Query("UPDATE post p SET p.likeCount = :likeCount, p.commentCount = :commentCount " +
+            "WHERE p.id = :postId AND p.likeCount = :oldLikeCount AND p.commentCount = :oldCommentCount")
+    int reconcileCounts(@Param("postId") Long postId,
+                        @Param("oldLikeCount") int oldLikeCount, @Param("oldCommentCount") int oldCommentCount,
+                        @Param("likeCount") int likeCount, @Param("commentCount") int commentCount);
+
+
+    interface UserSuccessDays {
+
+        Long getUserId();
+
+        Long getSuccessDays();
+    }
+}
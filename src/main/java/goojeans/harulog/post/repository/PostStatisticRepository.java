@@ -2,14 +2,17 @@ package goojeans.harulog.post.repository;
 
 import goojeans.harulog.post.domain.dto.response.DailyPostDto;
 import goojeans.harulog.post.domain.dto.response.YearlyPostDto;
+import goojeans.harulog.post.domain.entity.GoalStreak;
+import goojeans.harulog.user.domain.entity.UserGoal;
 
 import java.util.List;
+import java.util.Map;
 
 public interface PostStatisticRepository {
 
     //사용자의 1년 포스트 통계(잔디밭)
     public List<YearlyPostDto> findYearlyPost(Long userId);
 
-    //사용자의 하루 통계
-    public List<DailyPostDto> findDailyPost(Long userId);
+    //사용자의 하루 통계 (목표 달성 기록은 카테고리 id 별로 넘겨받는다)
+    public List<DailyPostDto> findDailyPost(Long userId, List<UserGoal> userGoals, Map<Long, GoalStreak> streaks);
 }
@@ -5,9 +5,8 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import goojeans.harulog.category.domain.entity.QCategory;
 import goojeans.harulog.post.domain.dto.response.DailyPostDto;
 import goojeans.harulog.post.domain.dto.response.YearlyPostDto;
-import goojeans.harulog.post.domain.entity.Post;
-import goojeans.harulog.post.domain.entity.QPost;
-import goojeans.harulog.user.domain.entity.QUserGoal;
+import goojeans.harulog.post.domain.entity.GoalStreak;
+import goojeans.harulog.post.domain.entity.QDailyActivity;
 import goojeans.harulog.user.domain.entity.UserGoal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -25,100 +24,87 @@ public class PostStatisticRepositoryImpl implements PostStatisticRepository {
 
     private final JPAQueryFactory queryFactory;
 
+    // 게시글 대신 날짜별 집계(daily_activity)를 읽는다. 사용자당 최대 365 x 카테고리 수 만큼의 행
     public List<YearlyPostDto> findYearlyPost(Long userId) {
 
         LocalDate oneYearAgo = LocalDate.now().minusYears(1);
 
-        QPost post = QPost.post;
+        QDailyActivity dailyActivity = QDailyActivity.dailyActivity;
         QCategory category = QCategory.category;
 
         return queryFactory.select(Projections.constructor(YearlyPostDto.class,
-                        post.createdAt.as("date"),
-                        category.categoryName.as("categoryName"),
-                        post.activityTime
+                        dailyActivity.activityDate,
+                        category.categoryName,
+                        dailyActivity.totalActivityTime
                 ))
-                .from(post)
-                .join(post.category, category)
-                .where(post.createdAt.goe(oneYearAgo.atStartOfDay())
-                        .and(post.user.id.eq(userId)))
+                .from(dailyActivity)
+                .join(category).on(category.categoryId.eq(dailyActivity.categoryId))
+                .where(dailyActivity.userId.eq(userId)
+                        .and(dailyActivity.activityDate.goe(oneYearAgo)))
+                .orderBy(dailyActivity.activityDate.asc())
                 .fetch();
     }
 
     @Override
-    public List<DailyPostDto> findDailyPost(Long userId) {
-
-        QPost Qpost = QPost.post;
-        QUserGoal QuserGoal = QUserGoal.userGoal;
-
-        //userGoal 불러오기
-        Map<String, UserGoal> userGoalMap = queryFactory
-                .select(QuserGoal)
-                .from(QuserGoal)
-                .where(QuserGoal.user.id.eq(userId))
+    public List<DailyPostDto> findDailyPost(Long userId, List<UserGoal> userGoals, Map<Long, GoalStreak> streaks) {
+
+        //오늘의 카테고리별 활동 시간 (날짜별 집계에서 조회)
+        QDailyActivity QdailyActivity = QDailyActivity.dailyActivity;
+        QCategory Qcategory = QCategory.category;
+        Map<String, Integer> todayActivityTimes = queryFactory
+                .select(Qcategory.categoryName, QdailyActivity.totalActivityTime)
+                .from(QdailyActivity)
+                .join(Qcategory).on(Qcategory.categoryId.eq(QdailyActivity.categoryId))
+                .where(QdailyActivity.userId.eq(userId)
+                        .and(QdailyActivity.activityDate.eq(LocalDate.now())))
                 .fetch()
                 .stream()
                 .collect(Collectors.toMap(
-                        userGoal -> userGoal.getCategory().getCategoryName(),
-                        userGoal -> userGoal
+                        tuple -> tuple.get(Qcategory.categoryName),
+                        tuple -> tuple.get(QdailyActivity.totalActivityTime)
                 ));
 
-        //오늘 올린 포스트
-        List<Post> todayPosts = queryFactory.select(Qpost)
-                .from(Qpost)
-                .where(Qpost.user.id.eq(userId)
-                        .and(Qpost.createdAt.goe(LocalDate.now().atStartOfDay())))
-                .fetch();
-
+        LocalDate today = LocalDate.now();
         List<DailyPostDto> dailyPostDtoList = new ArrayList<>();
 
-        //기상 카테고리인 경우, 목표를 새로 업데이트 한 날짜부터 오늘까지 성공일 수 계산
-        long wakeUpSuccessDays = 0;
-        UserGoal wakeupGoal = userGoalMap.get("기상");
-
-
-        List<Post> wakeupPosts = queryFactory.select(Qpost)
-                .from(Qpost)
-                .where(Qpost.user.id.eq(userId)
-                        .and(Qpost.category.categoryName.eq("기상"))
-                        .and(Qpost.createdAt.goe(wakeupGoal.getUpdatedAt().toLocalDate().atStartOfDay())))
-                .fetch();
-
-            wakeUpSuccessDays = wakeupPosts.stream()
-                    .filter(post -> post.getActivityTime() <= wakeupGoal.getGoal())
-                    .count();
-
-            dailyPostDtoList.add(new DailyPostDto(
-                    "기상",
-                    ChronoUnit.DAYS.between(wakeupGoal.getUpdatedAt().toLocalDate(), LocalDate.now().plusDays(1)),
-                    wakeupGoal.getUpdatedAt(),
-                    wakeUpSuccessDays
-            ));
-
-        //기상 제외 다른 카테고리 처리
-        userGoalMap.forEach((categoryName, userGoal) -> {
-            if (!categoryName.equals("기상")) {
-                dailyPostDtoList.add(new DailyPostDto(
-                        categoryName,
-                        (long) userGoal.getGoal(),
-                        userGoal.getUpdatedAt(),
-                        0L // 초기 달성치는 0으로 설정
-                ));
-            }
-        });
-
-        //해당 카테고리 이름을 가진 DailyPostDto 객체를 찾아 달성치를 업데이트
-        todayPosts.stream()
-                .filter(post -> !post.getCategory().getCategoryName().equals("기상"))
-                .collect(Collectors.groupingBy(post -> post.getCategory().getCategoryName()))
-                .forEach((categoryName, posts) -> {
-                    Long achievement = (long) posts.stream().mapToInt(Post::getActivityTime).sum();
+        //기상 카테고리인 경우, 목표를 새로 설정한 날부터 오늘까지의 일 수와 성공일 수 (기상 목표가 없으면 생략)
+        userGoals.stream()
+                .filter(userGoal -> userGoal.getCategory().getCategoryName().equals("기상"))
+                .findAny()
+                .ifPresent(wakeupGoal -> {
+                    GoalStreak streak = streakOf(wakeupGoal, streaks);
+                    dailyPostDtoList.add(new DailyPostDto(
+                            "기상",
+                            ChronoUnit.DAYS.between(streak.getSinceDate(), today.plusDays(1)),
+                            wakeupGoal.getUpdatedAt(),
+                            (long) streak.getSuccessDays(),
+                            streak.getCurrentStreak(today),
+                            streak.getLongestStreak()
+                    ));
+                });
 
-                    dailyPostDtoList.stream()
-                            .filter(dailyPostDto -> dailyPostDto.getCategoryName().equals(categoryName))
-                            .findFirst()
-                            .ifPresent(dailyPostDto -> dailyPostDto.updateAchievement(achievement));
+        //기상 제외 다른 카테고리는 오늘의 활동 시간이 달성치
+        userGoals.stream()
+                .filter(userGoal -> !userGoal.getCategory().getCategoryName().equals("기상"))
+                .forEach(userGoal -> {
+                    String categoryName = userGoal.getCategory().getCategoryName();
+                    GoalStreak streak = streakOf(userGoal, streaks);
+                    dailyPostDtoList.add(new DailyPostDto(
+                            categoryName,
+                            (long) userGoal.getGoal(),
+                            userGoal.getUpdatedAt(),
+                            (long) todayActivityTimes.getOrDefault(categoryName, 0),
+                            streak.getCurrentStreak(today),
+                            streak.getLongestStreak()
+                    ));
                 });
 
         return dailyPostDtoList;
     }
+
+    // 기록이 아직 없으면 빈 기록으로 본다.
+    private GoalStreak streakOf(UserGoal userGoal, Map<Long, GoalStreak> streaks) {
+        Long categoryId = userGoal.getCategory().getCategoryId();
+        return streaks.getOrDefault(categoryId, GoalStreak.of(userGoal.getUser().getId(), categoryId, LocalDate.now()));
+    }
 }
@@ -0,0 +1,73 @@
+package goojeans.harulog.post.repository;
+
+import goojeans.harulog.post.domain.entity.Timeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TimelineRepository extends JpaRepository<Timeline, Long> {
+
+    boolean existsByUserId(Long userId);
+
+    // 작성자의 모든 팔로워 타임라인에 게시글을 한 번에 추가
+    @Modifying
+    @Query(value = "INSERT INTO timeline(user_id, post_id, author_id, post_created_at) " +
+            "SELECT f.follower_id, :postId, :authorId, :createdAt FROM follow f WHERE f.following_id = :authorId",
+            nativeQuery = true)
+    int fanOut(@Param("postId") Long postId, @Param("authorId") Long authorId, @Param("createdAt") LocalDateTime createdAt);
+
+    // 새로 팔로우한 사람의 최근 게시글을 타임라인에 채워넣기
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline(user_id, post_id, author_id, post_created_at) " +
+            "SELECT :followerId, p.post_id, p.user_id, p.created_at FROM post p " +
+            "WHERE p.user_id = :followingId AND p.active_status <> 'DELETED' " +
+            "ORDER BY p.created_at DESC, p.post_id DESC LIMIT :limit",
+            nativeQuery = true)
+    int backfill(@Param("followerId") Long followerId, @Param("followingId") Long followingId, @Param("limit") int limit);
+
+    // 팔로워가 기준 아래로 줄어든 계정의 최근 게시글을 모든 팔로워 타임라인에 채워넣기
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline(user_id, post_id, author_id, post_created_at) " +
+            "SELECT f.follower_id, p.post_id, p.user_id, p.created_at FROM follow f " +
+            "JOIN (SELECT post_id, user_id, created_at FROM post " +
+            "WHERE user_id = :authorId AND active_status <> 'DELETED' " +
+            "ORDER BY created_at DESC, post_id DESC LIMIT :limit) p ON p.user_id = f.following_id " +
+            "WHERE f.following_id = :authorId",
+            nativeQuery = true)
+    int backfillFollowers(@Param("authorId") Long authorId, @Param("limit") int limit);
+
+    /**
+     * (followerId, followingId) 이후의 팔로우 중 타임라인을 채워야 하는 팔로우 : 팔로우 키 순으로 limit 개
+     * 상대방이 startedAt 이전에 쓴 게시글이 있는데, 타임라인에는 startedAt 이전 게시글이 하나도 없는 팔로우
+     */
+    @Query(value = "SELECT f.follower_id AS followerId, f.following_id AS followingId FROM follow f " +
+            "WHERE (f.follower_id > :followerId OR (f.follower_id = :followerId AND f.following_id > :followingId)) " +
+            "AND EXISTS (SELECT 1 FROM post p WHERE p.user_id = f.following_id AND p.active_status <> 'DELETED' " +
+            "AND p.created_at < :startedAt) " +
+            "AND NOT EXISTS (SELECT 1 FROM timeline t WHERE t.user_id = f.follower_id AND t.author_id = f.following_id " +
+            "AND t.post_created_at < :startedAt) " +
+            "ORDER BY f.follower_id, f.following_id LIMIT :limit",
+            nativeQuery = true)
+    List<FollowKey> findFollowsWithoutTimeline(@Param("followerId") Long followerId, @Param("followingId") Long followingId,
+                                               @Param("startedAt") LocalDateTime startedAt, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM Timeline t WHERE t.userId = :followerId AND t.authorId = :followingId")
+    int deleteByFollow(@Param("followerId") Long followerId, @Param("followingId") Long followingId);
+
+    @Modifying
+    @Query("DELETE FROM Timeline t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    interface FollowKey {
+        Long getFollowerId();
+
+        Long getFollowingId();
+    }
+}
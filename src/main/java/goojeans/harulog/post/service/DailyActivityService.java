@@ -0,0 +1,128 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.domain.event.DailyActivityChangedEvent;
+import goojeans.harulog.post.repository.DailyActivityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 날짜별 활동 집계(daily_activity) 관리
+ * 게시글이 바뀌면 커밋된 뒤 새 트랜잭션에서 그 게시글의 (사용자, 날짜, 카테고리) 한 줄만 post 에서 다시 집계한다.
+ * (게시글 트랜잭션 안에서 집계하면 집계 쿼리가 읽는 게시글 행을 잠가서, 같은 사용자가 동시에 쓴 게시글끼리 서로를 기다린다)
+ * 재생성 작업은 사용자 단위 chunk 로 나눠서 집계를 처음부터 다시 만든다. 집계가 비어 있으면 서버 시작 시에도 한 번 만든다.
+ * 집계가 바뀌면 목표 달성 기록(GoalStreak)도 같이 반영한다.
+ */
+@Slf4j
+@Service
+public class DailyActivityService {
+
+    private static final int REBUILD_CHUNK_SIZE = 100;
+
+    private final DailyActivityRepository dailyActivityRepository;
+    private final GoalStreakService goalStreakService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate refreshTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DailyActivityService(DailyActivityRepository dailyActivityRepository,
+                                GoalStreakService goalStreakService,
+                                TransactionTemplate transactionTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher) {
+        this.dailyActivityRepository = dailyActivityRepository;
+        this.goalStreakService = goalStreakService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+
+        // 커밋 직후(afterCommit)에도 쓸 수 있게 항상 새 트랜잭션에서 실행한다.
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 게시글 작성 / 수정 / 삭제 후 호출 : 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 새 트랜잭션에서 다시 집계한다.
+     * 커밋 뒤에 실패하면 이미 끝난 요청에 예외를 던지지 않고 로그만 남긴다. (주간 재생성 때 바로잡힌다)
+     */
+    public void refreshAfterCommit(Post post) {
+        Long userId = post.getUser().getId();
+        LocalDate date = post.getCreatedAt().toLocalDate();
+        Long categoryId = post.getCategory().getCategoryId();
+        Runnable refresh = () -> refreshTransaction.executeWithoutResult(status -> refresh(userId, date, categoryId));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        refresh.run();
+                    } catch (RuntimeException e) {
+                        log.error("daily activity refresh failed. userId={}, date={}, categoryId={}", userId, date, categoryId, e);
+                    }
+                }
+            });
+        } else {
+            refresh.run();
+        }
+    }
+
+    // 호출한 쪽의 트랜잭션에서 바로 다시 집계한다.
+    public void refresh(Post post) {
+        refresh(post.getUser().getId(), post.getCreatedAt().toLocalDate(), post.getCategory().getCategoryId());
+    }
+
+    public void refresh(Long userId, LocalDate date, Long categoryId) {
+        dailyActivityRepository.upsertDay(userId, date, categoryId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        dailyActivityRepository.deleteEmptyDay(userId, date, categoryId);
+        goalStreakService.evaluate(userId, date, categoryId);
+        eventPublisher.publishEvent(new DailyActivityChangedEvent(userId, categoryId, date));
+    }
+
+    // 집계 테이블이 새로 생긴 경우 (게시글은 있는데 집계가 하나도 없음) 주간 재생성을 기다리지 않고 채운다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (dailyActivityRepository.count() == 0 && !dailyActivityRepository.findPostUserIdsAfter(0L, 1).isEmpty()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${post.daily-activity.rebuild-cron:0 0 5 * * SUN}")
+    public void rebuild() {
+        long lastUserId = 0L;
+        int users = 0;
+
+        List<Long> userIds;
+        do {
+            userIds = dailyActivityRepository.findPostUserIdsAfter(lastUserId, REBUILD_CHUNK_SIZE);
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            List<Long> chunk = userIds;
+            transactionTemplate.executeWithoutResult(status -> rebuildUsers(chunk));
+            lastUserId = userIds.get(userIds.size() - 1);
+            users += userIds.size();
+        } while (userIds.size() == REBUILD_CHUNK_SIZE);
+
+        log.info("daily activity rebuilt. users={}", users);
+    }
+
+    private void rebuildUsers(List<Long> userIds) {
+        dailyActivityRepository.deleteByUserIds(userIds);
+        dailyActivityRepository.aggregateUsers(userIds);
+        goalStreakService.recomputeUsers(userIds);
+        userIds.forEach(userId -> eventPublisher.publishEvent(new DailyActivityChangedEvent(userId)));
+    }
+}
@@ -0,0 +1,103 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.entity.GoalStreak;
+import goojeans.harulog.post.repository.DailyActivityRepository;
+import goojeans.harulog.post.repository.GoalStreakRepository;
+import goojeans.harulog.user.domain.entity.UserGoal;
+import goojeans.harulog.user.domain.entity.UserGoalId;
+import goojeans.harulog.user.repository.UserGoalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 카테고리별 목표 달성 기록(GoalStreak) 관리
+ * 날짜별 집계가 바뀔 때마다 그 날의 달성 여부만 반영하므로, 하루 통계 조회는 저장된 값을 읽기만 한다.
+ * 기록은 집계가 바뀌거나 목표가 바뀔 때 없으면 만들고, 조회할 때는 없는 기록을 저장하지 않고 계산만 한다.
+ * 모두 호출한 쪽의 트랜잭션에 참여한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoalStreakService {
+
+    private final GoalStreakRepository goalStreakRepository;
+    private final DailyActivityRepository dailyActivityRepository;
+    private final UserGoalRepository userGoalRepository;
+
+    // DailyActivityService 가 하루 집계를 다시 만든 뒤 호출
+    public void evaluate(Long userId, LocalDate date, Long categoryId) {
+        Optional<GoalStreak> found = goalStreakRepository.findForUpdate(userId, categoryId);
+        if (found.isEmpty()) {
+            // 처음이면 지금까지의 집계로 계산하므로 오늘 결과도 포함된다.
+            create(userId, categoryId).ifPresent(this::recompute);
+            return;
+        }
+
+        GoalStreak streak = found.get();
+        boolean goalMet = dailyActivityRepository.findGoalMet(userId, date, categoryId).orElse(false);
+        if (!streak.apply(date, goalMet)) {
+            recompute(streak);
+        }
+    }
+
+    // 목표가 바뀌면 오늘부터 다시 센다. (오늘 이미 달성한 기록은 포함)
+    public void reset(Long userId, Long categoryId) {
+        goalStreakRepository.findForUpdate(userId, categoryId)
+                .or(() -> create(userId, categoryId))
+                .ifPresent(streak -> {
+                    streak.reset(LocalDate.now());
+                    recompute(streak);
+                });
+    }
+
+    // 하루 통계 조회용. 아직 기록이 없는 목표는 지금까지의 집계로 계산만 하고 저장하지 않는다.
+    public Map<Long, GoalStreak> findStreaks(Long userId, List<UserGoal> userGoals) {
+        Map<Long, GoalStreak> streaks = new HashMap<>();
+        goalStreakRepository.findByUserId(userId)
+                .forEach(streak -> streaks.put(streak.getCategoryId(), streak));
+
+        userGoals.stream()
+                .filter(userGoal -> !streaks.containsKey(userGoal.getCategory().getCategoryId()))
+                .forEach(userGoal -> streaks.put(userGoal.getCategory().getCategoryId(), compute(userGoal)));
+
+        return streaks;
+    }
+
+    // 날짜별 집계 재생성 후 호출
+    public void recomputeUsers(Collection<Long> userIds) {
+        goalStreakRepository.findByUserIdIn(userIds).forEach(this::recompute);
+    }
+
+    // 목표가 있으면 빈 기록을 만들고 (이미 있으면 그대로) 쓰기 락을 잡고 다시 읽는다. 값은 호출한 쪽에서 계산한다.
+    private Optional<GoalStreak> create(Long userId, Long categoryId) {
+        return userGoalRepository.findById(UserGoalId.of(userId, categoryId))
+                .flatMap(userGoal -> {
+                    goalStreakRepository.insertIfAbsent(userId, categoryId, sinceDate(userGoal));
+                    return goalStreakRepository.findForUpdate(userId, categoryId);
+                });
+    }
+
+    private GoalStreak compute(UserGoal userGoal) {
+        GoalStreak streak = GoalStreak.of(userGoal.getUser().getId(), userGoal.getCategory().getCategoryId(), sinceDate(userGoal));
+        recompute(streak);
+        return streak;
+    }
+
+    private void recompute(GoalStreak streak) {
+        List<LocalDate> successDates = dailyActivityRepository.findGoalMetDates(
+                streak.getUserId(), streak.getCategoryId(), streak.getSinceDate());
+        streak.recompute(successDates, LocalDate.now());
+    }
+
+    private LocalDate sinceDate(UserGoal userGoal) {
+        LocalDateTime setAt = userGoal.getUpdatedAt() != null ? userGoal.getUpdatedAt() : userGoal.getCreatedAt();
+        return setAt != null ? setAt.toLocalDate() : LocalDate.now();
+    }
+}
@@ -0,0 +1,256 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.dto.PostScoreDto;
+import goojeans.harulog.post.domain.event.PostDeletedEvent;
+import goojeans.harulog.post.domain.event.PostScoreChangedEvent;
+import goojeans.harulog.post.repository.PostRepository;
+import goojeans.harulog.post.util.FeedCursor;
+import goojeans.harulog.post.util.Leaderboard;
+import goojeans.harulog.post.util.LeaderboardMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 좋아요 순 피드용 인기 순위표 (전체 1개 + 카테고리별 1개)
+ * 좋아요 / 좋아요 취소 / 게시글 작성, 삭제 이벤트로 증분 갱신하고, 피드 조회는 정렬된 id 목록만 읽는다.
+ * 시작 시와 주기적으로 DB 에서 다시 만들어서 상위 capacity 개 밖으로 밀려났던 게시글을 바로잡는다.
+ * 좋아요 취소나 삭제로 순위표에 빈자리가 생기면 refill-interval 마다 DB 에서 채운다.
+ * (ALL_TIME 은 순위표 최하위 다음부터 좋아요 순으로 읽고, DB 에서 정렬할 수 없는 HOT 은 다시 만든다)
+ * 준비되기 전에는 page() 가 비어있고, 호출하는 쪽은 DB 쿼리로 대신 조회한다.
+ */
+@Slf4j
+@Component
+public class PopularityLeaderboard {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final LeaderboardMode mode;
+    private final int capacity;
+
+    private volatile Boards boards;
+    private volatile Instant lastRebuiltAt;
+
+    // 재구성 중에 들어온 변경은 새 순위표로 교체할 때 다시 적용한다.
+    private final Object updateLock = new Object();
+    private boolean rebuilding = false;
+    private final Queue<Consumer<Boards>> pendingUpdates = new ArrayDeque<>();
+
+    public PopularityLeaderboard(PostRepository postRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${post.leaderboard.mode:ALL_TIME}") LeaderboardMode mode,
+                                 @Value("${post.leaderboard.capacity:1000}") int capacity) {
+        this.postRepository = postRepository;
+        this.mode = mode;
+        this.capacity = capacity;
+
+        Gauge.builder("post.leaderboard.size", this, leaderboard -> leaderboard.size(null))
+                .description("전체 인기 순위표에 들어있는 게시글 수")
+                .register(meterRegistry);
+        Gauge.builder("post.leaderboard.staleness", this, PopularityLeaderboard::stalenessSeconds)
+                .description("마지막으로 DB 에서 다시 만든 뒤 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${post.leaderboard.rebuild-cron:0 0 * * * *}")
+    public synchronized void rebuild() {
+        synchronized (updateLock) {
+            rebuilding = true;
+            pendingUpdates.clear();
+        }
+
+        Boards rebuilt = new Boards(new Leaderboard(capacity), new ConcurrentHashMap<>());
+        try {
+            long lastId = 0L;
+            List<PostScoreDto> chunk;
+            do {
+                chunk = postRepository.findScoreChunkAfter(lastId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                for (PostScoreDto post : chunk) {
+                    rebuilt.offer(post.getPostId(), post.getCategoryId(), mode.score(post.getLikeCount(), post.getCreatedAt()));
+                    lastId = post.getPostId();
+                }
+            } while (chunk.size() == REBUILD_CHUNK_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                rebuilding = false;
+                pendingUpdates.clear();
+            }
+            throw e;
+        }
+
+        synchronized (updateLock) {
+            Consumer<Boards> update;
+            while ((update = pendingUpdates.poll()) != null) {
+                update.accept(rebuilt);
+            }
+            boards = rebuilt;
+            lastRebuiltAt = Instant.now();
+            rebuilding = false;
+        }
+        log.info("popularity leaderboard rebuilt. mode={}, size={}", mode, size(null));
+    }
+
+    @Scheduled(fixedDelayString = "${post.leaderboard.refill-interval:60000}")
+    public void refill() {
+        Boards current = boards;
+        if (current == null) {
+            return;
+        }
+
+        if (mode != LeaderboardMode.ALL_TIME) {
+            boolean missing = current.global().missing() > 0
+                    || current.byCategory().values().stream().anyMatch(board -> board.missing() > 0);
+            if (missing) {
+                rebuild();
+            }
+            return;
+        }
+
+        refill(null, current.global());
+        current.byCategory().forEach(this::refill);
+    }
+
+    // 순위표 최하위 다음부터 빈자리 수만큼 읽어서 채운다.
+    private void refill(Long categoryId, Leaderboard board) {
+        int missing = board.missing();
+        if (missing == 0) {
+            return;
+        }
+
+        FeedCursor after = board.lowest()
+                .map(lowest -> FeedCursor.ofScore(mode, lowest.score(), lowest.postId()))
+                .orElseGet(() -> FeedCursor.decodeScore(null));
+        PageRequest pageRequest = PageRequest.of(0, missing);
+        List<PostScoreDto> posts = categoryId == null
+                ? postRepository.findScorePageOrderByLikes(after.getLikeCount(), after.getId(), pageRequest)
+                : postRepository.findScorePageByCategoryOrderByLikes(categoryId, after.getLikeCount(), after.getId(), pageRequest);
+
+        apply(boards -> posts.forEach(post ->
+                boards.offerIfAbsent(post.getPostId(), post.getCategoryId(), mode.score(post.getLikeCount(), post.getCreatedAt()))));
+        if (posts.size() < missing) {
+            board.markExhausted();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(PostScoreChangedEvent event) {
+        long score = mode.score(event.getLikeCount(), event.getCreatedAt());
+        apply(boards -> boards.offer(event.getPostId(), event.getCategoryId(), score));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(PostDeletedEvent event) {
+        apply(boards -> boards.remove(event.getPostId()));
+    }
+
+    /**
+     * 커서 다음부터 limit 개의 (postId, score) 를 순위 순으로 조회. categoryId 가 null 이면 전체 순위표.
+     * 순위표가 아직 준비되지 않았으면 empty 를 돌려준다. 다른 점수 기준으로 만든 커서면 첫 페이지부터 조회한다.
+     */
+    public Optional<List<Leaderboard.Entry>> page(Long categoryId, FeedCursor cursor, int limit) {
+        Boards current = boards;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        Leaderboard board = current.of(categoryId);
+        if (board == null) {
+            return Optional.of(List.of());
+        }
+        FeedCursor start = cursor.orFirstPage(mode);
+        return Optional.of(board.after(start.getKey(), start.getId(), limit));
+    }
+
+    public LeaderboardMode getMode() {
+        return mode;
+    }
+
+    /**
+     * 점수가 좋아요 수 그대로라서 (ALL_TIME) 순위표가 끝난 뒤를 DB 의 좋아요 순 쿼리로 이어서 조회할 수 있는지.
+     * HOT 점수는 DB 에서 정렬할 수 없으므로 HOT 피드는 상위 capacity 개까지만 내려준다.
+     */
+    public boolean followsLikeOrder() {
+        return mode == LeaderboardMode.ALL_TIME;
+    }
+
+    public int size(Long categoryId) {
+        Boards current = boards;
+        if (current == null) {
+            return 0;
+        }
+        Leaderboard board = current.of(categoryId);
+        return board == null ? 0 : board.size();
+    }
+
+    private void apply(Consumer<Boards> update) {
+        synchronized (updateLock) {
+            Boards current = boards;
+            if (current != null) {
+                update.accept(current);
+            }
+            if (rebuilding) {
+                pendingUpdates.add(update);
+            }
+        }
+    }
+
+    private double stalenessSeconds() {
+        Instant rebuiltAt = lastRebuiltAt;
+        if (rebuiltAt == null) {
+            return Double.NaN;
+        }
+        return Duration.between(rebuiltAt, Instant.now()).toSeconds();
+    }
+
+    private record Boards(Leaderboard global, Map<Long, Leaderboard> byCategory) {
+
+        void offer(Long postId, Long categoryId, long score) {
+            global.offer(postId, score);
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, id -> new Leaderboard(global.getCapacity()))
+                        .offer(postId, score);
+            }
+        }
+
+        void offerIfAbsent(Long postId, Long categoryId, long score) {
+            global.offerIfAbsent(postId, score);
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, id -> new Leaderboard(global.getCapacity()))
+                        .offerIfAbsent(postId, score);
+            }
+        }
+
+        void remove(Long postId) {
+            global.remove(postId);
+            byCategory.values().forEach(board -> board.remove(postId));
+        }
+
+        Leaderboard of(Long categoryId) {
+            return categoryId == null ? global : byCategory.get(categoryId);
+        }
+    }
+}
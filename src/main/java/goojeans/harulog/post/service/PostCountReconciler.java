@@ -0,0 +1,77 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.dto.PostCounts;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * post 의 반정규화된 좋아요 수, 댓글 수 보정
+ * likes, comment 테이블을 다시 집계해서 어긋난 게시글만 갱신한다.
+ * 게시글 id 순으로 chunk 단위로 읽고, chunk 마다 트랜잭션을 나눈다.
+ * 컬럼이 새로 생긴 뒤에도 값이 채워지도록 서버 시작 시에도 한 번 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCountReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostCountResolver postCountResolver;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${post.count.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        long lastId = 0L;
+        int fixed = 0;
+
+        while (true) {
+            Long from = lastId;
+            ChunkResult result = transactionTemplate.execute(status -> reconcileChunk(from));
+            if (result == null || result.lastId() == null) {
+                break;
+            }
+            lastId = result.lastId();
+            fixed += result.fixed();
+        }
+
+        log.info("post count reconcile finished. fixed={}", fixed);
+    }
+
+    private ChunkResult reconcileChunk(Long lastId) {
+        List<Post> posts = postRepository.findChunkAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+        if (posts.isEmpty()) {
+            return new ChunkResult(null, 0);
+        }
+
+        PostCounts counts = postCountResolver.resolve(posts.stream().map(Post::getId).toList());
+
+        int fixed = 0;
+        for (Post post : posts) {
+            int likeCount = counts.getLikeCount(post.getId());
+            int commentCount = counts.getCommentCount(post.getId());
+
+            if (post.getLikeCount() != likeCount || post.getCommentCount() != commentCount) {
+                fixed += postRepository.reconcileCounts(post.getId(),
+                        post.getLikeCount(), post.getCommentCount(), likeCount, commentCount);
+            }
+        }
+
+        return new ChunkResult(posts.get(posts.size() - 1).getId(), fixed);
+    }
+
+    private record ChunkResult(Long lastId, int fixed) {
+    }
+}
@@ -0,0 +1,32 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.comment.repository.CommentRepository;
+import goojeans.harulog.likes.repository.LikesRepository;
+import goojeans.harulog.post.domain.dto.PostCounts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 게시글 목록의 좋아요 수, 댓글 수 조회
+ * 게시글마다 count 쿼리를 날리지 않고, 테이블별로 group by 쿼리 한 번씩만 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostCountResolver {
+
+    private final LikesRepository likesRepository;
+    private final CommentRepository commentRepository;
+
+    public PostCounts resolve(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return PostCounts.empty();
+        }
+
+        return PostCounts.of(
+                likesRepository.countLikesByPostIds(postIds),
+                commentRepository.countCommentsByPostIds(postIds)
+        );
+    }
+}
@@ -0,0 +1,93 @@
+package goojeans.harulog.post.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import goojeans.harulog.common.SingleFlight;
+import goojeans.harulog.post.domain.dto.PostResponseDto;
+import goojeans.harulog.post.domain.event.PostContentChangedEvent;
+import goojeans.harulog.post.domain.event.PostDeletedEvent;
+import goojeans.harulog.post.domain.event.PostScoreChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 게시글 상세 (사용자와 무관한 부분) 캐시
+ * 크기 제한(LRU 에 가까운 W-TinyLFU)과 TTL 을 두고, 게시글 / 댓글 / 좋아요가 바뀌면 커밋 후에 비운다.
+ * 조회하는 동안 비워지면 (조회가 변경 커밋 전의 값을 읽었을 수 있으므로) 조회 결과를 캐시에 넣지 않는다.
+ * 캐시된 dto 는 여러 요청이 공유하므로 꺼낸 쪽에서 수정하면 안 된다.
+ * 캐시 미스가 동시에 여러 번 나면 SingleFlight 로 한 번만 조회한다. (캐시 내부 락을 잡은 채로 DB 를 기다리지 않는다)
+ */
+@Component
+public class PostDetailCache {
+
+    private static final String FLIGHT_NAME = "post.detail";
+
+    private final Cache<Long, PostResponseDto> cache;
+    private final SingleFlight singleFlight;
+
+    // 조회 중인 게시글. invalidate 가 지우면 그 조회 결과는 캐시에 넣지 않는다.
+    private final ConcurrentHashMap<Long, Object> loading = new ConcurrentHashMap<>();
+
+    public PostDetailCache(MeterRegistry meterRegistry,
+                           SingleFlight singleFlight,
+                           @Value("${post.detail-cache.max-size:1000}") long maxSize,
+                           @Value("${post.detail-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        this.singleFlight = singleFlight;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post.detail");
+    }
+
+    public PostResponseDto get(Long postId, Function<Long, PostResponseDto> loader) {
+        PostResponseDto cached = cache.getIfPresent(postId);
+        if (cached != null) {
+            return cached;
+        }
+
+        return singleFlight.execute(FLIGHT_NAME, postId, () -> {
+            Object token = new Object();
+            loading.put(postId, token);
+            try {
+                PostResponseDto loaded = loader.apply(postId);
+                if (loading.remove(postId, token)) {
+                    cache.put(postId, loaded);
+                }
+                return loaded;
+            } finally {
+                loading.remove(postId, token);
+            }
+        });
+    }
+
+    public void invalidate(Long postId) {
+        loading.remove(postId);
+        cache.invalidate(postId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(PostContentChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(PostScoreChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(PostDeletedEvent event) {
+        invalidate(event.getPostId());
+    }
+}
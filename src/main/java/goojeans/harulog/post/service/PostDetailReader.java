@@ -0,0 +1,37 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.domain.ResponseCode;
+import goojeans.harulog.likes.service.LikedPostResolver;
+import goojeans.harulog.post.domain.dto.PostLikeResponseDto;
+import goojeans.harulog.post.domain.dto.PostResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 상세 조회 (트랜잭션 밖)
+ * 캐시를 먼저 보고, 캐시 미스일 때만 PostService 의 트랜잭션으로 읽는다.
+ * 같은 게시글을 동시에 조회하면 SingleFlight 로 기다리는데, 기다리는 요청은 아직 트랜잭션(DB 커넥션)을 잡지 않았다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostDetailReader {
+
+    private final PostService postService;
+    private final PostDetailCache postDetailCache;
+    private final LikedPostResolver likedPostResolver;
+
+    // 하나의 Post 상세
+    public PostResponseDto getPost(Long postId) {
+        return postDetailCache.get(postId, id -> postService.loadPostDetail(id, ResponseCode.POS_NOT_FOUND));
+    }
+
+    //하나의 피드 상세 유저가 좋아요 눌렀는지 여부도 포함
+    //사용자와 무관한 부분은 캐시에서 가져오고, 좋아요 여부만 따로 조회
+    public PostLikeResponseDto getPostUser(Long postId, Long userId) {
+        PostResponseDto post = postDetailCache.get(postId, id -> postService.loadPostDetail(id, ResponseCode.CMT_POST_NOT_FOUND));
+
+        boolean likedByCurrentUser = likedPostResolver.isLiked(userId, postId);
+
+        return new PostLikeResponseDto(post, likedByCurrentUser);
+    }
+}
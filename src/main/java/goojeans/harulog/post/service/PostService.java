@@ -5,20 +5,25 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.cloud.StorageClient;
 import goojeans.harulog.category.domain.entity.Category;
 import goojeans.harulog.category.repository.CategoryRepository;
-import goojeans.harulog.comment.domain.dto.CommentResponseDto;
-import goojeans.harulog.comment.domain.entity.Comment;
-import goojeans.harulog.comment.repository.CommentRepository;
+import goojeans.harulog.comment.domain.dto.CommentSliceDto;
+import goojeans.harulog.comment.service.CommentTreeLoader;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.ImageUrlString;
 import goojeans.harulog.domain.dto.Response;
-import goojeans.harulog.likes.repository.LikesRepository;
-import goojeans.harulog.post.domain.dto.PostLikeResponseDto;
+import goojeans.harulog.likes.service.LikedPostResolver;
 import goojeans.harulog.post.domain.dto.PostRequestDto;
 import goojeans.harulog.post.domain.dto.PostResponseDto;
+import goojeans.harulog.post.domain.dto.response.PostSliceDto;
 import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.domain.event.PostContentChangedEvent;
+import goojeans.harulog.post.domain.event.PostDeletedEvent;
+import goojeans.harulog.post.domain.event.PostScoreChangedEvent;
 
 import goojeans.harulog.post.repository.PostRepository;
+import goojeans.harulog.post.util.FeedCursor;
+import goojeans.harulog.post.util.Leaderboard;
+import goojeans.harulog.post.util.LeaderboardMode;
 import goojeans.harulog.user.domain.entity.UserGoal;
 import goojeans.harulog.user.domain.entity.Users;
 import goojeans.harulog.user.repository.UserGoalRepository;
@@ -26,6 +31,9 @@ import goojeans.harulog.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -35,6 +43,13 @@ import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -42,13 +57,23 @@ import java.util.List;
 @Transactional
 public class PostService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final Function<Post, FeedCursor> CREATED_AT_CURSOR =
+            post -> FeedCursor.ofCreatedAt(post.getCreatedAt(), post.getId());
+    private static final Function<Post, FeedCursor> LIKE_COUNT_CURSOR =
+            post -> FeedCursor.ofLikeCount(post.getLikeCount(), post.getId());
+
     private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
-    private final LikesRepository likesRepository;
     private final UserRepository userRepository;
     private final UserGoalRepository userGoalRepository;
     private final CategoryRepository categoryRepository;
     private final FirebaseApp firebaseApp;
+    private final TimelineService timelineService;
+    private final PopularityLeaderboard popularityLeaderboard;
+    private final CommentTreeLoader commentTreeLoader;
+    private final LikedPostResolver likedPostResolver;
+    private final DailyActivityService dailyActivityService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public PostResponseDto createPost(PostRequestDto postRequestDto, Long userId) {
@@ -64,6 +89,11 @@ public class PostService {
 
         // Post 객체 생성
         Post post = postRepository.save(new Post(postRequestDto, user, category, userGoal));
+        dailyActivityService.refreshAfterCommit(post);
+
+        // 팔로워 타임라인에 추가
+        timelineService.fanOut(post);
+        eventPublisher.publishEvent(new PostScoreChangedEvent(post.getId(), category.getCategoryId(), post.getCreatedAt(), 0));
 
         // PostResponseDto 생성
         return new PostResponseDto(post);
@@ -100,67 +130,25 @@ public class PostService {
             throw new BusinessException(ResponseCode.FIREBASE_ERROR);
         }
         post.updateImage(blob);
+        eventPublisher.publishEvent(new PostContentChangedEvent(feedId));
 
         return Response.ok(new ImageUrlString(blob));
     }
 
 
 
-    // 하나의 Post 상세
-
-    public PostResponseDto getPost(Long id){
-        Post post = postRepository.findById(id).orElseThrow(
-                () -> new BusinessException(ResponseCode.POS_NOT_FOUND)
+    // 하나의 Post 상세 (캐시 없이 읽는다. 조회 API 는 PostDetailReader 를 거친다)
+    public PostResponseDto loadPostDetail(Long id, ResponseCode notFound) {
+        Post post = postRepository.findDetailById(id).orElseThrow(
+                () -> new BusinessException(notFound)
         );
 
-        List<CommentResponseDto> commentResponseDtoList = new ArrayList<>();
-        int likeCount = likesRepository.countLikesByPostId(post.getId());
-        int commentCount = commentRepository.countCommentsByPostId(post.getId());
-        for (Comment comment : post.getComments()) {
-            List<CommentResponseDto> childCommentList = new ArrayList<>();
-            if(comment.getParent()==null){                                                      //부모 댓글이 없을 경우
-                for (Comment childComment : comment.getChildren()){                              //자식 댓글 리스트의 데이터를 childComment에 저장
-                    if (id.equals(childComment.getPost().getId())) {                         //childComment의 id와 받아온 id가 일치할 경우(선택 게시글 저장)
-                        childCommentList.add(new CommentResponseDto(childComment));             //저장된 자식댓글을 리스트에 저장
-                    }
-                }
-                commentResponseDtoList.add(new CommentResponseDto(comment,childCommentList));   //저장된 데이터를 리스트에
-            }
-        }
-
-
-        return new PostResponseDto(post, commentResponseDtoList,commentCount, likeCount);
-    }
-
-    //하나의 피드 상세 유저가 좋아요 눌렀는지 여부도 포함
-    public PostLikeResponseDto getPostUser(Long postId, Long userId){
-        Users users = userRepository.findById(userId).orElseThrow(
-                () -> new BusinessException(ResponseCode.CMT_POST_NOT_FOUND)
-        );
-
-        Post post = postRepository.findById(postId).orElseThrow(
-                () -> new BusinessException(ResponseCode.CMT_POST_NOT_FOUND)
-        );
-
-        List<CommentResponseDto> commentResponseDtoList = new ArrayList<>();
-        int likeCount = likesRepository.countLikesByPostId(post.getId());
-        int commentCount = commentRepository.countCommentsByPostId(post.getId());
-        boolean likedByCurrentUser = likesRepository.existsByPostIdAndUserId(postId, userId);
-        for (Comment comment : post.getComments()) {
-            List<CommentResponseDto> childCommentList = new ArrayList<>();
-            if (comment.getParent() == null) {
-                for (Comment childComment : comment.getChildren()) {
-                    if (postId.equals(childComment.getPost().getId())) {
-                        childCommentList.add(new CommentResponseDto(childComment));
-                    }
-                }
-                commentResponseDtoList.add(new CommentResponseDto(comment, childCommentList));   //저장된 데이터를 리스트에
-            }
-        }
-
-        return new PostLikeResponseDto(post, commentResponseDtoList, commentCount, likeCount,likedByCurrentUser);
-
+        // 최상위 댓글 첫 페이지만 포함. 나머지와 대댓글은 댓글 API 로 조회
+        CommentSliceDto comments = commentTreeLoader.loadTopLevelPage(id, null, CommentTreeLoader.DEFAULT_PAGE_SIZE);
 
+        PostResponseDto postResponseDto = new PostResponseDto(post, comments.getContent(), post.getCommentCount(), post.getLikeCount());
+        postResponseDto.setCommentNextCursor(comments.getNextCursor());
+        return postResponseDto;
     }
 
     //유저의 게시글 전체 조회
@@ -170,32 +158,15 @@ public class PostService {
                 .orElseThrow(() -> new BusinessException(ResponseCode.POS_AUTHENTICATION_FAIL));
 
         List<Post> postList = postRepository.findByUserId(id);
-        List<PostResponseDto> postResponseDtoList = new ArrayList<>();
-
-        for (Post post : postList) {
-            int likeCount = likesRepository.countLikesByPostId(post.getId());
-            int commentCount = commentRepository.countCommentsByPostId(post.getId());
-
-            postResponseDtoList.add(new PostResponseDto(post,commentCount, likeCount));
-        }
-
-        return postResponseDtoList;
+        return toPostResponseDtoList(postList);
     }
 
     //좋아요 높은순서대로 피드 조회
 
     public List<PostResponseDto> getPostsOrderByLikes() {
-        // 좋아요가 높은 순서대로 게시물 가져오기
+        // 좋아요가 높은 순서대로 게시물 가져오기 (전체 목록이라 상위 capacity 개만 담는 인기 순위표 대신 DB 에서 정렬)
         List<Post> postList = postRepository.findPostsOrderByLikes();
-        List<PostResponseDto> postResponseDtoList = new ArrayList<>();
-
-        for (Post post : postList) {
-            int likeCount = likesRepository.countLikesByPostId(post.getId());
-            int commentCount = commentRepository.countCommentsByPostId(post.getId());
-            postResponseDtoList.add(new PostResponseDto(post, commentCount, likeCount));
-        }
-
-        return postResponseDtoList;
+        return toPostResponseDtoList(postList);
     }
 
     //카테고리로 좋아요 높은순으로 피드 조회
@@ -205,16 +176,7 @@ public class PostService {
                 .orElseThrow(() -> new BusinessException(ResponseCode.POS_CATEGORY_NOT_FOUND));
         List<Post> postList = postRepository.findPostsByCategoryOrderByLikes(category.getCategoryId());
 
-        List<PostResponseDto> postResponseDtoList = new ArrayList<>();
-
-        for (Post post : postList) {
-            int likeCount = likesRepository.countLikesByPostId(post.getId());
-            int commentCount = commentRepository.countCommentsByPostId(post.getId());
-
-
-            postResponseDtoList.add(new PostResponseDto(post, commentCount, likeCount));
-        }
-        return postResponseDtoList;
+        return toPostResponseDtoList(postList);
     }
 
 
@@ -237,6 +199,8 @@ public class PostService {
                 throw new BusinessException(ResponseCode.POS_UPDATE_TIME_FAIL);
             }else {
                 post.update(postRequestDto);
+                dailyActivityService.refreshAfterCommit(post);
+                eventPublisher.publishEvent(new PostContentChangedEvent(postId));
                 return new PostResponseDto(post);
             }
         } else {
@@ -253,6 +217,9 @@ public class PostService {
 
         if (post.getUser().getId().equals(userId)) {
             postRepository.deleteById(postId);
+            dailyActivityService.refreshAfterCommit(post);
+            timelineService.removePost(postId);
+            eventPublisher.publishEvent(new PostDeletedEvent(postId));
         } else {
             throw new BusinessException(ResponseCode.POS_AUTHENTICATION_FAIL);
         }
@@ -264,36 +231,171 @@ public class PostService {
                 .orElseThrow(() -> new BusinessException(ResponseCode.POS_AUTHENTICATION_FAIL));
 
         List<Post> postList = postRepository.findPostsByUserOrderByCreatedAtDesc(userId);
-        List<PostResponseDto> postResponseDtoList = new ArrayList<>();
-        for (Post post : postList) {
-            int likeCount = likesRepository.countLikesByPostId(post.getId());
-            int commentCount = commentRepository.countCommentsByPostId(post.getId());
-            postResponseDtoList.add(new PostResponseDto(post, commentCount, likeCount));
-        }
-
-        return postResponseDtoList;
+        return markAllLiked(toPostResponseDtoList(postList));
     }
 
     public List<PostResponseDto> userFollowPost(Long userId){
         Users users = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ResponseCode.CMT_AUTHENTICATION_FAIL));
-        List<Post> postList = postRepository.findPostsByFollowersOrderByCreatedAtDesc(userId);
-        List<PostResponseDto> postResponseDtoList = new ArrayList<>();
-        for(Post post : postList){
-            int likeCount = likesRepository.countLikesByPostId(post.getId());
-            int commentCount = commentRepository.countCommentsByPostId(post.getId());
-            postResponseDtoList.add(new PostResponseDto(post, commentCount, likeCount));
-        }
-        return postResponseDtoList;
+        List<Post> postList = timelineService.getTimeline(userId, FeedCursor.decodeCreatedAt(null), Integer.MAX_VALUE);
+        return toPostResponseDtoList(postList);
     }
 
     public List<PostResponseDto> getAllPost(){
-        List<Post> postList = postRepository.findAll();
+        List<Post> postList = postRepository.findAllWithCategoryAndUser();
+        return toPostResponseDtoList(postList);
+    }
+
+    // 커서 기반 피드 목록 조회
+
+    public PostSliceDto getAllPostPage(String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decodeCreatedAt(cursor);
+        List<Post> postList = postRepository.findPageOrderByCreatedAt(
+                feedCursor.getCreatedAt(), feedCursor.getId(), limitOf(size));
+        return toPostSliceDto(postList, size, CREATED_AT_CURSOR);
+    }
+
+    public PostSliceDto getPostsOrderByLikesPage(String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decodeScore(cursor);
+        return likesPage(null, feedCursor, size, (likeCount, id) ->
+                postRepository.findPageOrderByLikes(likeCount, id, limitOf(size)));
+    }
+
+    public PostSliceDto getPostCategoryOrderByLikesPage(String categoryName, String cursor, int size) {
+        Category category = categoryRepository.findByCategoryName(categoryName)
+                .orElseThrow(() -> new BusinessException(ResponseCode.POS_CATEGORY_NOT_FOUND));
+        FeedCursor feedCursor = FeedCursor.decodeScore(cursor);
+        return likesPage(category.getCategoryId(), feedCursor, size, (likeCount, id) ->
+                postRepository.findPageByCategoryOrderByLikes(category.getCategoryId(), likeCount, id, limitOf(size)));
+    }
+
+    /**
+     * 좋아요 순 피드의 한 페이지. 인기 순위표에서 읽고, 준비되기 전에는 DB 에서 조회한다.
+     * 순위표는 상위 capacity 개만 담으므로 페이지를 다 채우지 못하면 마지막 항목 다음부터 DB 에서 이어서 채운다.
+     * (ALL_TIME 점수는 좋아요 수와 같아서 순위표 커서를 DB 커서로 그대로 쓸 수 있다)
+     * 커서는 점수 기준을 담고 있어서, 순위표 준비 전에 받은 좋아요 수 커서를 HOT 점수로 읽지 않고 (반대도 마찬가지) 첫 페이지부터 다시 조회한다.
+     */
+    private PostSliceDto likesPage(Long categoryId, FeedCursor feedCursor, int size,
+                                   BiFunction<Integer, Long, List<Post>> findAfter) {
+        int limit = clampSize(size) + 1;
+        Optional<List<Leaderboard.Entry>> ranking = popularityLeaderboard.page(categoryId, feedCursor, limit);
+        if (ranking.isEmpty()) {
+            FeedCursor likeCursor = feedCursor.orFirstPage(LeaderboardMode.ALL_TIME);
+            return toPostSliceDto(findAfter.apply(likeCursor.getLikeCount(), likeCursor.getId()), size, LIKE_COUNT_CURSOR);
+        }
+
+        List<Leaderboard.Entry> entries = ranking.get();
+        if (entries.size() >= limit || !popularityLeaderboard.followsLikeOrder()) {
+            return toPostSliceDto(entries, size);
+        }
+
+        FeedCursor likeCursor = feedCursor.orFirstPage(LeaderboardMode.ALL_TIME);
+        Leaderboard.Entry tail = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        int likeCount = tail == null ? likeCursor.getLikeCount() : (int) Math.min(tail.score(), Integer.MAX_VALUE);
+        long id = tail == null ? likeCursor.getId() : tail.postId();
+
+        // 순위표 항목의 다음 커서는 순위표 점수 기준 (DB 의 좋아요 수는 버퍼 때문에 조금 다를 수 있다)
+        Map<Long, Long> scores = entries.stream()
+                .collect(Collectors.toMap(Leaderboard.Entry::postId, Leaderboard.Entry::score));
+        List<Post> postList = new ArrayList<>(hydrate(entries));
+        findAfter.apply(likeCount, id).stream()
+                .filter(post -> !scores.containsKey(post.getId()))
+                .forEach(postList::add);
+
+        return toPostSliceDto(postList, size, post -> scores.containsKey(post.getId())
+                ? FeedCursor.ofScore(popularityLeaderboard.getMode(), scores.get(post.getId()), post.getId())
+                : LIKE_COUNT_CURSOR.apply(post));
+    }
+
+    public PostSliceDto getUserPostPage(Long userId, String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decodeCreatedAt(cursor);
+        List<Post> postList = postRepository.findPageByUserId(
+                userId, feedCursor.getCreatedAt(), feedCursor.getId(), limitOf(size));
+        return toPostSliceDto(postList, size, CREATED_AT_CURSOR);
+    }
+
+    public PostSliceDto userLikePostPage(Long userId, String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decodeCreatedAt(cursor);
+        List<Post> postList = postRepository.findPageLikedByUser(
+                userId, feedCursor.getCreatedAt(), feedCursor.getId(), limitOf(size));
+        PostSliceDto slice = toPostSliceDto(postList, size, CREATED_AT_CURSOR);
+        markAllLiked(slice.getContent());
+        return slice;
+    }
+
+    public PostSliceDto userFollowPostPage(Long userId, String cursor, int size) {
+        FeedCursor feedCursor = FeedCursor.decodeCreatedAt(cursor);
+        List<Post> postList = timelineService.getTimeline(userId, feedCursor, clampSize(size) + 1);
+        return toPostSliceDto(postList, size, CREATED_AT_CURSOR);
+    }
+
+    // 목록 응답에 사용자의 좋아요 여부를 채운다. (게시글 수와 관계없이 쿼리 한 번, userId 가 null 이면 채우지 않음)
+    public List<PostResponseDto> applyLikedByUser(Long userId, List<PostResponseDto> posts) {
+        if (userId == null) {
+            return posts;
+        }
+
+        Set<Long> liked = likedPostResolver.resolve(userId, posts.stream().map(PostResponseDto::getId).toList());
+        posts.forEach(post -> post.setLikedByUser(liked.contains(post.getId())));
+        return posts;
+    }
+
+    // 좋아요 누른 게시글 목록은 조회할 필요 없이 모두 true
+    private List<PostResponseDto> markAllLiked(List<PostResponseDto> posts) {
+        posts.forEach(post -> post.setLikedByUser(true));
+        return posts;
+    }
+
+    // 다음 페이지 존재 여부 확인을 위해 size + 1 개를 조회
+    private Pageable limitOf(int size) {
+        return PageRequest.of(0, clampSize(size) + 1);
+    }
+
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private PostSliceDto toPostSliceDto(List<Post> postList, int size, Function<Post, FeedCursor> cursorOf) {
+        int pageSize = clampSize(size);
+        boolean hasNext = postList.size() > pageSize;
+        List<Post> page = hasNext ? postList.subList(0, pageSize) : postList;
+
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new PostSliceDto(toPostResponseDtoList(page), nextCursor, hasNext);
+    }
+
+    // 인기 순위표의 한 페이지 : 커서는 순위표 점수 기준
+    private PostSliceDto toPostSliceDto(List<Leaderboard.Entry> ranking, int size) {
+        int pageSize = clampSize(size);
+        boolean hasNext = ranking.size() > pageSize;
+        List<Leaderboard.Entry> page = hasNext ? ranking.subList(0, pageSize) : ranking;
+
+        Leaderboard.Entry last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext ? FeedCursor.ofScore(popularityLeaderboard.getMode(), last.score(), last.postId()).encode() : null;
+        return new PostSliceDto(toPostResponseDtoList(hydrate(page)), nextCursor, hasNext);
+    }
+
+    // 순위표 순서대로 게시글 조회 (그 사이 삭제된 게시글은 제외)
+    private List<Post> hydrate(List<Leaderboard.Entry> ranking) {
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> posts = postRepository.findByIdIn(ranking.stream().map(Leaderboard.Entry::postId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return ranking.stream()
+                .map(entry -> posts.get(entry.postId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 좋아요 수, 댓글 수는 post 에 반정규화된 값을 그대로 사용 (집계 쿼리 없음)
+    private List<PostResponseDto> toPostResponseDtoList(List<Post> postList) {
         List<PostResponseDto> postResponseDtoList = new ArrayList<>();
-        for(Post post : postList){
-            int likeCount = likesRepository.countLikesByPostId(post.getId());
-            int commentCount = commentRepository.countCommentsByPostId(post.getId());
-            postResponseDtoList.add(new PostResponseDto(post, commentCount, likeCount));
+        for (Post post : postList) {
+            postResponseDtoList.add(new PostResponseDto(post, post.getCommentCount(), post.getLikeCount()));
         }
         return postResponseDtoList;
     }
@@ -2,6 +2,7 @@ package goojeans.harulog.post.service;
 
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.post.domain.dto.response.DailyPostDto;
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
 import goojeans.harulog.post.domain.dto.response.YearlyPostDto;
 
 import java.util.List;
@@ -13,4 +14,9 @@ public interface PostStatisticService {
     Response<List<YearlyPostDto>> getOthersYearlyStatistics(String nickname);
 
     Response<List<DailyPostDto>> getDailyStatistics(Long userId);
+
+    // 연간 통계 압축 응답 (카테고리별 하루 한 칸)
+    Response<YearlyHeatmapDto> getYearlyHeatmap(Long userId);
+
+    Response<YearlyHeatmapDto> getOthersYearlyHeatmap(String nickname);
 }
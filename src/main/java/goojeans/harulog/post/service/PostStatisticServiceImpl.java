@@ -1,19 +1,28 @@
 package goojeans.harulog.post.service;
 
+import goojeans.harulog.common.SingleFlight;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.post.domain.dto.response.DailyPostDto;
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
 import goojeans.harulog.post.domain.dto.response.YearlyPostDto;
+import goojeans.harulog.post.domain.entity.GoalStreak;
 import goojeans.harulog.post.repository.PostStatisticRepositoryImpl;
+import goojeans.harulog.post.util.YearlyHeatmap;
+import goojeans.harulog.user.domain.entity.UserGoal;
 import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.repository.UserGoalRepository;
 import goojeans.harulog.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -23,26 +32,61 @@ public class PostStatisticServiceImpl implements PostStatisticService {
 
     private final PostStatisticRepositoryImpl postStatisticRepository;
     private final UserRepository userRepository;
+    private final UserGoalRepository userGoalRepository;
+    private final GoalStreakService goalStreakService;
+    private final SingleFlight singleFlight;
+    private final YearlyHeatmapCache yearlyHeatmapCache;
 
+    // 연간 통계는 트랜잭션 없이 읽어서, SingleFlight 로 기다리는 요청이 DB 커넥션을 잡고 있지 않게 한다.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Response<List<YearlyPostDto>> getYearlyStatistics(Long userId) {
-        List<YearlyPostDto> yearlyPostList = postStatisticRepository.findYearlyPost(userId);
+        List<YearlyPostDto> yearlyPostList = loadYearlyPost(userId);
 
         return Response.ok(yearlyPostList);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Response<List<YearlyPostDto>> getOthersYearlyStatistics(String nickname) {
         Users user = userRepository.findByNickname(nickname).orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
-        List<YearlyPostDto> yearlyPostList = postStatisticRepository.findYearlyPost(user.getId());
+        List<YearlyPostDto> yearlyPostList = loadYearlyPost(user.getId());
 
         return Response.ok(yearlyPostList);
     }
 
     @Override
     public Response<List<DailyPostDto>> getDailyStatistics(Long userId) {
-        List<DailyPostDto> dailyPostList = postStatisticRepository.findDailyPost(userId);
+        List<UserGoal> userGoals = userGoalRepository.findUserGoalsByUserId(userId);
+        Map<Long, GoalStreak> streaks = goalStreakService.findStreaks(userId, userGoals);
+        List<DailyPostDto> dailyPostList = postStatisticRepository.findDailyPost(userId, userGoals, streaks);
 
         return Response.ok(dailyPostList);
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Response<YearlyHeatmapDto> getYearlyHeatmap(Long userId) {
+        return Response.ok(yearlyHeatmapCache.get(userId, this::loadYearlyHeatmap));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Response<YearlyHeatmapDto> getOthersYearlyHeatmap(String nickname) {
+        Users user = userRepository.findByNickname(nickname).orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
+
+        return Response.ok(yearlyHeatmapCache.get(user.getId(), this::loadYearlyHeatmap));
+    }
+
+    private YearlyHeatmapDto loadYearlyHeatmap(Long userId) {
+        YearlyHeatmap heatmap = new YearlyHeatmap(LocalDate.now());
+        loadYearlyPost(userId).forEach(yearlyPost ->
+                heatmap.add(yearlyPost.getCategoryName(), yearlyPost.getDate().toLocalDate(), yearlyPost.getActivityTime()));
+        return heatmap.toDto();
+    }
+
+    // 같은 사용자의 연간 통계를 동시에 여러 번 조회하면 한 번만 집계한다.
+    private List<YearlyPostDto> loadYearlyPost(Long userId) {
+        return singleFlight.execute("post.yearly", userId, () -> postStatisticRepository.findYearlyPost(userId));
+    }
 }
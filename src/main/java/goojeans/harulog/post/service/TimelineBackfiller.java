@@ -0,0 +1,58 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.repository.TimelineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 타임라인 도입 이전 팔로우 관계의 타임라인 채우기
+ * 서버 시작 시, 타임라인에 상대방의 (시작 전) 게시글이 하나도 없는 팔로우만 골라 팔로우할 때와 같이 최근 게시글로 채운다.
+ * 이미 채운 팔로우는 다음 시작 때 건너뛰고, 채우는 도중 새 게시글이 fan-out 되어도 건너뛰지 않는다.
+ * 팔로우 키 순으로 chunk 단위로 읽고, chunk 마다 트랜잭션을 나눈다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimelineBackfiller {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final TimelineRepository timelineRepository;
+    private final TimelineService timelineService;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        timelineService.refreshHeavyAccounts();
+
+        Long followerId = 0L;
+        Long followingId = 0L;
+        int follows = 0;
+
+        while (true) {
+            List<TimelineRepository.FollowKey> chunk =
+                    timelineRepository.findFollowsWithoutTimeline(followerId, followingId, startedAt, CHUNK_SIZE);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    chunk.forEach(follow -> timelineService.backfill(follow.getFollowerId(), follow.getFollowingId())));
+
+            TimelineRepository.FollowKey last = chunk.get(chunk.size() - 1);
+            followerId = last.getFollowerId();
+            followingId = last.getFollowingId();
+            follows += chunk.size();
+        }
+
+        log.info("timeline backfill finished. follows={}", follows);
+    }
+}
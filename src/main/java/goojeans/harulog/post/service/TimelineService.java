@@ -0,0 +1,138 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.repository.PostRepository;
+import goojeans.harulog.post.repository.TimelineRepository;
+import goojeans.harulog.post.util.FeedCursor;
+import goojeans.harulog.user.repository.FollowRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 팔로우 피드 타임라인 관리
+ * 게시글 작성 시 팔로워들의 타임라인에 미리 넣어두고(fan-out-on-write), 조회 시에는 타임라인만 읽는다.
+ * 팔로워가 fanOutLimit 보다 많은 계정은 쓰기 비용이 커지므로 넣지 않고, 조회 시점에 해당 계정의 게시글을 직접 합친다(fan-out-on-read).
+ * 이런 계정 목록은 요청마다 세지 않고 메모리에 두고 heavy-refresh-interval 마다 다시 집계한다.
+ * 기준을 넘나든 계정은 다음 집계까지 이전 방식으로 처리된다.
+ * 기준 아래로 내려간 계정은 조회 시 합치지 않으므로, 그동안 타임라인에 넣지 않은 최근 게시글을 팔로워 타임라인에 채운다.
+ * (집계 시점에 커밋 전이던 게시글도 들어가도록 다음 집계 때 한 번 더 채운다)
+ * 서버 재시작 전의 목록은 남지 않으므로, 재시작 사이에 기준 아래로 내려간 계정은 TimelineBackfiller 가 채우는 팔로우만 복구된다.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private static final Comparator<Post> LATEST_FIRST =
+            Comparator.comparing(Post::getCreatedAt).thenComparing(Post::getId).reversed();
+
+    private final TimelineRepository timelineRepository;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+
+    @Value("${post.timeline.fan-out-limit:1000}")
+    private long fanOutLimit;
+
+    @Value("${post.timeline.backfill-size:100}")
+    private int backfillSize;
+
+    private volatile Set<Long> heavyAccounts = Set.of();
+
+    // 지난 집계에서 기준 아래로 내려간 계정 (refreshHeavyAccounts 에서만 사용)
+    private Set<Long> previouslyDropped = Set.of();
+
+    // 팔로워가 fanOutLimit 보다 많은 계정 다시 집계
+    @Scheduled(fixedDelayString = "${post.timeline.heavy-refresh-interval:300000}")
+    public synchronized void refreshHeavyAccounts() {
+        Set<Long> refreshed = Set.copyOf(followRepository.findHeavyAccountIds(fanOutLimit));
+        Set<Long> dropped = new HashSet<>(heavyAccounts);
+        dropped.removeAll(refreshed);
+        heavyAccounts = refreshed;
+
+        // 교체한 뒤에 채워야 그 사이에 작성된 게시글이 빠지지 않는다. (fanOut 과 겹치면 INSERT IGNORE 로 무시)
+        Set<Long> backfillTargets = new HashSet<>(dropped);
+        backfillTargets.addAll(previouslyDropped);
+        backfillTargets.removeAll(refreshed);
+        backfillTargets.forEach(authorId -> {
+            int inserted = timelineRepository.backfillFollowers(authorId, backfillSize);
+            log.info("timeline backfilled for account below fan-out limit. authorId={}, inserted={}", authorId, inserted);
+        });
+        previouslyDropped = Set.copyOf(dropped);
+    }
+
+    // 게시글 작성 시 팔로워 타임라인에 추가
+    public void fanOut(Post post) {
+        Long authorId = post.getUser().getId();
+        if (isHeavy(authorId)) {
+            return;
+        }
+        timelineRepository.fanOut(post.getId(), authorId, post.getCreatedAt());
+    }
+
+    // 팔로우 시 상대방의 최근 게시글로 타임라인 채우기
+    public void backfill(Long followerId, Long followingId) {
+        if (isHeavy(followingId)) {
+            return;
+        }
+        timelineRepository.backfill(followerId, followingId, backfillSize);
+    }
+
+    // 언팔로우 시 상대방 게시글을 타임라인에서 제거
+    public void trim(Long followerId, Long followingId) {
+        timelineRepository.deleteByFollow(followerId, followingId);
+    }
+
+    public void removePost(Long postId) {
+        timelineRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * 커서 이후의 팔로우 피드를 최신순으로 limit 개까지 조회
+     * 타임라인이 아직 없는 사용자(도입 이전 데이터)는 기존 follow join 쿼리로 조회한다.
+     */
+    public List<Post> getTimeline(Long userId, FeedCursor cursor, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+
+        if (!timelineRepository.existsByUserId(userId)) {
+            return postRepository.findPageByFollowers(userId, cursor.getCreatedAt(), cursor.getId(), pageRequest);
+        }
+
+        List<Post> timeline = postRepository.findTimelinePage(userId, cursor.getCreatedAt(), cursor.getId(), pageRequest);
+
+        Set<Long> heavy = heavyAccounts;
+        List<Long> heavyFollowingIds = heavy.isEmpty() ? List.of() : followRepository.findFollowingIdsIn(userId, heavy);
+        if (heavyFollowingIds.isEmpty()) {
+            return timeline;
+        }
+
+        List<Post> heavyPosts = postRepository.findPageByUserIds(
+                heavyFollowingIds, cursor.getCreatedAt(), cursor.getId(), pageRequest);
+
+        // 팔로워 수가 기준을 넘기 전에 들어간 게시글은 양쪽에 있을 수 있으므로 id 로 중복 제거
+        Map<Long, Post> merged = new LinkedHashMap<>();
+        timeline.forEach(post -> merged.put(post.getId(), post));
+        heavyPosts.forEach(post -> merged.putIfAbsent(post.getId(), post));
+
+        return merged.values().stream()
+                .sorted(LATEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    private boolean isHeavy(Long userId) {
+        return heavyAccounts.contains(userId);
+    }
+}
@@ -0,0 +1,73 @@
+package goojeans.harulog.post.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
+import goojeans.harulog.post.domain.event.DailyActivityChangedEvent;
+import goojeans.harulog.post.util.YearlyHeatmap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 사용자별 연간 잔디밭(압축) 캐시
+ * 사용자의 날짜별 활동 집계가 바뀌면 커밋 후에 비우고, 날짜가 바뀌어 범위가 달라진 항목은 다시 만든다.
+ * 만드는 동안 비워지면 (바뀌기 전 집계를 읽었을 수 있으므로) 만든 결과를 캐시에 넣지 않는다.
+ */
+@Component
+public class YearlyHeatmapCache {
+
+    private final Cache<Long, YearlyHeatmapDto> cache;
+
+    // 만드는 중인 사용자. invalidate 가 지우면 그 결과는 캐시에 넣지 않는다.
+    private final ConcurrentHashMap<Long, Object> loading = new ConcurrentHashMap<>();
+
+    public YearlyHeatmapCache(MeterRegistry meterRegistry,
+                              @Value("${post.heatmap-cache.max-size:10000}") long maxSize,
+                              @Value("${post.heatmap-cache.ttl:6h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post.heatmap");
+    }
+
+    public YearlyHeatmapDto get(Long userId, Function<Long, YearlyHeatmapDto> loader) {
+        YearlyHeatmapDto cached = cache.getIfPresent(userId);
+        LocalDate startDate = new YearlyHeatmap(LocalDate.now()).getStartDate();
+        if (cached != null && cached.getStartDate().equals(startDate)) {
+            return cached;
+        }
+
+        Object token = new Object();
+        loading.put(userId, token);
+        try {
+            YearlyHeatmapDto loaded = loader.apply(userId);
+            if (loading.remove(userId, token)) {
+                cache.put(userId, loaded);
+            }
+            return loaded;
+        } finally {
+            loading.remove(userId, token);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        loading.remove(userId);
+        cache.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyActivityChanged(DailyActivityChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+}
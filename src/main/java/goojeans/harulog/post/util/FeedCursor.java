@@ -0,0 +1,129 @@
+package goojeans.harulog.post.util;
+
+import goojeans.harulog.domain.BusinessException;
+import goojeans.harulog.domain.ResponseCode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * 피드 목록 keyset 페이지네이션 커서
+ * (정렬 키, post id) 쌍을 base64 로 감싸서 클라이언트에는 불투명한 문자열로만 내려준다.
+ * 정렬 키는 createdAt(마이크로초), likeCount 또는 인기 순위 점수이다.
+ * 좋아요 순 커서는 어떤 점수 기준(LeaderboardMode)으로 만든 것인지 함께 담아서, 기준이 다른 커서를 잘못 읽지 않게 한다.
+ * (좋아요 수는 ALL_TIME 점수와 같으므로 ALL_TIME 으로 표시한다)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class FeedCursor {
+
+    // MySQL datetime 최대값. 첫 페이지는 이 값보다 작은 게시글부터 조회한다.
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String DELIMITER = ":";
+
+    // 좋아요 순 커서의 점수 기준 (createdAt 커서는 null)
+    private final LeaderboardMode mode;
+    private final long key;
+    private final long id;
+
+    public static FeedCursor ofCreatedAt(LocalDateTime createdAt, Long id) {
+        LocalDateTime truncated = createdAt.truncatedTo(ChronoUnit.MICROS);
+        long micros = truncated.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + truncated.getNano() / 1_000L;
+        return new FeedCursor(null, micros, id);
+    }
+
+    public static FeedCursor ofLikeCount(int likeCount, Long id) {
+        return new FeedCursor(LeaderboardMode.ALL_TIME, likeCount, id);
+    }
+
+    // 인기 순위표 점수 기준 커서
+    public static FeedCursor ofScore(LeaderboardMode mode, long score, long id) {
+        return new FeedCursor(mode, score, id);
+    }
+
+    /**
+     * 커서가 없으면 첫 페이지를 의미하는 최대값 커서를 돌려준다.
+     */
+    public static FeedCursor decodeCreatedAt(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ofCreatedAt(MAX_CREATED_AT, Long.MAX_VALUE);
+        }
+        String[] parts = split(cursor);
+        if (parts.length != 2) {
+            throw new BusinessException(ResponseCode.POS_INVALID_CURSOR);
+        }
+        return parse(null, parts[0], parts[1]);
+    }
+
+    /**
+     * 점수 기준이 없는 커서(기준을 담기 전에 내려준 커서)는 좋아요 수 커서로 읽는다.
+     */
+    public static FeedCursor decodeScore(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return firstPage(null);
+        }
+        String[] parts = split(cursor);
+        if (parts.length == 2) {
+            return parse(LeaderboardMode.ALL_TIME, parts[0], parts[1]);
+        }
+        if (parts.length != 3) {
+            throw new BusinessException(ResponseCode.POS_INVALID_CURSOR);
+        }
+        try {
+            return parse(LeaderboardMode.valueOf(parts[0]), parts[1], parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResponseCode.POS_INVALID_CURSOR);
+        }
+    }
+
+    private static FeedCursor firstPage(LeaderboardMode mode) {
+        return ofScore(mode, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    private static String[] split(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(DELIMITER);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResponseCode.POS_INVALID_CURSOR);
+        }
+    }
+
+    private static FeedCursor parse(LeaderboardMode mode, String key, String id) {
+        try {
+            return new FeedCursor(mode, Long.parseLong(key), Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ResponseCode.POS_INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * mode 점수 기준으로 읽을 수 있는 커서. 다른 기준으로 만든 커서면 (순위표 준비 전후로 바뀐 경우 등) 첫 페이지부터 다시 조회한다.
+     */
+    public FeedCursor orFirstPage(LeaderboardMode mode) {
+        if (this.mode == mode || (key == Long.MAX_VALUE && id == Long.MAX_VALUE)) {
+            return this;
+        }
+        return firstPage(mode);
+    }
+
+    public String encode() {
+        String raw = mode == null ? key + DELIMITER + id : mode.name() + DELIMITER + key + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        long seconds = Math.floorDiv(key, 1_000_000L);
+        long micros = Math.floorMod(key, 1_000_000L);
+        return LocalDateTime.ofEpochSecond(seconds, (int) (micros * 1_000L), ZoneOffset.UTC);
+    }
+
+    public int getLikeCount() {
+        return (int) Math.min(key, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,114 @@
+package goojeans.harulog.post.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * 점수 상위 capacity 개의 게시글만 유지하는 순위표
+ * (점수 내림차순, id 내림차순) 으로 정렬되며, 갱신 / 삭제 / 페이지 조회 모두 O(log n) 이다.
+ * 동시 접근은 인스턴스 단위로 동기화한다.
+ * 한 번이라도 capacity 밖으로 밀려난 게시글이 있으면, 그 뒤에 빠진 자리는 순위표 밖의 게시글로 다시 채워야 한다. (missing)
+ */
+public class Leaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::score)
+            .thenComparingLong(Entry::postId)
+            .reversed();
+
+    private final int capacity;
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private boolean overflowed = false;
+
+    public Leaderboard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 게시글 점수 반영. 순위표가 꽉 찼고 최하위보다 낮으면 무시한다.
+     */
+    public synchronized void offer(long postId, long score) {
+        Entry previous = entries.remove(postId);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+
+        Entry entry = new Entry(postId, score);
+        if (ranking.size() >= capacity && ORDER.compare(entry, ranking.last()) > 0) {
+            overflowed = true;
+            return;
+        }
+
+        ranking.add(entry);
+        entries.put(postId, entry);
+
+        if (ranking.size() > capacity) {
+            Entry lowest = ranking.pollLast();
+            entries.remove(lowest.postId());
+            overflowed = true;
+        }
+    }
+
+    /**
+     * 순위표에 없는 게시글만 반영 (DB 에서 빈자리를 채울 때 이벤트로 갱신된 점수를 덮어쓰지 않도록)
+     */
+    public synchronized void offerIfAbsent(long postId, long score) {
+        if (!entries.containsKey(postId)) {
+            offer(postId, score);
+        }
+    }
+
+    public synchronized void remove(long postId) {
+        Entry entry = entries.remove(postId);
+        if (entry != null) {
+            ranking.remove(entry);
+        }
+    }
+
+    /**
+     * (score, postId) 커서 바로 다음부터 limit 개 조회
+     */
+    public synchronized List<Entry> after(long score, long postId, int limit) {
+        NavigableSet<Entry> tail = ranking.tailSet(new Entry(postId, score), false);
+
+        List<Entry> page = new ArrayList<>(Math.min(limit, tail.size()));
+        for (Entry entry : tail) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(entry);
+        }
+        return page;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 순위표 밖의 게시글로 채워야 하는 빈자리 수
+    public synchronized int missing() {
+        return overflowed ? capacity - ranking.size() : 0;
+    }
+
+    // 순위표 밖에 더 채울 게시글이 없을 때 호출
+    public synchronized void markExhausted() {
+        overflowed = false;
+    }
+
+    public synchronized Optional<Entry> lowest() {
+        return ranking.isEmpty() ? Optional.empty() : Optional.of(ranking.last());
+    }
+
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    public record Entry(long postId, long score) {
+    }
+}
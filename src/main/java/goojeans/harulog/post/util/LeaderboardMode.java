@@ -0,0 +1,36 @@
+package goojeans.harulog.post.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 인기 순위 점수 계산 방식
+ * ALL_TIME : 좋아요 수 그대로
+ * HOT : 좋아요 수의 log 값 + 작성 시각 (최근 글일수록 높은 점수)
+ * HOT 점수는 시간이 지나도 게시글 간 상대 순서가 변하지 않으므로 주기적으로 재계산할 필요가 없다.
+ */
+public enum LeaderboardMode {
+
+    ALL_TIME {
+        @Override
+        public long score(int likeCount, LocalDateTime createdAt) {
+            return likeCount;
+        }
+    },
+
+    HOT {
+        // 좋아요 10배 = 12.5 시간
+        private static final double SECONDS_PER_ORDER = 45_000d;
+        private static final long EPOCH_SECONDS = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        private static final double SCALE = 1_000_000d;
+
+        @Override
+        public long score(int likeCount, LocalDateTime createdAt) {
+            double order = Math.log10(Math.max(likeCount, 1));
+            double age = (createdAt.toEpochSecond(ZoneOffset.UTC) - EPOCH_SECONDS) / SECONDS_PER_ORDER;
+            return Math.round((order + age) * SCALE);
+        }
+    };
+
+    public abstract long score(int likeCount, LocalDateTime createdAt);
+}
@@ -0,0 +1,63 @@
+package goojeans.harulog.post.util;
+
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 연간 잔디밭을 카테고리별 short 배열(하루 한 칸)로 모은다.
+ * 오늘을 마지막 칸으로 DAYS 일을 담고, 범위 밖의 날짜는 무시한다.
+ */
+public class YearlyHeatmap {
+
+    public static final int DAYS = 366;
+
+    private final LocalDate startDate;
+    private final Map<String, short[]> slots = new LinkedHashMap<>();
+
+    public YearlyHeatmap(LocalDate today) {
+        this.startDate = today.minusDays(DAYS - 1);
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void add(String categoryName, LocalDate date, int minutes) {
+        long slot = ChronoUnit.DAYS.between(startDate, date);
+        if (slot < 0 || slot >= DAYS) {
+            return;
+        }
+
+        short[] days = slots.computeIfAbsent(categoryName, name -> new short[DAYS]);
+        days[(int) slot] = (short) Math.min(Short.MAX_VALUE, days[(int) slot] + Math.max(0, minutes));
+    }
+
+    public YearlyHeatmapDto toDto() {
+        Map<String, String> minutes = new LinkedHashMap<>();
+        slots.forEach((categoryName, days) -> minutes.put(categoryName, encode(days)));
+        return new YearlyHeatmapDto(startDate, DAYS, minutes);
+    }
+
+    public static String encode(short[] days) {
+        ByteBuffer buffer = ByteBuffer.allocate(days.length * Short.BYTES);
+        for (short minutes : days) {
+            buffer.putShort(minutes);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    public static short[] decode(String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        short[] days = new short[buffer.remaining() / Short.BYTES];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = buffer.getShort();
+        }
+        return days;
+    }
+}
@@ -0,0 +1,15 @@
+package goojeans.harulog.user.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 유저 닉네임 / 프로필 이미지 변경 이벤트 (최근 메세지 버퍼의 보낸 사람 정보 갱신용)
+ * nickname 은 변경 전 닉네임
+ */
+@Getter
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+
+    private String nickname;
+}
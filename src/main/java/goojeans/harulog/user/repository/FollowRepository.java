@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface FollowRepository extends JpaRepository<Follow, FollowId> {
@@ -18,6 +19,14 @@ public interface FollowRepository extends JpaRepository<Follow, FollowId> {
     @Query("select f from Follow f where f.follower.id=:userId")
     public List<Follow> findFollowingByUserId(@Param("userId") Long userId, Pageable pageable);
 
+    // 팔로워가 limit 보다 많은 계정 id (타임라인 fan-out 대상에서 제외된 계정)
+    @Query("select f.following.id from Follow f group by f.following.id having count(f) > :limit")
+    public List<Long> findHeavyAccountIds(@Param("limit") long limit);
+
+    // followingIds 중 userId 가 팔로우하는 계정 id
+    @Query("select f.following.id from Follow f where f.follower.id=:userId and f.following.id in :followingIds")
+    public List<Long> findFollowingIdsIn(@Param("userId") Long userId, @Param("followingIds") Collection<Long> followingIds);
+
     //TODO: 추후에 soft delete 로 전환
     @Modifying
     @Query("delete from Follow f where f.id=:followId")
@@ -3,6 +3,7 @@ package goojeans.harulog.user.service;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
+import goojeans.harulog.post.service.TimelineService;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.user.domain.dto.request.FollowRequest;
 import goojeans.harulog.user.domain.dto.response.FollowInfo;
@@ -29,6 +30,7 @@ public class FollowServiceImpl implements FollowService {
     private final UserRepository userRepository;
     private final FollowRepository followRepository;
     private final SecurityUtils securityUtils;
+    private final TimelineService timelineService;
 
     private final static Integer PAGE_SIZE = 10;
 
@@ -114,6 +116,8 @@ public class FollowServiceImpl implements FollowService {
         follower.addFollowing(follow);
         following.addFollower(follow);
 
+        timelineService.backfill(follower.getId(), following.getId());
+
         return Response.ok();
 
     }
@@ -127,6 +131,7 @@ public class FollowServiceImpl implements FollowService {
                 .orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
 
         followRepository.deleteFollow(new FollowId(currentUserInfo.getId(), following.getId()));
+        timelineService.trim(currentUserInfo.getId(), following.getId());
 
         return Response.ok();
 
@@ -141,6 +146,7 @@ public class FollowServiceImpl implements FollowService {
                 .orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
 
         followRepository.deleteFollow(new FollowId(follower.getId(), currentUserInfo.getId()));
+        timelineService.trim(follower.getId(), currentUserInfo.getId());
 
         return Response.ok();
 
@@ -9,11 +9,13 @@ import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.domain.dto.ImageUrlString;
 import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.domain.event.UserProfileChangedEvent;
 import goojeans.harulog.user.repository.UserRepository;
 import goojeans.harulog.user.util.SecurityUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -30,6 +32,7 @@ public class ImageServiceImpl implements ImageService{
     private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
     private final FirebaseApp firebaseApp;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Response<ImageUrlString> uploadUserImage(MultipartFile image) {
@@ -54,6 +57,7 @@ public class ImageServiceImpl implements ImageService{
         }
 
         user.updateImageUrl(blob);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getNickname()));
 
         return Response.ok(new ImageUrlString(blob));
     }
@@ -3,6 +3,7 @@ package goojeans.harulog.user.service;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
+import goojeans.harulog.post.service.GoalStreakService;
 import goojeans.harulog.user.domain.dto.request.UpdateUserGoalsRequest;
 import goojeans.harulog.user.domain.dto.response.UserGoalResponse;
 import goojeans.harulog.user.domain.entity.UserGoal;
@@ -13,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Service
@@ -21,6 +23,7 @@ import java.util.List;
 public class UserGoalServiceImpl implements UserGoalService {
 
     private final UserGoalRepository userGoalRepository;
+    private final GoalStreakService goalStreakService;
 
     @Override
     public Response<List<UserGoalResponse>> findUserGoalsByUserId(Long id) {
@@ -46,7 +49,12 @@ public class UserGoalServiceImpl implements UserGoalService {
                         .filter(updateGoalsDto ->
                                 updateGoalsDto.getCategoryName().equals(userGoal.getCategory().getCategoryName()))
                         .findAny()
-                        .ifPresent(updateGoalsDto -> userGoal.updateGoal(updateGoalsDto.getGoal()))
+                        .filter(updateGoalsDto -> !Objects.equals(updateGoalsDto.getGoal(), userGoal.getGoal()))
+                        .ifPresent(updateGoalsDto -> {
+                            userGoal.updateGoal(updateGoalsDto.getGoal());
+                            // 목표가 바뀌면 달성 기록은 오늘부터 다시 센다.
+                            goalStreakService.reset(request.getUserId(), userGoal.getCategory().getCategoryId());
+                        })
         );
 
         List<UserGoalResponse> responseList = findUserGoals.stream()
@@ -2,6 +2,7 @@ package goojeans.harulog.user.service;
 
 import goojeans.harulog.category.domain.entity.Category;
 import goojeans.harulog.category.repository.CategoryRepository;
+import goojeans.harulog.common.SingleFlight;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
@@ -15,6 +16,7 @@ import goojeans.harulog.user.domain.dto.response.UserInfoEditResponse;
 import goojeans.harulog.user.domain.entity.Follow;
 import goojeans.harulog.user.domain.entity.UserGoal;
 import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.domain.event.UserProfileChangedEvent;
 import goojeans.harulog.user.repository.UserGoalRepository;
 import goojeans.harulog.user.repository.UserRepository;
 import goojeans.harulog.user.util.JwtTokenProvider;
@@ -22,6 +24,7 @@ import goojeans.harulog.user.util.SecurityUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -29,7 +32,9 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -43,6 +48,8 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final CategoryRepository categoryRepository;
     private final UserGoalRepository userGoalRepository;
+    private final SingleFlight singleFlight;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Response<Void> signUp(SignUpRequest request) {
@@ -105,9 +112,11 @@ public class UserServiceImpl implements UserService {
                 .findAny()
                 .orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
 
+        String nickname = users.getNickname();
         users.updateNickname(request.getNickname());
         users.updateIntroduction(request.getIntroduction());
         users.updateContactNumber(request.getContactNumber());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(nickname));
 
         Authentication auth = jwtTokenProvider.createAuthentication(users);
 
@@ -149,27 +158,42 @@ public class UserServiceImpl implements UserService {
         return Response.ok();
     }
 
+    // 트랜잭션 없이 읽어서, SingleFlight 로 기다리는 요청이 DB 커넥션을 잡고 있지 않게 한다.
+    // (팔로워 / 팔로잉은 findByNickname 의 EntityGraph 로 함께 읽는다)
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public Response<MyPageInfoResponse> getMyPageUserInfo(String nickname) {
 
         JwtUserDetail currentUserInfo = securityUtils.getCurrentUserInfo();
 
+        // 같은 프로필을 동시에 여러 번 조회하면 한 번만 읽고, 팔로우 여부만 요청마다 채운다.
+        MyPageSnapshot snapshot = singleFlight.execute("user.mypage", nickname, () -> loadMyPageSnapshot(nickname));
+
+        MyPageInfoResponse response = snapshot.response().toBuilder().build();
+        if (snapshot.followerIds().contains(currentUserInfo.getId())){
+            response.setFollowing(true);
+        }
+
+        return Response.ok(response);
+    }
+
+    private MyPageSnapshot loadMyPageSnapshot(String nickname) {
         Users findUser = userRepository.findByNickname(nickname).stream()
                 .findAny()
                 .orElseThrow(() -> new BusinessException(ResponseCode.USER_NOT_FOUND));
 
         Set<Follow> followers = findUser.getFollowers();
-        boolean present = followers != null && followers.stream()
-                .anyMatch(follow ->
-                        follow.getFollower() != null &&
-                                follow.getFollower().getId().equals(currentUserInfo.getId()));
+        Set<Long> followerIds = followers == null ? Set.of() : followers.stream()
+                .map(Follow::getFollower)
+                .filter(Objects::nonNull)
+                .map(Users::getId)
+                .collect(Collectors.toUnmodifiableSet());
 
-        MyPageInfoResponse response = MyPageInfoResponse.entityToResponse(findUser);
-        if (present){
-            response.setFollowing(true);
-        }
+        return new MyPageSnapshot(MyPageInfoResponse.entityToResponse(findUser), followerIds);
+    }
 
-        return Response.ok(response);
+    // 요청한 사용자와 무관한 마이페이지 정보 (여러 요청이 공유하므로 수정하지 않는다)
+    private record MyPageSnapshot(MyPageInfoResponse response, Set<Long> followerIds) {
     }
 
     @Override
@@ -0,0 +1,5 @@
+-- 읽지 않은 메세지 개수 컬럼 삭제 (contract)
+-- V3 이전 서버가 모두 내려간 다음 배포에서 spring.flyway.locations 에 classpath:db/contract 를 추가해서 적용한다.
+
+ALTER TABLE chatroom_user
+    DROP COLUMN unread_message_count;
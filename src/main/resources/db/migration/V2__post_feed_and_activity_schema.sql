@@ -0,0 +1,73 @@
+-- V1 : 이 변경 이전의 운영 스키마 (flyway baseline)
+-- 게시글 좋아요 / 댓글 수 반정규화, 피드 인덱스, 타임라인, 활동 집계, 목표 달성 기록, 챌린지 참여자 수 / 하루 결과, 메세지 id 블록
+-- 값은 서버 시작 시 PostCountReconciler, ChallengeParticipantCountReconciler, TimelineBackfiller, DailyActivityService 가 채운다.
+
+ALTER TABLE post
+    ADD COLUMN like_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN comment_count INT NOT NULL DEFAULT 0,
+    ADD INDEX idx_post_like_count (like_count, post_id),
+    ADD INDEX idx_post_category_like_count (category_id, like_count, post_id),
+    ADD INDEX idx_post_created_at (created_at, post_id),
+    ADD INDEX idx_post_user_created_at (user_id, created_at, post_id);
+
+ALTER TABLE comment
+    ADD INDEX idx_comment_post_parent (post_id, parent_comment_id, comment_id),
+    ADD INDEX idx_comment_parent (parent_comment_id, comment_id);
+
+CREATE TABLE timeline (
+    timeline_id     BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id         BIGINT      NOT NULL,
+    post_id         BIGINT      NOT NULL,
+    author_id       BIGINT      NOT NULL,
+    post_created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (timeline_id),
+    CONSTRAINT timeline_uk UNIQUE (user_id, post_id),
+    INDEX idx_timeline_user_created_at (user_id, post_created_at, post_id),
+    INDEX idx_timeline_user_author (user_id, author_id),
+    INDEX idx_timeline_post (post_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE daily_activity (
+    daily_activity_id   BIGINT  NOT NULL AUTO_INCREMENT,
+    user_id             BIGINT  NOT NULL,
+    activity_date       DATE    NOT NULL,
+    category_id         BIGINT  NOT NULL,
+    total_activity_time INT     NOT NULL,
+    post_count          INT     NOT NULL,
+    goal_met            BIT     NOT NULL,
+    PRIMARY KEY (daily_activity_id),
+    CONSTRAINT daily_activity_uk UNIQUE (user_id, activity_date, category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE goal_streak (
+    goal_streak_id      BIGINT NOT NULL AUTO_INCREMENT,
+    user_id             BIGINT NOT NULL,
+    category_id         BIGINT NOT NULL,
+    since_date          DATE   NOT NULL,
+    success_days        INT    NOT NULL,
+    current_streak      INT    NOT NULL,
+    longest_streak      INT    NOT NULL,
+    last_success_date   DATE   NULL,
+    last_evaluated_date DATE   NULL,
+    PRIMARY KEY (goal_streak_id),
+    CONSTRAINT goal_streak_uk UNIQUE (user_id, category_id)
+) ENGINE = InnoDB;
+
+ALTER TABLE challenge
+    ADD COLUMN participant_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE challenge_daily_result (
+    challenge_daily_result_id BIGINT NOT NULL AUTO_INCREMENT,
+    challenge_id              BIGINT NOT NULL,
+    user_id                   BIGINT NOT NULL,
+    result_date               DATE   NOT NULL,
+    success                   BIT    NOT NULL,
+    PRIMARY KEY (challenge_daily_result_id),
+    CONSTRAINT challenge_daily_result_uk UNIQUE (challenge_id, user_id, result_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE message_id_block (
+    block_name VARCHAR(255) NOT NULL,
+    next_id    BIGINT       NOT NULL,
+    PRIMARY KEY (block_name)
+) ENGINE = InnoDB;
@@ -0,0 +1,25 @@
+-- 읽지 않은 메세지 개수를 메세지 번호로 계산하도록 바꾼 스키마 (expand)
+-- 1. chatroom.chatroom_last_seq, chatroom_user.last_read_seq, message.seq 컬럼을 추가한다.
+-- 2. 읽지 않은 개수가 그대로 유지되도록 번호를 채운다.
+--    채팅방의 마지막 번호 = 참여자 중 가장 큰 unread_message_count, last_read_seq = 마지막 번호 - unread_message_count
+-- 3. 새 서버는 unread_message_count 를 쓰지 않으므로 기본값을 준다. (배포 중인 이전 서버를 위해 컬럼은 남긴다)
+-- 컬럼 삭제는 모든 서버가 이 버전으로 바뀐 뒤 db/contract 의 migration 으로 한다.
+
+ALTER TABLE chatroom
+    ADD COLUMN chatroom_last_seq BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE chatroom_user
+    ADD COLUMN last_read_seq BIGINT NOT NULL DEFAULT 0,
+    MODIFY COLUMN unread_message_count INT NOT NULL DEFAULT 0;
+
+ALTER TABLE message
+    ADD COLUMN seq BIGINT NULL;
+
+UPDATE chatroom r
+    JOIN (SELECT chatroom_id, MAX(unread_message_count) AS unread FROM chatroom_user GROUP BY chatroom_id) u
+    ON u.chatroom_id = r.chatroom_id
+SET r.chatroom_last_seq = GREATEST(r.chatroom_last_seq, u.unread);
+
+UPDATE chatroom_user cu
+    JOIN chatroom r ON r.chatroom_id = cu.chatroom_id
+SET cu.last_read_seq = r.chatroom_last_seq - cu.unread_message_count;
@@ -1,6 +1,7 @@
 package goojeans.harulog.challenge.repository;
 
 import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse;
 import goojeans.harulog.challenge.domain.entity.Challenge;
 import goojeans.harulog.challenge.domain.entity.ChallengeUser;
 import goojeans.harulog.chat.domain.entity.ChatRoom;
@@ -21,6 +22,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -160,6 +163,33 @@ class ChallengeRepositoryTest {
         Assertions.assertThat(findChallengeUser2).isNull();
     }
 
+    @Test
+    @DisplayName("목록 조회는 참여자 수를 바로 담고, 보정하면 challenge_user 수와 같아진다")
+    void participantCount() {
+        //Given
+        challenge1.addChallengeUser(ChallengeUser.create(user1, challenge1));
+        challenge1.addChallengeUser(ChallengeUser.create(user2, challenge1));
+        challengeRepository.save(challenge1);
+        em.flush();
+
+        //When
+        int fixed = challengeRepository.reconcileParticipantCounts();
+        challengeRepository.addParticipantCount(challenge2.getChallengeId(), 1);
+        em.clear();
+
+        //Then
+        Assertions.assertThat(fixed).isEqualTo(1);
+        Map<Long, Integer> counts = challengeRepository.findAllSummaries().stream()
+                .collect(Collectors.toMap(ChallengeAllResponse::getChallengeId, ChallengeAllResponse::getChallengeUserCount));
+        Assertions.assertThat(counts).containsEntry(challenge1.getChallengeId(), 2)
+                .containsEntry(challenge2.getChallengeId(), 1)
+                .containsEntry(challenge3.getChallengeId(), 0);
+
+        List<ChallengeAllResponse> userSummaries = challengeRepository.findSummariesByUserId(user1.getId());
+        Assertions.assertThat(userSummaries).hasSize(1);
+        Assertions.assertThat(userSummaries.get(0).getCategoryName()).isEqualTo(challenge1.getCategory().getCategoryName());
+    }
+
     Users createUser(String email, String nickname) {
         Users user = Users.builder()
                 .email(email)
@@ -68,4 +68,63 @@ class ChallengeUserRepositoryTest {
         Assertions.assertThat(findChallengeUser).isNotNull();
         Assertions.assertThat(findChallengeUser.getChallenge().getChallengeId()).isEqualTo(challenge.getChallengeId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("같은 카테고리 참여 기록과 탈퇴 기록을 한 번에 조회하기")
+    void findMemberships() {
+
+        Category exercise = em.find(Category.class, 1L);
+        Category reading = em.find(Category.class, 3L);
+
+        Users user = Users.builder()
+                .email("member@test.com")
+                .password("test")
+                .userName("test")
+                .nickname("member")
+                .socialType(SocialType.HARU)
+                .build();
+        em.persist(user);
+
+        Challenge joined = createChallenge("joined", exercise);
+        Challenge left = createChallenge("left", reading);
+        Challenge other = createChallenge("other", reading);
+
+        ChallengeUser joinedUser = ChallengeUser.create(user, joined);
+        joined.addChallengeUser(joinedUser);
+        ChallengeUser leftUser = ChallengeUser.create(user, left);
+        left.addChallengeUser(leftUser);
+        em.flush();
+
+        left.removeChallengeUser(leftUser);
+        challengeUserRepository.delete(leftUser);
+        em.flush();
+        em.clear();
+
+        //같은 카테고리(운동)에 참여 중
+        Assertions.assertThat(challengeUserRepository.findMemberships(user.getId(), exercise.getCategoryId(), null))
+                .extracting(ChallengeUserRepository.Membership::getChallengeId)
+                .containsExactly(joined.getChallengeId());
+
+        //독서 카테고리는 탈퇴한 기록만 있고, 다른 챌린지로 조회하면 아무것도 없다
+        Assertions.assertThat(challengeUserRepository.findMemberships(user.getId(), reading.getCategoryId(), left.getChallengeId()))
+                .singleElement()
+                .satisfies(membership -> Assertions.assertThat(membership.isActive()).isFalse());
+        Assertions.assertThat(challengeUserRepository.findMemberships(user.getId(), reading.getCategoryId(), other.getChallengeId()))
+                .isEmpty();
+    }
+
+    private Challenge createChallenge(String title, Category category) {
+        Challenge challenge = Challenge.builder()
+                .challengeTitle(title)
+                .challengeContent("test")
+                .challengeGoal(3)
+                .submission("test submit")
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().plusDays(1))
+                .category(category)
+                .chatroom(ChatRoom.createChallenge(title, null))
+                .build();
+        em.persist(challenge);
+        return challenge;
+    }
+}
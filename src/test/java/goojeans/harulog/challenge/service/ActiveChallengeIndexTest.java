@@ -0,0 +1,85 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.domain.event.ChallengeChangedEvent;
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveChallengeIndexTest {
+
+    @InjectMocks
+    ActiveChallengeIndex activeChallengeIndex;
+
+    @Mock
+    ChallengeRepository challengeRepository;
+
+    @Test
+    @DisplayName("서로 다른 id 를 요청한 개수만큼 뽑고, 전체가 더 적으면 모두 돌려준다")
+    void sample() {
+        //Given
+        when(challengeRepository.findAllIds()).thenReturn(LongStream.rangeClosed(1, 100).boxed().toList());
+        activeChallengeIndex.reload();
+
+        //When
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            List<Long> sampled = activeChallengeIndex.sample(4);
+
+            //Then
+            assertThat(sampled).hasSize(4).doesNotHaveDuplicates();
+            assertThat(sampled).allMatch(id -> id >= 1 && id <= 100);
+            seen.addAll(sampled);
+        }
+        assertThat(seen.size()).isGreaterThan(4);
+        assertThat(activeChallengeIndex.sample(200)).hasSize(100).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("생성 / 삭제 이벤트가 인덱스에 반영된다")
+    void addAndRemove() {
+        //Given
+        when(challengeRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        activeChallengeIndex.reload();
+
+        //When
+        activeChallengeIndex.onChallengeChanged(ChallengeChangedEvent.deleted(1L));
+        activeChallengeIndex.onChallengeChanged(new ChallengeChangedEvent(4L, "new", false));
+        activeChallengeIndex.onChallengeChanged(new ChallengeChangedEvent(4L, "updated", false));
+        activeChallengeIndex.onChallengeChanged(ChallengeChangedEvent.deleted(9L));
+
+        //Then
+        assertThat(activeChallengeIndex.size()).isEqualTo(3);
+        assertThat(activeChallengeIndex.sample(10)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("다시 읽는 동안 들어온 생성 / 삭제 이벤트도 새 인덱스에 반영된다")
+    void changedDuringReload() {
+        //Given
+        when(challengeRepository.findAllIds()).thenAnswer(invocation -> {
+            // id 를 읽은 뒤에 커밋된 변경
+            activeChallengeIndex.onChallengeChanged(new ChallengeChangedEvent(4L, "new", false));
+            activeChallengeIndex.onChallengeChanged(ChallengeChangedEvent.deleted(1L));
+            return List.of(1L, 2L, 3L);
+        });
+
+        //When
+        activeChallengeIndex.reload();
+
+        //Then
+        assertThat(activeChallengeIndex.sample(10)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+}
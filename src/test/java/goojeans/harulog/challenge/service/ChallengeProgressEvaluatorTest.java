@@ -0,0 +1,133 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuerydslConfig.class, ChallengeProgressEvaluator.class})
+class ChallengeProgressEvaluatorTest {
+
+    @Autowired
+    ChallengeProgressEvaluator challengeProgressEvaluator;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private Category exercise;
+    private Category wakeUp;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        exercise = em.find(Category.class, 1L);
+        wakeUp = em.find(Category.class, 2L);
+    }
+
+    @Test
+    @DisplayName("참여자 전체의 오늘 달성 여부를 한 번의 쿼리로 계산한다")
+    void evaluateToday() {
+        //Given
+        Users done = createUser("done");
+        Users notYet = createUser("notYet");
+        Users noPost = createUser("noPost");
+        createPost(done, exercise, 40);
+        createPost(done, exercise, 30);
+        createPost(notYet, exercise, 50);
+        createPost(notYet, wakeUp, 600);
+        Challenge challenge = challenge(exercise, 60);
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        //When
+        Map<Long, Boolean> successMap = challengeProgressEvaluator.evaluateToday(challenge,
+                List.of(done.getId(), notYet.getId(), noPost.getId()));
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(successMap).containsExactlyInAnyOrderEntriesOf(Map.of(
+                done.getId(), true,
+                notYet.getId(), false,
+                noPost.getId(), false));
+    }
+
+    @Test
+    @DisplayName("기상 챌린지는 가장 이른 기상 시각이 목표 이하이면 달성이다")
+    void evaluateWakeUp() {
+        //Given
+        Users early = createUser("early");
+        Users late = createUser("late");
+        createPost(early, wakeUp, 800);
+        createPost(early, wakeUp, 630);
+        createPost(late, wakeUp, 730);
+        Challenge challenge = challenge(wakeUp, 700);
+        em.flush();
+
+        //When
+        Map<Long, Boolean> successMap = challengeProgressEvaluator.evaluateToday(challenge, List.of(early.getId(), late.getId()));
+
+        //Then
+        assertThat(successMap.get(early.getId())).isTrue();
+        assertThat(successMap.get(late.getId())).isFalse();
+    }
+
+    private Challenge challenge(Category category, int goal) {
+        return Challenge.builder()
+                .challengeTitle("challenge")
+                .challengeContent("test")
+                .challengeGoal(goal)
+                .submission("test")
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().plusDays(1))
+                .category(category)
+                .build();
+    }
+
+    private Users createUser(String name) {
+        Users user = Users.builder()
+                .email(name)
+                .password("test")
+                .userName("test")
+                .nickname(name)
+                .socialType(SocialType.HARU)
+                .build();
+        em.persist(user);
+        return user;
+    }
+
+    private void createPost(Users user, Category category, int activityTime) {
+        em.persist(Post.builder()
+                .content("content")
+                .user(user)
+                .category(category)
+                .activityTime(activityTime)
+                .goal(0)
+                .build());
+    }
+}
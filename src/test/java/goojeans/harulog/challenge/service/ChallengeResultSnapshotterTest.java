@@ -0,0 +1,232 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.challenge.domain.entity.ChallengeDailyResult;
+import goojeans.harulog.challenge.domain.entity.ChallengeUser;
+import goojeans.harulog.challenge.repository.ChallengeDailyResultRepository;
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import goojeans.harulog.challenge.repository.ChallengeUserRepository;
+import goojeans.harulog.chat.domain.entity.ChatRoom;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기록은 다른 스레드(ForkJoinPool)에서 읽으므로 테스트 데이터를 실제로 커밋하고 끝나면 지운다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({QuerydslConfig.class, ChallengeProgressEvaluator.class})
+class ChallengeResultSnapshotterTest {
+
+    @Autowired ChallengeRepository challengeRepository;
+    @Autowired ChallengeUserRepository challengeUserRepository;
+    @Autowired ChallengeDailyResultRepository challengeDailyResultRepository;
+    @Autowired ChallengeProgressEvaluator challengeProgressEvaluator;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    private ChallengeResultSnapshotter snapshotter;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> challengeIds = new ArrayList<>();
+    private final List<String> chatRoomIds = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        // chunk 하나에 챌린지 하나씩, 두 스레드로 처리한다.
+        snapshotter = new ChallengeResultSnapshotter(challengeRepository, challengeUserRepository, challengeProgressEvaluator,
+                jdbcTemplate, transactionTemplate, meterRegistry, 1, 500, 2);
+    }
+
+    @AfterEach
+    void afterEach() {
+        snapshotter.shutdown();
+        String challenges = challengeIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String users = userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String rooms = chatRoomIds.stream().map(id -> "'" + id + "'").collect(Collectors.joining(","));
+        jdbcTemplate.update("delete from challenge_daily_result where challenge_id in (" + challenges + ")");
+        jdbcTemplate.update("delete from post where user_id in (" + users + ")");
+        jdbcTemplate.update("delete from challenge_user where challenge_id in (" + challenges + ")");
+        jdbcTemplate.update("delete from challenge where challenge_id in (" + challenges + ")");
+        jdbcTemplate.update("delete from chatroom where chatroom_id in (" + rooms + ")");
+        jdbcTemplate.update("delete from users where user_id in (" + users + ")");
+    }
+
+    @Test
+    @DisplayName("진행 중인 챌린지 참여자의 하루 결과를 chunk 별로 기록하고, 다시 실행하면 덮어쓴다")
+    void snapshot() {
+        //Given
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long done = createUser(prefix + "done");
+        Long notYet = createUser(prefix + "notYet");
+        Long exercise = createChallenge(1L, 60, done, notYet);
+        Long wakeUp = createChallenge(2L, 700, done);
+        createPost(done, 1L, 40);
+        createPost(done, 1L, 30);
+        createPost(notYet, 1L, 30);
+        createPost(done, 2L, 630);
+        LocalDate today = LocalDate.now();
+
+        //When
+        int firstRows = snapshotter.snapshot(today);
+        Map<Long, Boolean> exerciseBefore = results(exercise);
+        createPost(notYet, 1L, 40);
+        snapshotter.snapshot(today);
+
+        //Then
+        assertThat(firstRows).isGreaterThanOrEqualTo(3);
+        assertThat(exerciseBefore).containsExactlyInAnyOrderEntriesOf(Map.of(done, true, notYet, false));
+        assertThat(results(exercise)).containsExactlyInAnyOrderEntriesOf(Map.of(done, true, notYet, true));
+        assertThat(results(wakeUp)).containsExactlyInAnyOrderEntriesOf(Map.of(done, true));
+        assertThat(challengeDailyResultRepository.findSuccessesByChallengeId(exercise))
+                .extracting(ChallengeDailyResult::getResultDate)
+                .containsOnly(today);
+
+        double total = meterRegistry.get("challenge.result_snapshot.total").gauge().value();
+        assertThat(total).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("challenge.result_snapshot.processed").gauge().value()).isEqualTo(total);
+        assertThat(meterRegistry.get("challenge.result_snapshot.failures").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("서버 시작 시 진행 중인 챌린지의 지난 날짜 중 기록이 없는 날을 참여한 날부터 채운다")
+    void backfill() throws Exception {
+        //Given
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long member = createUser(prefix + "member");
+        Long lateMember = createUser(prefix + "late");
+        LocalDate today = LocalDate.now();
+        Long challenge = createChallenge(1L, 60, LocalDateTime.now().minusDays(3), member, lateMember);
+        joinedAt(challenge, member, LocalDateTime.now().minusDays(3));
+        joinedAt(challenge, lateMember, LocalDateTime.now().minusDays(1));
+
+        //When
+        snapshotter.backfill().get(30, TimeUnit.SECONDS);
+
+        //Then
+        assertThat(challengeDailyResultRepository.findByChallengeId(challenge))
+                .filteredOn(result -> result.getUserId().equals(member))
+                .extracting(ChallengeDailyResult::getResultDate)
+                .containsExactlyInAnyOrder(today.minusDays(3), today.minusDays(2), today.minusDays(1));
+        assertThat(challengeDailyResultRepository.findByChallengeId(challenge))
+                .filteredOn(result -> result.getUserId().equals(lateMember))
+                .extracting(ChallengeDailyResult::getResultDate)
+                .containsExactly(today.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("다른 기록이 실행 중이어도 전날 기록을 건너뛰지 않고 순서대로 기록한다")
+    void snapshotYesterdayWhileRunning() {
+        //Given
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long member = createUser(prefix + "member");
+        LocalDate today = LocalDate.now();
+        Long challenge = createChallenge(1L, 60, LocalDateTime.now().minusDays(2), member);
+        joinedAt(challenge, member, LocalDateTime.now().minusDays(2));
+
+        //When
+        snapshotter.snapshotYesterday();
+        snapshotter.snapshot(today);
+
+        //Then
+        assertThat(challengeDailyResultRepository.findByChallengeId(challenge))
+                .extracting(ChallengeDailyResult::getResultDate)
+                .containsExactlyInAnyOrder(today.minusDays(1), today);
+    }
+
+    private void joinedAt(Long challengeId, Long userId, LocalDateTime joinedAt) {
+        jdbcTemplate.update("update challenge_user set created_at = ? where challenge_id = ? and user_id = ?",
+                joinedAt, challengeId, userId);
+    }
+
+    private Map<Long, Boolean> results(Long challengeId) {
+        return challengeDailyResultRepository.findByChallengeId(challengeId).stream()
+                .collect(Collectors.toMap(ChallengeDailyResult::getUserId, ChallengeDailyResult::isSuccess));
+    }
+
+    private Long createUser(String name) {
+        Long userId = transactionTemplate.execute(status -> {
+            Users user = Users.builder()
+                    .email(name)
+                    .password("test")
+                    .userName("test")
+                    .nickname(name)
+                    .socialType(SocialType.HARU)
+                    .build();
+            em.persist(user);
+            return user.getId();
+        });
+        userIds.add(userId);
+        return userId;
+    }
+
+    private Long createChallenge(Long categoryId, int goal, Long... memberIds) {
+        return createChallenge(categoryId, goal, LocalDateTime.now().minusHours(1), memberIds);
+    }
+
+    private Long createChallenge(Long categoryId, int goal, LocalDateTime startDate, Long... memberIds) {
+        Challenge saved = transactionTemplate.execute(status -> {
+            ChatRoom chatRoom = ChatRoom.createChallenge("snapshot", null);
+            Challenge challenge = Challenge.builder()
+                    .challengeTitle("snapshot")
+                    .challengeContent("test")
+                    .challengeGoal(goal)
+                    .submission("test")
+                    .startDate(startDate)
+                    .endDate(LocalDateTime.now().plusDays(7))
+                    .category(em.find(Category.class, categoryId))
+                    .chatroom(chatRoom)
+                    .build();
+            em.persist(challenge);
+            for (Long memberId : memberIds) {
+                challenge.addChallengeUser(ChallengeUser.create(em.find(Users.class, memberId), challenge));
+            }
+            return challenge;
+        });
+        challengeIds.add(saved.getChallengeId());
+        chatRoomIds.add(saved.getChatroom().getId());
+        return saved.getChallengeId();
+    }
+
+    private void createPost(Long userId, Long categoryId, int activityTime) {
+        transactionTemplate.executeWithoutResult(status -> em.persist(Post.builder()
+                .content("content")
+                .user(em.find(Users.class, userId))
+                .category(em.find(Category.class, categoryId))
+                .activityTime(activityTime)
+                .goal(0)
+                .build()));
+    }
+}
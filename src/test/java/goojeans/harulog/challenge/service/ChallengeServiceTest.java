@@ -6,19 +6,24 @@ import goojeans.harulog.challenge.domain.dto.request.ChallengeJoinRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeLeaveRequest;
 import goojeans.harulog.challenge.domain.dto.request.ChallengeRequest;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeAllResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeMemberHistoryResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeRankResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeRankingResponse;
 import goojeans.harulog.challenge.domain.dto.response.ChallengeResponse;
+import goojeans.harulog.challenge.domain.dto.response.ChallengeSearchResponse;
 import goojeans.harulog.challenge.domain.entity.Challenge;
+import goojeans.harulog.challenge.domain.entity.ChallengeDailyResult;
 import goojeans.harulog.challenge.domain.entity.ChallengeUser;
+import goojeans.harulog.challenge.repository.ChallengeDailyResultRepository;
 import goojeans.harulog.challenge.repository.ChallengeRepository;
 import goojeans.harulog.challenge.repository.ChallengeUserRepository;
 import goojeans.harulog.challenge.util.ChallengeRole;
+import goojeans.harulog.challenge.util.RankingTreap;
 import goojeans.harulog.chat.domain.entity.ChatRoom;
 import goojeans.harulog.chat.service.ChatRoomServiceImpl;
 import goojeans.harulog.chat.service.ChatRoomUserServiceImpl;
 import goojeans.harulog.domain.BusinessException;
 import goojeans.harulog.domain.dto.Response;
-import goojeans.harulog.post.domain.entity.Post;
-import goojeans.harulog.post.repository.PostRepository;
 import goojeans.harulog.user.domain.entity.Users;
 import goojeans.harulog.user.repository.UserRepository;
 import goojeans.harulog.user.util.SocialType;
@@ -32,12 +37,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @Slf4j
@@ -52,7 +59,12 @@ class ChallengeServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private CategoryRepository categoryRepository;
     @Mock private ChallengeUserRepository challengeUserRepository;
-    @Mock private PostRepository postRepository;
+    @Mock private ChallengeDailyResultRepository challengeDailyResultRepository;
+    @Mock private ChallengeProgressEvaluator challengeProgressEvaluator;
+    @Mock private ActiveChallengeIndex activeChallengeIndex;
+    @Mock private ChallengeTitleIndex challengeTitleIndex;
+    @Mock private ChallengeRankingBoard challengeRankingBoard;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @Mock private ChatRoomServiceImpl chatRoomService;
     @Mock private ChatRoomUserServiceImpl chatRoomUserService;
 
@@ -98,7 +110,6 @@ class ChallengeServiceTest {
     @DisplayName("새 챌린지 생성 후 첫 참여하기")
     void createChallenge() {
         ChallengeRequest request = new ChallengeRequest("tester", "test challenge", 3, "test", LocalDateTime.now(), LocalDateTime.now().plusDays(1), "운동");
-        List<Post> posts = new ArrayList<>();
 
         ChallengeUser challengeUser = ChallengeUser.create(user, challenge);
         challengeUser.updateRole();
@@ -108,7 +119,7 @@ class ChallengeServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(categoryRepository.findByCategoryName("운동")).thenReturn(Optional.of(category));
         when(challengeRepository.save(any(Challenge.class))).thenReturn(challenge);
-        when(postRepository.findByUserIdAndToday(userId, LocalDate.now().atStartOfDay())).thenReturn(posts);
+        when(challengeProgressEvaluator.evaluateToday(any(Challenge.class), anyCollection())).thenReturn(Map.of(userId, false));
         when(chatRoomService.createChallengeChatRoom(request.getChallengeTitle(), "image/challenge/default.png")).thenReturn(room);
 
         Response<ChallengeResponse> response = challengeService.registerChallenge(user.getId(), request);
@@ -123,11 +134,9 @@ class ChallengeServiceTest {
     void createChallengeWithError() {
 
         ChallengeRequest request = new ChallengeRequest("tester", "test challenge", 3, "test", LocalDateTime.now(), LocalDateTime.now().plusDays(1), "운동");
-        List<Challenge> userChallenges = new ArrayList<>(Arrays.asList(challenge));
-
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(categoryRepository.findByCategoryName("운동")).thenReturn(Optional.of(category));
-        when(challengeRepository.findAllByUserId(userId)).thenReturn(userChallenges);
+        when(challengeUserRepository.findMemberships(userId, categoryId, null)).thenReturn(List.of(membership(2L, "ACTIVE")));
 
         Assertions.assertThatThrownBy(() -> challengeService.registerChallenge(user.getId(), request)).isInstanceOf(BusinessException.class);
     }
@@ -137,13 +146,10 @@ class ChallengeServiceTest {
     void joinChallenge() {
 
         ChallengeJoinRequest request = new ChallengeJoinRequest(challengeId);
-        List<Challenge> userChallenges = new ArrayList<>(Arrays.asList());
-        List<Post> posts = new ArrayList<>();
-
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(challengeRepository.findByChallengeId(challengeId)).thenReturn(Optional.of(challenge));
-        when(challengeRepository.findAllByUserId(userId)).thenReturn(userChallenges);
-        when(postRepository.findByUserIdAndToday(userId, LocalDate.now().atStartOfDay())).thenReturn(posts);
+        when(challengeUserRepository.findMemberships(userId, categoryId, challengeId)).thenReturn(List.of());
+        when(challengeProgressEvaluator.evaluateToday(any(Challenge.class), anyCollection())).thenReturn(Map.of(userId, false));
 
         Response<ChallengeResponse> response = challengeService.joinChallenge(user.getId(), request);
         Assertions.assertThat(response.getData().getChallengeUserList().get(0).getNickname()).isEqualTo("tester");
@@ -154,11 +160,9 @@ class ChallengeServiceTest {
     void joinChallengeWithError() {
 
         ChallengeJoinRequest request = new ChallengeJoinRequest(challengeId);
-        List<Challenge> userChallenges = new ArrayList<>(Arrays.asList(challenge));
-
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(challengeRepository.findByChallengeId(challengeId)).thenReturn(Optional.of(challenge));
-        when(challengeRepository.findAllByUserId(userId)).thenReturn(userChallenges);
+        when(challengeUserRepository.findMemberships(userId, categoryId, challengeId)).thenReturn(List.of(membership(2L, "ACTIVE")));
 
         Assertions.assertThatThrownBy(() -> challengeService.joinChallenge(user.getId(), request)).isInstanceOf(BusinessException.class);
     }
@@ -198,9 +202,9 @@ class ChallengeServiceTest {
     @DisplayName("챌린지 모두 조회")
     void getAllChallenge() {
 
-        List<Challenge> challenges = new ArrayList<>(Arrays.asList(challenge));
+        List<ChallengeAllResponse> summaries = List.of(summary(challenge));
 
-        when(challengeRepository.findAll()).thenReturn(challenges);
+        when(challengeRepository.findAllSummaries()).thenReturn(summaries);
 
         Response<List<ChallengeAllResponse>> response = challengeService.getAllChallenge();
         Assertions.assertThat(response.getData()).hasSize(1);
@@ -210,9 +214,9 @@ class ChallengeServiceTest {
     @DisplayName("한 사용자가 참여하는 챌린지 모두 조회")
     void getUserChallenge() {
 
-        List<Challenge> challenges = new ArrayList<>(Arrays.asList(challenge));
+        List<ChallengeAllResponse> summaries = List.of(summary(challenge));
 
-        when(challengeRepository.findAllByUserId(userId)).thenReturn(challenges);
+        when(challengeRepository.findSummariesByUserId(userId)).thenReturn(summaries);
 
         Response<List<ChallengeAllResponse>> response = challengeService.getUserChallenge(user.getId());
         Assertions.assertThat(response.getData()).hasSize(1);
@@ -248,8 +252,8 @@ class ChallengeServiceTest {
     @DisplayName("챌린지 4개 이상일 때 랜덤 조회")
     void findRandomChallengeLimitFour() {
 
-        List<Challenge> challenges = new ArrayList<>();
-        challenges.add(challenge);
+        List<ChallengeAllResponse> summaries = new ArrayList<>();
+        summaries.add(summary(challenge));
 
         for (long i = 2L; i <= 4L; i++) {
             Challenge newChallenge = Challenge.builder()
@@ -265,17 +269,20 @@ class ChallengeServiceTest {
                     .category(category)
                     .build();
 
-            challenges.add(newChallenge);
+            summaries.add(summary(newChallenge));
         }
 
-        when(challengeRepository.count()).thenReturn(4L);
-        when(challengeRepository.findRandomLimitFour()).thenReturn(challenges);
+        List<Long> sampled = List.of(3L, 1L, 4L, 2L);
+        when(activeChallengeIndex.sample(4)).thenReturn(sampled);
+        when(challengeRepository.findSummariesByIds(sampled)).thenReturn(summaries);
 
         Response<List<ChallengeAllResponse>> response = challengeService.getRandomChallenge();
 
-        Assertions.assertThat(response.getData()).hasSize(4);
-        verify(challengeRepository, times(1)).findRandomLimitFour();
+        // 뽑은 순서대로 응답하고, 전체 조회나 정렬 쿼리는 하지 않는다.
+        Assertions.assertThat(response.getData()).extracting(ChallengeAllResponse::getChallengeId).containsExactlyElementsOf(sampled);
+        verify(challengeRepository, times(1)).findSummariesByIds(sampled);
         verify(challengeRepository, never()).findAll();
+        verify(challengeRepository, never()).count();
     }
 
     @Test
@@ -295,17 +302,138 @@ class ChallengeServiceTest {
                 .category(category)
                 .build();
 
-        List<Challenge> challenges = new ArrayList<>();
-        challenges.add(challenge);
-        challenges.add(Challenge2);
-
-        when(challengeRepository.count()).thenReturn(2L);
-        when(challengeRepository.findAll()).thenReturn(challenges);
+        List<Long> sampled = List.of(2L, 1L);
+        when(activeChallengeIndex.sample(4)).thenReturn(sampled);
+        when(challengeRepository.findSummariesByIds(sampled)).thenReturn(List.of(summary(challenge), summary(Challenge2)));
 
         Response<List<ChallengeAllResponse>> response = challengeService.getRandomChallenge();
 
         Assertions.assertThat(response.getData()).hasSize(2);
-        verify(challengeRepository, times(1)).findAll();
-        verify(challengeRepository, never()).findRandomLimitFour();
+        verify(challengeRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("제목 검색은 색인이 준 순위대로 응답하고 LIKE 쿼리를 쓰지 않는다")
+    void searchChallenge() {
+
+        Challenge Challenge2 = Challenge.builder()
+                .challengeId(2L)
+                .challengeTitle("test challenge2")
+                .challengeContent("test")
+                .challengeGoal(3)
+                .submission("test")
+                .imageUrl("test image")
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().plusDays(1))
+                .chatroom(ChatRoom.createChallenge("test challenge2", null))
+                .category(category)
+                .build();
+
+        List<Long> ranked = List.of(2L, 1L);
+        when(challengeTitleIndex.search("challenge", 0, 2)).thenReturn(new ChallengeTitleIndex.Result(ranked, 3));
+        when(challengeRepository.findSummariesByIds(ranked)).thenReturn(List.of(summary(challenge), summary(Challenge2)));
+
+        Response<ChallengeSearchResponse> response = challengeService.searchChallenge("challenge", 0, 2);
+
+        Assertions.assertThat(response.getData().getContent()).extracting(ChallengeAllResponse::getChallengeId).containsExactlyElementsOf(ranked);
+        Assertions.assertThat(response.getData().getTotalCount()).isEqualTo(3);
+        Assertions.assertThat(response.getData().isHasNext()).isTrue();
+        verify(challengeRepository, never()).findAllByChallengeTitle(any());
+    }
+
+    @Test
+    @DisplayName("챌린지 기록은 저장된 하루 결과로 만들고 달성 여부를 다시 계산하지 않는다")
+    void getChallengeHistory() {
+
+        ChallengeUser member = ChallengeUser.create(user, challenge);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<ChallengeDailyResult> successes = List.of(
+                ChallengeDailyResult.builder().challengeId(challengeId).userId(userId).resultDate(yesterday.minusDays(1)).success(true).build(),
+                ChallengeDailyResult.builder().challengeId(challengeId).userId(userId).resultDate(yesterday).success(true).build());
+
+        when(challengeRepository.findByChallengeId(challengeId)).thenReturn(Optional.of(challenge));
+        when(challengeDailyResultRepository.findSuccessesByChallengeId(challengeId)).thenReturn(successes);
+        when(challengeUserRepository.findAllWithUserByChallengeId(challengeId)).thenReturn(List.of(member));
+
+        Response<List<ChallengeMemberHistoryResponse>> response = challengeService.getChallengeHistory(challengeId);
+
+        Assertions.assertThat(response.getData()).hasSize(1);
+        Assertions.assertThat(response.getData().get(0).getSuccessDays()).isEqualTo(2);
+        Assertions.assertThat(response.getData().get(0).getSuccessDates()).containsExactly(yesterday.minusDays(1), yesterday);
+        verifyNoInteractions(challengeProgressEvaluator);
+    }
+
+    @Test
+    @DisplayName("순위는 순위표에서 한 페이지와 내 순위만 읽는다")
+    void getChallengeRanking() {
+
+        Users other = Users.builder()
+                .id(2L)
+                .email("other@test.com")
+                .password("test")
+                .userName("other")
+                .nickname("other")
+                .socialType(SocialType.HARU)
+                .build();
+        RankingTreap ranking = new RankingTreap();
+        ranking.put(2L, 120);
+        ranking.put(3L, 90);
+        ranking.put(userId, 30);
+
+        when(challengeRepository.findByChallengeId(challengeId)).thenReturn(Optional.of(challenge));
+        when(challengeRankingBoard.get(challenge)).thenReturn(ranking);
+        when(userRepository.findAllById(Set.of(2L, userId))).thenReturn(List.of(other, user));
+
+        Response<ChallengeRankingResponse> response = challengeService.getChallengeRanking(userId, challengeId, 0, 1);
+
+        Assertions.assertThat(response.getData().getRanking()).extracting(ChallengeRankResponse::getNickname).containsExactly("other");
+        Assertions.assertThat(response.getData().getMyRank().getRank()).isEqualTo(3);
+        Assertions.assertThat(response.getData().getMyRank().getScore()).isEqualTo(30);
+        Assertions.assertThat(response.getData().getMemberCount()).isEqualTo(3);
+        Assertions.assertThat(response.getData().isHasNext()).isTrue();
+        verifyNoInteractions(challengeProgressEvaluator);
+    }
+
+    @Test
+    @DisplayName("탈퇴했던 챌린지에 다시 참여하면 기존 참여 기록을 되살린다")
+    void rejoinChallenge() {
+
+        ChallengeJoinRequest request = new ChallengeJoinRequest(challengeId);
+        ChallengeUser deletedChallengeUser = ChallengeUser.create(user, challenge);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(challengeRepository.findByChallengeId(challengeId)).thenReturn(Optional.of(challenge));
+        when(challengeUserRepository.findMemberships(userId, categoryId, challengeId)).thenReturn(List.of(membership(challengeId, "DELETED")));
+        when(challengeUserRepository.findDeletedChallengeUser(userId, challengeId)).thenReturn(Optional.of(deletedChallengeUser));
+        when(challengeProgressEvaluator.evaluateToday(any(Challenge.class), anyCollection())).thenReturn(Map.of(userId, false));
+
+        Response<ChallengeResponse> response = challengeService.joinChallenge(user.getId(), request);
+
+        Assertions.assertThat(response.getData().getChallengeUserList()).hasSize(1);
+        verify(chatRoomUserService, never()).addUser(any(ChatRoom.class), any(Users.class));
+    }
+
+    private ChallengeUserRepository.Membership membership(Long challengeId, String activeStatus) {
+        return new ChallengeUserRepository.Membership() {
+            @Override
+            public Long getChallengeId() {
+                return challengeId;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public String getActiveStatus() {
+                return activeStatus;
+            }
+        };
+    }
+
+    private ChallengeAllResponse summary(Challenge challenge) {
+        return new ChallengeAllResponse(challenge.getChallengeId(), challenge.getChallengeTitle(),
+                challenge.getCategory().getCategoryName(), challenge.getParticipantCount(), challenge.getImageUrl());
     }
-}
\ No newline at end of file
+}
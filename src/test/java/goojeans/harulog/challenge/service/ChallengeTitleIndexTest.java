@@ -0,0 +1,122 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.domain.event.ChallengeChangedEvent;
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChallengeTitleIndexTest {
+
+    @InjectMocks
+    ChallengeTitleIndex challengeTitleIndex;
+
+    @Mock
+    ChallengeRepository challengeRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        when(challengeRepository.findAllTitles()).thenReturn(List.of(
+                title(1L, "아침 러닝 챌린지"),
+                title(2L, "아침러닝 30일"),
+                title(3L, "저녁 러닝"),
+                title(4L, "매일 독서 챌린지"),
+                title(5L, "Morning Run")
+        ));
+        challengeTitleIndex.reload();
+    }
+
+    @Test
+    @DisplayName("검색어를 포함한 제목이 먼저, 같은 순위는 최신순으로 나온다")
+    void search() {
+        //When
+        ChallengeTitleIndex.Result running = challengeTitleIndex.search("아침 러닝", 0, 10);
+        ChallengeTitleIndex.Result english = challengeTitleIndex.search("morning", 0, 10);
+        ChallengeTitleIndex.Result oneLetter = challengeTitleIndex.search("독", 0, 10);
+        ChallengeTitleIndex.Result blank = challengeTitleIndex.search("  ", 0, 10);
+
+        //Then
+        // "아침러닝" 의 글자쌍 3개 중 "저녁 러닝" 은 "러닝" 하나만 맞아서 빠진다.
+        assertThat(running.challengeIds()).containsExactly(2L, 1L);
+        assertThat(running.totalCount()).isEqualTo(2);
+        assertThat(english.challengeIds()).containsExactly(5L);
+        assertThat(oneLetter.challengeIds()).containsExactly(4L);
+        assertThat(blank.challengeIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("일부만 일치하는 제목은 포함하는 제목 뒤에 나오고, 페이지로 나눠 받는다")
+    void ranking() {
+        //When
+        ChallengeTitleIndex.Result first = challengeTitleIndex.search("러닝 챌린지", 0, 1);
+        ChallengeTitleIndex.Result second = challengeTitleIndex.search("러닝 챌린지", 1, 1);
+        ChallengeTitleIndex.Result last = challengeTitleIndex.search("러닝 챌린지", 2, 1);
+
+        //Then
+        // 글자쌍 4개 중 "매일 독서 챌린지" 는 2개 (챌린, 린지), "러닝" 만 맞는 제목은 1개라서 빠진다.
+        assertThat(first.totalCount()).isEqualTo(2);
+        assertThat(first.challengeIds()).containsExactly(1L);
+        assertThat(second.challengeIds()).containsExactly(4L);
+        assertThat(last.challengeIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("생성 / 제목 수정 / 삭제 이벤트가 색인에 반영된다")
+    void update() {
+        //When
+        challengeTitleIndex.onChallengeChanged(new ChallengeChangedEvent(6L, "새벽 수영", false));
+        challengeTitleIndex.onChallengeChanged(new ChallengeChangedEvent(3L, "저녁 수영", false));
+        challengeTitleIndex.onChallengeChanged(ChallengeChangedEvent.deleted(1L));
+
+        //Then
+        assertThat(challengeTitleIndex.search("수영", 0, 10).challengeIds()).containsExactly(6L, 3L);
+        assertThat(challengeTitleIndex.search("러닝", 0, 10).challengeIds()).containsExactly(2L);
+        assertThat(challengeTitleIndex.search("아침", 0, 10).challengeIds()).containsExactly(2L);
+        assertThat(challengeTitleIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("다시 읽는 동안 들어온 생성 / 제목 수정 / 삭제 이벤트도 새 색인에 반영된다")
+    void updateDuringReload() {
+        //Given
+        when(challengeRepository.findAllTitles()).thenAnswer(invocation -> {
+            // 제목을 읽은 뒤에 커밋된 변경
+            challengeTitleIndex.onChallengeChanged(new ChallengeChangedEvent(6L, "새벽 수영", false));
+            challengeTitleIndex.onChallengeChanged(new ChallengeChangedEvent(3L, "저녁 수영", false));
+            challengeTitleIndex.onChallengeChanged(ChallengeChangedEvent.deleted(1L));
+            return List.of(title(1L, "아침 러닝 챌린지"), title(3L, "저녁 러닝"));
+        });
+
+        //When
+        challengeTitleIndex.reload();
+
+        //Then
+        assertThat(challengeTitleIndex.search("수영", 0, 10).challengeIds()).containsExactly(6L, 3L);
+        assertThat(challengeTitleIndex.search("러닝", 0, 10).challengeIds()).isEmpty();
+        assertThat(challengeTitleIndex.size()).isEqualTo(2);
+    }
+
+    private ChallengeRepository.ChallengeTitle title(Long challengeId, String challengeTitle) {
+        return new ChallengeRepository.ChallengeTitle() {
+            @Override
+            public Long getChallengeId() {
+                return challengeId;
+            }
+
+            @Override
+            public String getChallengeTitle() {
+                return challengeTitle;
+            }
+        };
+    }
+}
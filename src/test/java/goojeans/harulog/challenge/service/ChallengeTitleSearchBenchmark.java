@@ -0,0 +1,142 @@
+package goojeans.harulog.challenge.service;
+
+import goojeans.harulog.challenge.repository.ChallengeRepository;
+import goojeans.harulog.config.QuerydslConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 챌린지 제목 LIKE 검색과 bigram 색인 검색의 응답 시간 비교 (./gradlew benchmark)
+ * 10만 개의 챌린지에 같은 검색어들을 반복한다. LIKE 쪽은 한 페이지 (20개) id 만 읽는 가장 가벼운 형태로 잰다.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(QuerydslConfig.class)
+class ChallengeTitleSearchBenchmark {
+
+    private static final int CHALLENGES = 100_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 20;
+
+    private static final String[] WORDS = {
+            "아침", "저녁", "새벽", "매일", "주말", "러닝", "걷기", "수영", "요가", "필라테스",
+            "독서", "영어", "코딩", "알고리즘", "자격증", "일찍", "기상", "스쿼트", "플랭크", "홈트",
+            "만보", "자전거", "등산", "명상", "일기", "단어", "토익", "수학", "블로그", "챌린지"
+    };
+    private static final String[] KEYWORDS = {"러닝", "아침 러닝", "알고리즘", "토익 단어", "필라테스 챌린지", "홈"};
+
+    @Autowired ChallengeRepository challengeRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private String marker;
+
+    @BeforeEach
+    void beforeEach() {
+        marker = "benchmark-" + UUID.randomUUID().toString().substring(0, 8);
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int from = 0; from < CHALLENGES; from += BATCH_SIZE) {
+            List<Object[]> rooms = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> challenges = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < from + BATCH_SIZE; i++) {
+                String roomId = UUID.randomUUID().toString();
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+                rooms.add(new Object[]{roomId, title, marker, now, now});
+                challenges.add(new Object[]{title, marker, roomId, now, now, now, now});
+            }
+            jdbcTemplate.batchUpdate("insert into chatroom (chatroom_id, chatroom_type, chatroom_name, chatroom_image_url, " +
+                    "chatroom_last_message_id, chatroom_last_seq, active_status, created_at, updated_at) values (?, 'CHALLENGE', ?, ?, 0, 0, 'ACTIVE', ?, ?)", rooms);
+            jdbcTemplate.batchUpdate("insert into challenge (challenge_title, challenge_content, challenge_goal, submission, " +
+                    "start_date, end_date, category_id, chatroom_id, participant_count, active_status, created_at, updated_at) " +
+                    "values (?, ?, 30, 'benchmark', ?, ?, 1, ?, 0, 'ACTIVE', ?, ?)", challenges);
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from challenge where challenge_content = ?", marker);
+        jdbcTemplate.update("delete from chatroom where chatroom_image_url = ?", marker);
+    }
+
+    @Test
+    @DisplayName("LIKE 전체 스캔과 bigram 색인의 제목 검색 시간")
+    void compare() {
+        long loadStart = System.nanoTime();
+        ChallengeTitleIndex index = new ChallengeTitleIndex(challengeRepository);
+        index.reload();
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+        assertThat(index.size()).isGreaterThanOrEqualTo(CHALLENGES);
+
+        // 워밍업 후 측정
+        runLike();
+        runIndex(index);
+
+        double likeMicros = runLike();
+        double indexMicros = runIndex(index);
+
+        log.info("challenge title search over {} rows. like={} us/query, index={} us/query ({}x), index load={} ms",
+                CHALLENGES, Math.round(likeMicros), Math.round(indexMicros),
+                String.format("%.1f", likeMicros / indexMicros), loadMillis);
+
+        // 두 방식 모두 결과가 있고, 색인의 1순위는 검색어를 포함한 제목이다.
+        for (String keyword : KEYWORDS) {
+            List<Long> found = index.search(keyword, 0, PAGE_SIZE).challengeIds();
+            assertThat(like(keyword)).isNotEmpty();
+            assertThat(found).isNotEmpty();
+            String top = challengeRepository.findSummariesByIds(found.subList(0, 1)).get(0).getChallengeTitle();
+            assertThat(ChallengeTitleIndex.normalize(top)).contains(ChallengeTitleIndex.normalize(keyword));
+        }
+    }
+
+    // 검색어 하나당 평균 마이크로초
+    private double runLike() {
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String keyword : KEYWORDS) {
+                like(keyword);
+            }
+        }
+        return (System.nanoTime() - start) / 1e3 / (ROUNDS * KEYWORDS.length);
+    }
+
+    private double runIndex(ChallengeTitleIndex index) {
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String keyword : KEYWORDS) {
+                index.search(keyword, 0, PAGE_SIZE);
+            }
+        }
+        return (System.nanoTime() - start) / 1e3 / (ROUNDS * KEYWORDS.length);
+    }
+
+    private List<Long> like(String keyword) {
+        return jdbcTemplate.queryForList("select challenge_id from challenge where active_status = 'ACTIVE' " +
+                "and challenge_title like ? order by challenge_id desc limit " + PAGE_SIZE, Long.class, "%" + keyword + "%");
+    }
+}
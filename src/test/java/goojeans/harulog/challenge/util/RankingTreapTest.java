@@ -0,0 +1,78 @@
+package goojeans.harulog.challenge.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingTreapTest {
+
+    @Test
+    @DisplayName("점수 내림차순으로 페이지를 읽고, 같은 점수는 같은 순위이다")
+    void pageAndRank() {
+        //Given
+        RankingTreap ranking = new RankingTreap();
+        ranking.put(1L, 50);
+        ranking.put(2L, 80);
+        ranking.put(3L, 50);
+        ranking.put(4L, 10);
+
+        //When
+        ranking.put(4L, 90);
+        ranking.remove(2L);
+
+        //Then
+        assertThat(ranking.page(0, 10)).containsExactly(
+                new RankingTreap.Entry(4L, 90, 1),
+                new RankingTreap.Entry(1L, 50, 2),
+                new RankingTreap.Entry(3L, 50, 2));
+        assertThat(ranking.page(2, 10)).containsExactly(new RankingTreap.Entry(3L, 50, 2));
+        assertThat(ranking.page(3, 10)).isEmpty();
+        assertThat(ranking.find(3L)).contains(new RankingTreap.Entry(3L, 50, 2));
+        assertThat(ranking.find(2L)).isEmpty();
+        assertThat(ranking.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("무작위 갱신 / 삭제 후에도 정렬한 결과와 같다")
+    void matchesSortedList() {
+        //Given
+        Random random = new Random(7);
+        RankingTreap ranking = new RankingTreap();
+        Map<Long, Long> scores = new HashMap<>();
+
+        //When
+        for (int i = 0; i < 20_000; i++) {
+            long userId = random.nextInt(500);
+            if (random.nextInt(10) < 7) {
+                long score = random.nextInt(50);
+                ranking.put(userId, score);
+                scores.put(userId, score);
+            } else {
+                ranking.remove(userId);
+                scores.remove(userId);
+            }
+        }
+
+        //Then
+        List<Map.Entry<Long, Long>> sorted = new ArrayList<>(scores.entrySet());
+        sorted.sort(Comparator.comparing(Map.Entry<Long, Long>::getValue).reversed().thenComparing(Map.Entry::getKey));
+
+        List<RankingTreap.Entry> all = ranking.page(0, sorted.size());
+        assertThat(all).hasSize(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            long score = sorted.get(i).getValue();
+            int rank = (int) sorted.stream().filter(entry -> entry.getValue() > score).count() + 1;
+            assertThat(all.get(i)).isEqualTo(new RankingTreap.Entry(sorted.get(i).getKey(), score, rank));
+            assertThat(ranking.find(sorted.get(i).getKey()).orElseThrow().rank()).isEqualTo(rank);
+        }
+        assertThat(ranking.page(100, 20)).isEqualTo(all.subList(100, 120));
+    }
+}
@@ -1,6 +1,7 @@
 package goojeans.harulog.chat.repository;
 
 import goojeans.harulog.chat.domain.entity.ChatRoom;
+import goojeans.harulog.chat.util.ChatRoomType;
 import goojeans.harulog.config.QuerydslConfig;
 import goojeans.harulog.domain.ActiveStatus;
 import jakarta.persistence.EntityManager;
@@ -57,4 +58,24 @@ class ChatRoomRepositoryTest {
         Assertions.assertThat(deleted).isNotNull();
         Assertions.assertThat(deleted.getActiveStatus()).isEqualTo(ActiveStatus.DELETED);
     }
+
+    @Test
+    @DisplayName("락 없이 읽은 채팅방을 저장해도 그 사이에 늘어난 마지막 메세지 번호가 되돌아가지 않는다")
+    void advanceLastMessage() {
+        // given
+        ChatRoom chatRoom = chatRoomRepository.saveAndFlush(ChatRoom.createDM());
+
+        // when
+        chatRoomRepository.advanceLastMessage(chatRoom.getId(), 10L, 3L);
+        chatRoom.setType(ChatRoomType.GROUP);   // lastSeq = 0 인 채로 저장
+        chatRoomRepository.saveAndFlush(chatRoom);
+        chatRoomRepository.advanceLastMessage(chatRoom.getId(), 9L, 2L);   // 늦게 커밋된 이전 메세지
+
+        // then
+        em.clear();
+        ChatRoom found = chatRoomRepository.findById(chatRoom.getId()).orElseThrow();
+        Assertions.assertThat(found.getType()).isEqualTo(ChatRoomType.GROUP);
+        Assertions.assertThat(found.getLastSeq()).isEqualTo(3L);
+        Assertions.assertThat(found.getLastMessageId()).isEqualTo(10L);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package goojeans.harulog.chat.service;
+
+import goojeans.harulog.chat.domain.dto.MessageDTO;
+import goojeans.harulog.chat.domain.dto.request.MessageRequest;
+import goojeans.harulog.chat.domain.entity.ChatRoom;
+import goojeans.harulog.chat.domain.entity.ChatRoomUser;
+import goojeans.harulog.chat.repository.ChatRoomRepository;
+import goojeans.harulog.chat.repository.ChatRoomUserRepository;
+import goojeans.harulog.chat.repository.MessageRepository;
+import goojeans.harulog.chat.util.MessageType;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.repository.UserRepository;
+import goojeans.harulog.user.util.SocialType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 메세지 동기 저장과 비동기 저장 파이프라인의 처리량 / 전송 지연 비교 (./gradlew benchmark)
+ * 참여자가 많은 채팅방 하나에 여러 스레드가 메세지를 보낸다. 파이프라인 쪽 처리량은 마지막 저장까지 포함한다.
+ * 브로커 전송은 두 쪽 모두 mock 이라 DB 작업만 비교한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(QuerydslConfig.class)
+class ChatMessagePipelineBenchmark {
+
+    private static final int MEMBERS = 200;
+    private static final int THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 250;
+
+    @Autowired UserRepository userRepository;
+    @Autowired ChatRoomRepository chatRoomRepository;
+    @Autowired ChatRoomUserRepository chatRoomUserRepository;
+    @Autowired MessageRepository messageRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+
+    private String roomId;
+    private List<Users> users;
+
+    @BeforeEach
+    void beforeEach() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        users = new ArrayList<>();
+        roomId = transactionTemplate.execute(status -> {
+            ChatRoom room = ChatRoom.createChallenge("benchmark", null);
+            em.persist(room);
+            for (int i = 0; i < MEMBERS; i++) {
+                Users user = Users.builder()
+                        .email(prefix + i)
+                        .password("benchmark")
+                        .userName("benchmark")
+                        .nickname(prefix + i)
+                        .socialType(SocialType.HARU)
+                        .build();
+                em.persist(user);
+                em.persist(ChatRoomUser.create(room, user));
+                users.add(user);
+            }
+            return room.getId();
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from message where chatroom_id = ?", roomId);
+        jdbcTemplate.update("delete from chatroom_user where chatroom_id = ?", roomId);
+        jdbcTemplate.update("delete from chatroom where chatroom_id = ?", roomId);
+        users.forEach(user -> jdbcTemplate.update("delete from users where user_id = ?", user.getId()));
+    }
+
+    @Test
+    @DisplayName("동기 저장과 파이프라인의 메세지 전송 처리량, 지연")
+    void compare() throws Exception {
+        MessageServiceImpl messageService = new MessageServiceImpl(
+                userRepository, chatRoomRepository, chatRoomUserRepository, messageRepository, null, mock(RecentMessageCache.class));
+
+        // 서비스의 @Transactional 과 같게 호출마다 트랜잭션을 열고, 컨트롤러처럼 전송까지 한다.
+        Consumer<MessageRequest> sync = request -> {
+            MessageDTO dto = transactionTemplate.execute(status -> messageService.sendMessage(roomId, request));
+            rabbitTemplate.convertAndSend("chatroom." + roomId, "", dto);
+        };
+
+        // 워밍업 후 측정
+        run(sync);
+        ChatMessagePipeline warmup = pipeline();
+        run(request -> warmup.send(roomId, request));
+        warmup.shutdown();
+
+        Result syncResult = run(sync);
+
+        ChatMessagePipeline pipeline = pipeline();
+        long start = System.nanoTime();
+        Result pipelineResult = run(request -> pipeline.send(roomId, request));
+        pipeline.shutdown();
+        double pipelineOps = messages() / ((System.nanoTime() - start) / 1e9);
+
+        log.info("chat send over {} members. sync={} msg/s (p50={} us, p99={} us), pipeline={} msg/s (p50={} us, p99={} us) ({}x)",
+                MEMBERS, Math.round(syncResult.ops()), syncResult.p50Micros(), syncResult.p99Micros(),
+                Math.round(pipelineOps), pipelineResult.p50Micros(), pipelineResult.p99Micros(),
+                String.format("%.1f", pipelineOps / syncResult.ops()));
+
+        // 네 번 모두 저장되었고, 번호가 빠짐없이 이어진다.
+        long total = messages() * 4;
+        assertThat(jdbcTemplate.queryForObject("select count(*) from message where chatroom_id = ?", Long.class, roomId))
+                .isEqualTo(total);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct seq) from message where chatroom_id = ?", Long.class, roomId))
+                .isEqualTo(total);
+        assertThat(chatRoomRepository.findLastSeqById(roomId)).contains(total);
+    }
+
+    // 스레드마다 다른 참여자로 메세지를 보낸다. 초당 처리 수와 한 건의 전송 지연을 돌려준다.
+    private Result run(Consumer<MessageRequest> send) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long[] latencies = new long[THREADS * MESSAGES_PER_THREAD];
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    MessageRequest request = new MessageRequest(users.get(thread).getNickname(), MessageType.TALK, "benchmark");
+                    for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                        long sent = System.nanoTime();
+                        send.accept(request);
+                        latencies[thread * MESSAGES_PER_THREAD + i] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double ops = messages() / ((System.nanoTime() - start) / 1e9);
+
+        Arrays.sort(latencies);
+        return new Result(ops, percentile(latencies, 0.5), percentile(latencies, 0.99));
+    }
+
+    private long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(sorted.length * p))] / 1_000;
+    }
+
+    private long messages() {
+        return (long) THREADS * MESSAGES_PER_THREAD;
+    }
+
+    private ChatMessagePipeline pipeline() {
+        return new ChatMessagePipeline(chatRoomRepository, chatRoomUserRepository, jdbcTemplate, transactionManager,
+                rabbitTemplate, mock(RecentMessageCache.class), new SimpleMeterRegistry(), true, 10_000, 500, 5, 1_000, 1_000, 1_000, Duration.ofMinutes(10));
+    }
+
+    private record Result(double ops, long p50Micros, long p99Micros) {
+    }
+}
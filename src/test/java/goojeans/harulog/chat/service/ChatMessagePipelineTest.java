@@ -0,0 +1,170 @@
+package goojeans.harulog.chat.service;
+
+import goojeans.harulog.chat.domain.dto.MessageDTO;
+import goojeans.harulog.chat.domain.dto.request.MessageRequest;
+import goojeans.harulog.chat.domain.entity.ChatRoom;
+import goojeans.harulog.chat.domain.entity.ChatRoomUser;
+import goojeans.harulog.chat.repository.ChatRoomRepository;
+import goojeans.harulog.chat.repository.ChatRoomUserRepository;
+import goojeans.harulog.chat.util.MessageType;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.domain.BusinessException;
+import goojeans.harulog.domain.ResponseCode;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 메세지는 writer 스레드가 저장하므로 테스트 데이터를 실제로 커밋하고 끝나면 지운다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(QuerydslConfig.class)
+class ChatMessagePipelineTest {
+
+    @Autowired ChatRoomRepository chatRoomRepository;
+    @Autowired ChatRoomUserRepository chatRoomUserRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    private ChatMessagePipeline pipeline;
+    private RabbitTemplate rabbitTemplate;
+
+    private String roomId;
+    private Users member;
+    private Users stranger;
+
+    @BeforeEach
+    void beforeEach() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        pipeline = new ChatMessagePipeline(chatRoomRepository, chatRoomUserRepository, jdbcTemplate, transactionManager,
+                rabbitTemplate, mock(RecentMessageCache.class), new SimpleMeterRegistry(), true, 100, 500, 5, 100, 2, 100, Duration.ofMinutes(10));
+
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        member = createUser(prefix + "member");
+        stranger = createUser(prefix + "stranger");
+        roomId = transactionTemplate.execute(status -> {
+            ChatRoom room = ChatRoom.createDM();
+            em.persist(room);
+            em.persist(ChatRoomUser.create(room, em.find(Users.class, member.getId())));
+            return room.getId();
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        pipeline.shutdown();
+        jdbcTemplate.update("delete from message where chatroom_id = ?", roomId);
+        jdbcTemplate.update("delete from chatroom_user where chatroom_id = ?", roomId);
+        jdbcTemplate.update("delete from chatroom where chatroom_id = ?", roomId);
+        jdbcTemplate.update("delete from users where user_id in (?, ?)", member.getId(), stranger.getId());
+    }
+
+    @Test
+    @DisplayName("바로 전송하고, 종료할 때까지 보낸 순서대로 번호를 매겨 저장한다")
+    void send() {
+        //Given
+        MessageRequest request = new MessageRequest(member.getNickname(), MessageType.TALK, "hello");
+
+        //When
+        MessageDTO first = pipeline.send(roomId, request);
+        pipeline.sendSystemMessage(roomId, member, MessageType.EXIT, "bye");
+        pipeline.send(roomId, request);
+        MessageDTO last = pipeline.send(roomId, request);
+        pipeline.shutdown();
+
+        //Then
+        verify(rabbitTemplate, times(4)).convertAndSend(eq("chatroom." + roomId), eq(""), any(MessageDTO.class));
+        assertThat(first.getMessageId()).isLessThan(last.getMessageId());
+        assertThat(pipeline.pendingCount()).isZero();
+
+        // id 블록(2개)을 여러 번 받아도 id 순서와 번호 순서가 같다.
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select type, seq from message where chatroom_id = ? order by message_id", roomId);
+        assertThat(rows).extracting(row -> row.get("type")).containsExactly("TALK", "EXIT", "TALK", "TALK");
+        assertThat(rows).extracting(row -> row.get("seq") == null ? null : ((Number) row.get("seq")).longValue())
+                .containsExactly(1L, null, 2L, 3L);
+        assertThat(chatRoomRepository.findLastSeqById(roomId)).contains(3L);
+        assertThat(jdbcTemplate.queryForObject("select chatroom_last_message_id from chatroom where chatroom_id = ?",
+                Long.class, roomId)).isEqualTo(last.getMessageId());
+    }
+
+    @Test
+    @DisplayName("마지막 참여자가 나가서 삭제된 채팅방에도 커밋 뒤에 퇴장 메세지를 번호 없이 저장한다")
+    void exitMessageForDeletedRoom() {
+        //When
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("update chatroom set active_status = 'DELETED' where chatroom_id = ?", roomId);
+            pipeline.sendSystemMessage(roomId, member, MessageType.EXIT, "bye");
+        });
+        pipeline.shutdown();
+
+        //Then
+        verify(rabbitTemplate).convertAndSend(eq("chatroom." + roomId), eq(""), any(MessageDTO.class));
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select type, seq from message where chatroom_id = ?", roomId);
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.get("type")).isEqualTo("EXIT");
+            assertThat(row.get("seq")).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("채팅방에 참여하지 않은 유저의 메세지는 거절한다")
+    void sendWithoutPermission() {
+        //Given
+        MessageRequest request = new MessageRequest(stranger.getNickname(), MessageType.TALK, "hello");
+
+        //When
+        BusinessException exception = catchThrowableOfType(() -> pipeline.send(roomId, request), BusinessException.class);
+
+        //Then
+        assertThat(exception.getErrorCode()).isEqualTo(ResponseCode.CHAT_NO_PERMISSION);
+        assertThat(pipeline.pendingCount()).isZero();
+    }
+
+    private Users createUser(String name) {
+        return transactionTemplate.execute(status -> {
+            Users user = Users.builder()
+                    .email(name)
+                    .password("test")
+                    .userName("test")
+                    .nickname(name)
+                    .socialType(SocialType.HARU)
+                    .build();
+            em.persist(user);
+            return user;
+        });
+    }
+}
@@ -27,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -53,6 +54,12 @@ class ChatRoomUserServiceTest {
     private RabbitTemplate rabbitTemplate;
     @Mock
     private RabbitMQConfig rabbitMQConfig;
+    @Mock
+    private ChatMessagePipeline chatMessagePipeline;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private RecentMessageCache recentMessageCache;
 
     @Captor
     private ArgumentCaptor<Message> messageCaptor; // 저장되는 Message 캡처를 위한 ArgumentCaptor
@@ -229,6 +236,21 @@ class ChatRoomUserServiceTest {
 
     }
 
+    @Test
+    @DisplayName("입장 메세지 - 파이프라인 모드에서는 파이프라인으로 전송")
+    void sendEnterMessageWithPipeline() {
+        // given
+        when(chatMessagePipeline.isEnabled()).thenReturn(true);
+
+        // when
+        chatRoomUserService.sendEnterMessage(room, user1);
+
+        // then
+        verify(chatMessagePipeline).sendSystemMessage(eq(room.getId()), eq(user1), eq(MessageType.ENTER), any(String.class));
+        verify(messageRepository, never()).save(any(Message.class));
+        verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(String.class), any(Object.class));
+    }
+
     @Test
     @DisplayName("퇴장 메세지 생성, 저장 및 전송")
     void sendExitMessage() {
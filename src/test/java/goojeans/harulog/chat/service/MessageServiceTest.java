@@ -29,6 +29,10 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +44,7 @@ class MessageServiceTest {
     @Mock private ChatRoomUserRepository chatRoomUserRepository;
     @Mock private MessageRepository messageRepository;
     @Mock private RabbitMQConfig rabbitMQConfig;
+    @Mock private RecentMessageCache recentMessageCache;
 
     @InjectMocks private MessageServiceImpl messageService;
 
@@ -53,7 +58,8 @@ class MessageServiceTest {
     void setUp() {
         user = new Users();
         chatRoom = ChatRoom.createDM();
-        when(chatRoomRepository.findById(chatRoom.getId())).thenReturn(Optional.of(chatRoom));
+        lenient().when(chatRoomRepository.findById(chatRoom.getId())).thenReturn(Optional.of(chatRoom)); // 메세지 전송은 락을 잡고 조회
+        lenient().when(chatRoomRepository.existsById(chatRoom.getId())).thenReturn(true);
 
         message1 = Message.create(chatRoom, user, test);
         message2 = Message.create(chatRoom, user, test);
@@ -80,6 +86,42 @@ class MessageServiceTest {
         Assertions.assertThat(response.getData().getMessages().size()).isEqualTo(4);
     }
 
+    @Test
+    @DisplayName("채팅방 이전 메세지 조회 - 최근 메세지 버퍼 범위 안이면 DB 를 읽지 않는다")
+    void getMessagesBeforeResponseFromRecentMessages() {
+        // given
+        List<MessageDTO> recent = List.of(
+                new MessageDTO(9L, test, null, MessageType.TALK, test, test),
+                new MessageDTO(8L, test, null, MessageType.TALK, test, test));
+        when(recentMessageCache.findBefore(chatRoom.getId(), 10L, 20)).thenReturn(Optional.of(recent));
+        when(chatRoomUserRepository.countByChatRoomId(chatRoom.getId())).thenReturn(2L);
+
+        // when
+        Response<MessageListDTO> response = messageService.getMessagesBeforeResponse(chatRoom.getId(), 10L);
+
+        // then
+        verify(messageRepository, never()).findBeforeMessagesWithPagination(any(), any(), anyInt());
+        verify(chatRoomRepository, never()).findById(any());
+        Assertions.assertThat(response.getData().getMessages()).isEqualTo(recent);
+        Assertions.assertThat(response.getData().getUserCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("채팅방 이전 메세지 조회 - 실패 (삭제된 채팅방은 최근 메세지 버퍼가 남아 있어도 조회하지 않는다)")
+    void getMessagesBeforeResponseDeletedRoom() {
+        // given
+        when(chatRoomRepository.existsById(chatRoom.getId())).thenReturn(false);
+
+        // when
+        BusinessException exception = Assertions.catchThrowableOfType(
+                () -> messageService.getMessagesBeforeResponse(chatRoom.getId(), 10L),
+                BusinessException.class);
+
+        // then
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ResponseCode.CHATROOM_NOT_FOUND);
+        verify(recentMessageCache, never()).findBefore(any(), any(), anyInt());
+    }
+
     @Test
     @DisplayName("채팅방 이전 메세지 조회 - 실패 (더 이상 메세지가 없음)")
     void getMessagesBeforeResponseFail() {
@@ -219,7 +261,7 @@ class MessageServiceTest {
     void sendMessage() {
         // given
         when(userRepository.findUsersByNickname(user.getNickname())).thenReturn(Optional.of(user));
-        when(chatRoomRepository.findById(chatRoom.getId())).thenReturn(Optional.of(chatRoom));
+        when(chatRoomRepository.findByIdForUpdate(chatRoom.getId())).thenReturn(Optional.of(chatRoom));
         when(chatRoomUserRepository.findByChatRoomIdAndUserId(chatRoom.getId(), user.getId()))
                 .thenReturn(Optional.of(ChatRoomUser.create(chatRoom, user)));
 
@@ -230,16 +272,46 @@ class MessageServiceTest {
 
         // then
         verify(messageRepository).save(any(Message.class));
+        verify(chatRoomRepository).advanceLastMessage(eq(chatRoom.getId()), any(), eq(1L));
+        verify(chatRoomUserRepository, never()).save(any(ChatRoomUser.class)); // 참여 유저는 쓰지 않는다.
+        Assertions.assertThat(chatRoom.getLastSeq()).isEqualTo(1L);
         Assertions.assertThat(message).isNotNull();
         Assertions.assertThat(message.getContent()).isNotNull();
     }
 
+    @Test
+    @DisplayName("읽지 않은 메세지 개수 - 채팅방 마지막 번호와 마지막으로 읽은 번호의 차이")
+    void unreadMessageCount() {
+        // given
+        ChatRoomUser reader = ChatRoomUser.create(chatRoom, user);
+        when(userRepository.findUsersByNickname(user.getNickname())).thenReturn(Optional.of(user));
+        when(chatRoomRepository.findByIdForUpdate(chatRoom.getId())).thenReturn(Optional.of(chatRoom));
+        when(chatRoomUserRepository.findByChatRoomIdAndUserId(chatRoom.getId(), user.getId())).thenReturn(Optional.of(reader));
+        when(messageRepository.findTopByChatRoomIdOrderByCreatedAtDesc(chatRoom.getId())).thenReturn(message1);
+
+        MessageRequest messageRequest = new MessageRequest(user.getNickname(), MessageType.TALK, test);
+
+        // when
+        messageService.sendMessage(chatRoom.getId(), messageRequest);
+        messageService.sendMessage(chatRoom.getId(), messageRequest);
+        messageService.sendMessage(chatRoom.getId(), messageRequest);
+        int beforeOut = reader.getUnreadMessageCount();
+        messageService.roomOut(chatRoom.getId(), user.getNickname());
+
+        // then
+        Assertions.assertThat(beforeOut).isEqualTo(3);
+        Assertions.assertThat(reader.getLastReadSeq()).isEqualTo(3L);
+        Assertions.assertThat(reader.getUnreadMessageCount()).isZero();
+        // 나중에 참여한 유저는 참여 전 메세지를 읽지 않은 메세지로 세지 않는다.
+        Assertions.assertThat(ChatRoomUser.create(chatRoom, new Users()).getUnreadMessageCount()).isZero();
+    }
+
     @Test
     @DisplayName("메세지 전송 - 실패 (참여중인 채팅방이 아닐 때)")
     void sendMessageFail() {
         // given
         when(userRepository.findUsersByNickname(user.getNickname())).thenReturn(Optional.of(user));
-        when(chatRoomRepository.findById(chatRoom.getId())).thenReturn(Optional.of(chatRoom));
+        when(chatRoomRepository.findByIdForUpdate(chatRoom.getId())).thenReturn(Optional.of(chatRoom));
         when(chatRoomUserRepository.findByChatRoomIdAndUserId(chatRoom.getId(), user.getId()))
                 .thenReturn(Optional.empty());
 
@@ -0,0 +1,134 @@
+package goojeans.harulog.chat.service;
+
+import goojeans.harulog.chat.domain.dto.MessageDTO;
+import goojeans.harulog.chat.domain.entity.ChatRoom;
+import goojeans.harulog.chat.domain.entity.Message;
+import goojeans.harulog.chat.repository.MessageRepository;
+import goojeans.harulog.chat.util.MessageType;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.domain.event.UserProfileChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecentMessageCacheTest {
+
+    @Mock
+    MessageRepository messageRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatRoom chatRoom = ChatRoom.createDM();
+    private final Users user = new Users();
+
+    @Test
+    @DisplayName("처음 조회할 때 한 번만 읽고, 메세지가 버퍼보다 적으면 모든 조회를 버퍼로 답한다")
+    void load() {
+        //Given
+        RecentMessageCache cache = new RecentMessageCache(messageRepository, meterRegistry, 5, Long.MAX_VALUE);
+        when(messageRepository.findRecentWithSender(eq("room"), any())).thenReturn(messages(3L, 2L, 1L));
+
+        //When
+        Optional<List<MessageDTO>> before = cache.findBefore("room", 3L, 20);
+        Optional<List<MessageDTO>> after = cache.findAfter("room", 1L, 20);
+        Optional<List<MessageDTO>> from = cache.findFrom("room", 2L, 20);
+
+        //Then
+        verify(messageRepository, times(1)).findRecentWithSender(eq("room"), any());
+        assertThat(before).hasValueSatisfying(result -> assertThat(ids(result)).containsExactly(2L, 1L));
+        assertThat(after).hasValueSatisfying(result -> assertThat(ids(result)).containsExactly(2L, 3L));
+        assertThat(from).hasValueSatisfying(result -> assertThat(ids(result)).containsExactly(2L, 3L));
+        assertThat(meterRegistry.get("chat.recent_messages.requests").tag("result", "hit").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("버퍼가 넘치면 오래된 메세지부터 밀려나고, 버퍼 밖이 필요한 조회는 DB 로 넘긴다")
+    void ring() {
+        //Given
+        RecentMessageCache cache = new RecentMessageCache(messageRepository, meterRegistry, 3, Long.MAX_VALUE);
+        when(messageRepository.findRecentWithSender(eq("room"), any())).thenReturn(messages(5L, 4L, 3L));
+        cache.findBefore("room", 5L, 1);
+
+        //When
+        cache.append("room", dto(7L));
+        cache.append("room", dto(6L));  // 커밋 순서가 id 순서와 다른 경우
+
+        //Then
+        assertThat(cache.findBefore("room", 7L, 2)).hasValueSatisfying(result -> assertThat(ids(result)).containsExactly(6L, 5L));
+        assertThat(cache.findFrom("room", 5L, 10)).hasValueSatisfying(result -> assertThat(ids(result)).containsExactly(5L, 6L, 7L));
+        assertThat(cache.findBefore("room", 6L, 2)).isEmpty();
+        assertThat(cache.findAfter("room", 4L, 10)).isEmpty();
+        assertThat(meterRegistry.get("chat.recent_messages.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("메모리 한도를 넘으면 가장 오래 안 쓴 채팅방을 내보낸다")
+    void evict() {
+        //Given
+        // 빈 채팅방 버퍼 하나는 64 + 8 * 3 = 88 바이트로 센다.
+        RecentMessageCache cache = new RecentMessageCache(messageRepository, meterRegistry, 3, 200);
+        when(messageRepository.findRecentWithSender(any(), any())).thenReturn(List.of());
+
+        //When
+        cache.findBefore("first", 1L, 20);
+        cache.findBefore("second", 1L, 20);
+        cache.findBefore("first", 1L, 20);
+        cache.findBefore("third", 1L, 20);
+        cache.findBefore("first", 1L, 20);
+
+        //Then
+        // second 를 내보냈으므로 first 는 다시 읽지 않는다.
+        verify(messageRepository, times(1)).findRecentWithSender(eq("first"), any());
+        assertThat(cache.roomCount()).isEqualTo(2);
+        assertThat(cache.bytes()).isEqualTo(176);
+        assertThat(meterRegistry.get("chat.recent_messages.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("보낸 사람의 프로필이 바뀌면 그 사람의 메세지가 있는 채팅방 버퍼를 버리고 다시 읽는다")
+    void profileChanged() {
+        //Given
+        RecentMessageCache cache = new RecentMessageCache(messageRepository, meterRegistry, 3, Long.MAX_VALUE);
+        when(messageRepository.findRecentWithSender(any(), any())).thenReturn(List.of());
+        cache.findBefore("room", 1L, 20);
+        cache.findBefore("other", 1L, 20);
+        cache.append("room", dto(1L));
+
+        //When
+        cache.onProfileChanged(new UserProfileChangedEvent("test"));
+        cache.findBefore("room", 2L, 20);
+        cache.findBefore("other", 1L, 20);
+
+        //Then
+        verify(messageRepository, times(2)).findRecentWithSender(eq("room"), any());
+        verify(messageRepository, times(1)).findRecentWithSender(eq("other"), any());
+    }
+
+    private List<Message> messages(Long... ids) {
+        return Arrays.stream(ids)
+                .map(id -> Message.builder().id(id).chatRoom(chatRoom).sender(user).content("test").build())
+                .toList();
+    }
+
+    private MessageDTO dto(Long id) {
+        return new MessageDTO(id, "test", null, MessageType.TALK, "test", "test");
+    }
+
+    private List<Long> ids(List<MessageDTO> messages) {
+        return messages.stream().map(MessageDTO::getMessageId).toList();
+    }
+}
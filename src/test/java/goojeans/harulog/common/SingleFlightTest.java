@@ -0,0 +1,104 @@
+package goojeans.harulog.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("같은 키를 동시에 조회하면 loader 는 한 번만 실행되고 모두 같은 결과를 받는다")
+    void coalesce() throws Exception {
+        //Given
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        //When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(() -> singleFlight.execute("test", 1L, () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "value";
+            })));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("test", 1L, () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (coalesced() < callers - 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            //Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(coalesced()).isEqualTo(callers - 1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("조회가 끝난 뒤의 요청은 다시 loader 를 실행하고, 예외는 그대로 전달된다")
+    void notCached() {
+        //Given
+        AtomicInteger loads = new AtomicInteger();
+
+        //When
+        singleFlight.execute("test", 1L, loads::incrementAndGet);
+        singleFlight.execute("test", 1L, loads::incrementAndGet);
+
+        //Then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThatThrownBy(() -> singleFlight.execute("test", 1L, () -> {
+            throw new IllegalStateException("fail");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("single.flight.calls", "name", "test", "result", "coalesced").count();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package goojeans.harulog.likes.service;
+
+import goojeans.harulog.category.repository.CategoryRepository;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.likes.repository.LikesRepository;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.repository.PostRepository;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.repository.UserRepository;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 좋아요 동기 처리와 write-behind 버퍼의 처리량 비교 (./gradlew benchmark)
+ * 같은 게시글 몇 개에 여러 스레드가 좋아요 / 취소를 반복한다. write-behind 쪽은 마지막 flush 시간까지 포함한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(QuerydslConfig.class)
+class LikeWriteBehindBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int USERS = 200;
+    private static final int POSTS = 4;
+    private static final int ROUNDS = 3;
+
+    @Autowired LikesRepository likesRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired PostRepository postRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+
+    private List<Long> userIds;
+    private List<Long> postIds;
+
+    @BeforeEach
+    void beforeEach() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String name = prefix + i;
+            userIds.add(userRepository.save(Users.builder()
+                    .email(name)
+                    .nickname(name)
+                    .socialType(SocialType.HARU)
+                    .userName(name)
+                    .userRole(UserRole.USER)
+                    .password(name)
+                    .build()).getId());
+        }
+
+        Users author = userRepository.findById(userIds.get(0)).orElseThrow();
+        postIds = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            postIds.add(postRepository.save(Post.builder()
+                    .content("benchmark")
+                    .user(author)
+                    .category(categoryRepository.findById(1L).orElseThrow())
+                    .build()).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("동기 처리와 write-behind 버퍼의 좋아요 처리량")
+    void compare() throws Exception {
+        LikeWriteBuffer disabled = buffer(false);
+        LikesService sync = new LikesService(likesRepository, userRepository, postRepository, eventPublisher, disabled);
+
+        LikeWriteBuffer buffer = buffer(true);
+        LikesService buffered = new LikesService(likesRepository, userRepository, postRepository, eventPublisher, buffer);
+
+        // 워밍업 후 측정
+        run(sync);
+        run(buffered);
+        buffer.flushOnShutdown();
+
+        double syncOps = run(sync);
+        long start = System.nanoTime();
+        run(buffered);
+        buffer.flushOnShutdown();
+        double bufferedOps = operations() / ((System.nanoTime() - start) / 1e9);
+
+        log.info("likes throughput. sync={} ops/s, write-behind={} ops/s ({}x)",
+                Math.round(syncOps), Math.round(bufferedOps), String.format("%.1f", bufferedOps / syncOps));
+
+        // 좋아요 / 취소를 짝수 번 했으므로 모두 취소된 상태
+        postIds.forEach(postId -> {
+            assertThat(likesRepository.countLikesByPostId(postId)).isZero();
+            assertThat(postRepository.findLikeCountById(postId)).contains(0);
+        });
+    }
+
+    // 모든 (사용자, 게시글) 에 대해 좋아요 후 취소를 ROUNDS 번. 초당 처리 수를 돌려준다.
+    private double run(LikesService service) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int u = thread; u < USERS; u += THREADS) {
+                            for (Long postId : postIds) {
+                                Long userId = userIds.get(u);
+                                call(() -> service.saveLikes(postId, userId));
+                                call(() -> service.deleteLikes(postId, userId));
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return operations() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    // 서비스의 @Transactional 과 같게 호출마다 트랜잭션을 연다.
+    private void call(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> action.run());
+    }
+
+    private long operations() {
+        return (long) USERS * POSTS * ROUNDS * 2;
+    }
+
+    private LikeWriteBuffer buffer(boolean enabled) {
+        return new LikeWriteBuffer(likesRepository, postRepository, jdbcTemplate, transactionManager, eventPublisher,
+                new SimpleMeterRegistry(), enabled, 100_000, 500, 1000);
+    }
+}
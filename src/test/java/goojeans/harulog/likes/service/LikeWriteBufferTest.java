@@ -0,0 +1,176 @@
+package goojeans.harulog.likes.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.likes.domain.entity.Likes;
+import goojeans.harulog.likes.repository.LikesRepository;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * flush 는 자기 트랜잭션으로 커밋하므로 테스트 데이터를 실제로 커밋하고 끝나면 지운다.
+ */
+@DataJpaTest(properties = "likes.write-behind.enabled=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({QuerydslConfig.class, LikesService.class, LikeWriteBuffer.class, LikeWriteBufferTest.MetricsConfig.class})
+class LikeWriteBufferTest {
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    LikesService likesService;
+
+    @Autowired
+    LikeWriteBuffer likeWriteBuffer;
+
+    @Autowired
+    LikesRepository likesRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    private Users author;
+    private Users reader;
+    private Post post;
+
+    @BeforeEach
+    void beforeEach() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        transactionTemplate.executeWithoutResult(status -> {
+            author = createUser(prefix + "author");
+            reader = createUser(prefix + "reader");
+            post = Post.builder()
+                    .content("content")
+                    .user(author)
+                    .category(em.find(Category.class, 1L))
+                    .build();
+            em.persist(post);
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from likes where post_id = ?", post.getId());
+        jdbcTemplate.update("delete from post where post_id = ?", post.getId());
+        jdbcTemplate.update("delete from users where user_id in (?, ?)", author.getId(), reader.getId());
+    }
+
+    @Test
+    @DisplayName("좋아요 변경은 버퍼에 쌓이고, flush 할 때 순변경만 DB 에 반영된다")
+    void flushNetChanges() {
+        //When
+        int liked = likesService.saveLikes(post.getId(), reader.getId()).getLikeCount();
+        int likedAgain = likesService.saveLikes(post.getId(), reader.getId()).getLikeCount();
+        int unliked = likesService.deleteLikes(post.getId(), reader.getId()).getLikeCount();
+        int relike = likesService.saveLikes(post.getId(), author.getId()).getLikeCount();
+
+        //Then
+        assertThat(liked).isEqualTo(1);
+        assertThat(likedAgain).isEqualTo(1);
+        assertThat(unliked).isZero();
+        assertThat(relike).isEqualTo(1);
+        assertThat(likeWriteBuffer.pendingCount()).isEqualTo(1);
+        assertThat(likesRepository.countLikesByPostId(post.getId())).isZero();
+
+        likeWriteBuffer.flush();
+
+        assertThat(likeWriteBuffer.pendingCount()).isZero();
+        assertThat(likesRepository.existsByPostIdAndUserId(post.getId(), author.getId())).isTrue();
+        assertThat(likesRepository.existsByPostIdAndUserId(post.getId(), reader.getId())).isFalse();
+        assertThat(likeCountInDb()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이미 DB 에 있는 좋아요를 취소하면 flush 할 때 삭제되고 좋아요 수가 줄어든다")
+    void unlikePersisted() {
+        //Given
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(Likes.builder().post(em.find(Post.class, post.getId())).user(em.find(Users.class, reader.getId())).build());
+            em.createQuery("UPDATE post p SET p.likeCount = 1 WHERE p.id = :postId")
+                    .setParameter("postId", post.getId())
+                    .executeUpdate();
+        });
+
+        //When
+        int likedAgain = likesService.saveLikes(post.getId(), reader.getId()).getLikeCount();
+        int unliked = likesService.deleteLikes(post.getId(), reader.getId()).getLikeCount();
+        likeWriteBuffer.flush();
+
+        //Then
+        assertThat(likedAgain).isEqualTo(1);
+        assertThat(unliked).isZero();
+        assertThat(likesRepository.existsByPostIdAndUserId(post.getId(), reader.getId())).isFalse();
+        assertThat(likeCountInDb()).isZero();
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 좋아요는 버퍼에서 버리고 메모리 좋아요 수도 되돌린다")
+    void discardFailedChange() {
+        //Given
+        likesService.saveLikes(post.getId(), reader.getId());
+        // 버퍼에 있는 동안 게시글이 지워져서 likes 를 넣을 수 없다.
+        jdbcTemplate.update("delete from post where post_id = ?", post.getId());
+
+        //When
+        likeWriteBuffer.flush();
+
+        //Then
+        assertThat(likeWriteBuffer.pendingCount()).isZero();
+        assertThat(likesRepository.existsByPostIdAndUserId(post.getId(), reader.getId())).isFalse();
+        assertThat(likeWriteBuffer.set(post.getId(), reader.getId(), false).likeCount()).isZero();
+    }
+
+    private int likeCountInDb() {
+        em.clear();
+        return em.find(Post.class, post.getId()).getLikeCount();
+    }
+
+    private Users createUser(String name) {
+        Users user = Users.builder()
+                .email(name)
+                .nickname(name)
+                .socialType(SocialType.HARU)
+                .userName(name)
+                .userRole(UserRole.USER)
+                .password(name)
+                .build();
+        em.persist(user);
+        return user;
+    }
+}
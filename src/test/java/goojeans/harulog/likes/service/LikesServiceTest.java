@@ -0,0 +1,109 @@
+package goojeans.harulog.likes.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.likes.domain.dto.LikeStateResponseDto;
+import goojeans.harulog.likes.repository.LikesRepository;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuerydslConfig.class, LikesService.class, LikeWriteBuffer.class, LikesServiceTest.MetricsConfig.class})
+class LikesServiceTest {
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    LikesService likesService;
+
+    @Autowired
+    LikesRepository likesRepository;
+
+    @Autowired
+    EntityManager em;
+
+    private Users reader;
+    private Post post;
+
+    @BeforeEach
+    void beforeEach() {
+        Users author = createUser("author");
+        reader = createUser("reader");
+        post = Post.builder()
+                .content("content")
+                .user(author)
+                .category(em.find(Category.class, 1L))
+                .build();
+        em.persist(post);
+        em.flush();
+    }
+
+    @Test
+    @DisplayName("중복 좋아요는 예외 없이 무시된다")
+    void insertLikeIfAbsent() {
+        //When
+        boolean first = likesRepository.insertLikeIfAbsent(post.getId(), reader.getId());
+        boolean second = likesRepository.insertLikeIfAbsent(post.getId(), reader.getId());
+
+        //Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(likesRepository.countLikesByPostId(post.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 좋아요 상태를 여러 번 설정해도 좋아요 수는 실제로 바뀔 때만 움직인다")
+    void setLikeIsIdempotent() {
+        //When
+        LikeStateResponseDto liked = likesService.setLike(post.getId(), reader.getId(), true);
+        LikeStateResponseDto likedAgain = likesService.setLike(post.getId(), reader.getId(), true);
+        LikeStateResponseDto unliked = likesService.setLike(post.getId(), reader.getId(), false);
+        LikeStateResponseDto unlikedAgain = likesService.setLike(post.getId(), reader.getId(), false);
+
+        //Then
+        assertThat(liked.isChanged()).isTrue();
+        assertThat(liked.getLikeCount()).isEqualTo(1);
+        assertThat(likedAgain.isChanged()).isFalse();
+        assertThat(likedAgain.getLikeCount()).isEqualTo(1);
+        assertThat(unliked.isChanged()).isTrue();
+        assertThat(unliked.getLikeCount()).isZero();
+        assertThat(unlikedAgain.isChanged()).isFalse();
+        assertThat(unlikedAgain.getLikeCount()).isZero();
+    }
+
+    private Users createUser(String name) {
+        Users user = Users.builder()
+                .email(name)
+                .nickname(name)
+                .socialType(SocialType.HARU)
+                .userName(name)
+                .userRole(UserRole.USER)
+                .password(name)
+                .build();
+        em.persist(user);
+        return user;
+    }
+}
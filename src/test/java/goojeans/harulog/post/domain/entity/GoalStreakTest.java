@@ -0,0 +1,73 @@
+package goojeans.harulog.post.domain.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GoalStreakTest {
+
+    private final LocalDate since = LocalDate.of(2024, 1, 1);
+
+    @Test
+    @DisplayName("새 날짜의 달성은 그 자리에서 더하고, 하루를 건너뛰면 연속 기록이 다시 시작된다")
+    void applyNewDays() {
+        //Given
+        GoalStreak streak = GoalStreak.of(1L, 1L, since);
+
+        //When
+        streak.apply(since, true);
+        streak.apply(since.plusDays(1), true);
+        streak.apply(since.plusDays(1), true);
+        streak.apply(since.plusDays(2), false);
+        boolean applied = streak.apply(since.plusDays(3), true);
+
+        //Then
+        assertThat(applied).isTrue();
+        assertThat(streak.getSuccessDays()).isEqualTo(3);
+        assertThat(streak.getCurrentStreak(since.plusDays(3))).isEqualTo(1);
+        assertThat(streak.getLongestStreak()).isEqualTo(2);
+        assertThat(streak.getCurrentStreak(since.plusDays(5))).isZero();
+    }
+
+    @Test
+    @DisplayName("지난 날짜가 바뀌거나 달성이 취소되면 다시 계산해야 하고, 다시 계산한 결과는 처음부터 센 것과 같다")
+    void recompute() {
+        //Given
+        GoalStreak streak = GoalStreak.of(1L, 1L, since);
+        streak.apply(since, true);
+        streak.apply(since.plusDays(2), true);
+
+        //When
+        boolean pastChanged = streak.apply(since.plusDays(1), true);
+        boolean cancelled = streak.apply(since.plusDays(2), false);
+        streak.recompute(List.of(since, since.plusDays(1), since.plusDays(2)), since.plusDays(2));
+
+        //Then
+        assertThat(pastChanged).isFalse();
+        assertThat(cancelled).isFalse();
+        assertThat(streak.getSuccessDays()).isEqualTo(3);
+        assertThat(streak.getCurrentStreak(since.plusDays(2))).isEqualTo(3);
+        assertThat(streak.getLongestStreak()).isEqualTo(3);
+        assertThat(streak.getLastEvaluatedDate()).isEqualTo(since.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("목표 설정일 이전의 기록은 세지 않는다")
+    void beforeSinceDate() {
+        //Given
+        GoalStreak streak = GoalStreak.of(1L, 1L, since);
+
+        //When
+        streak.apply(since.minusDays(1), true);
+        streak.reset(since.plusDays(1));
+        streak.recompute(List.of(since.plusDays(1)), since.plusDays(1));
+
+        //Then
+        assertThat(streak.getSuccessDays()).isEqualTo(1);
+        assertThat(streak.getSinceDate()).isEqualTo(since.plusDays(1));
+    }
+}
@@ -38,6 +38,8 @@ public class PostRepositoryTest {
 
     private String testString1 = "test1";
     private String testString2 = "test2";
+    private Long postId1;
+    private Long postId2;
 
     @BeforeEach
     void beforeEach() {
@@ -80,6 +82,9 @@ public class PostRepositoryTest {
         em.persist(post1);
         em.persist(post2);
 
+        postId1 = post1.getId();
+        postId2 = post2.getId();
+
     }
 
     @Test
@@ -96,4 +101,24 @@ public class PostRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("좋아요 수는 상대값으로 갱신되고, 좋아요 순 조회는 그 값으로 정렬된다")
+    void addLikeCount() {
+        //When
+        postRepository.addLikeCount(postId2, 1);
+        postRepository.addLikeCount(postId2, 1);
+        postRepository.addLikeCount(postId1, 1);
+        postRepository.addLikeCount(postId2, -1);
+
+        //Then
+        assertThat(postRepository.findLikeCountById(postId1)).contains(1);
+        assertThat(postRepository.findLikeCountById(postId2)).contains(1);
+
+        postRepository.addLikeCount(postId2, 1);
+        em.clear();
+        assertThat(postRepository.findPostsOrderByLikes())
+                .extracting(Post::getId)
+                .containsExactly(postId2, postId1);
+    }
+
 }
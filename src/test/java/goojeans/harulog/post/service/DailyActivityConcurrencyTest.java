@@ -0,0 +1,128 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.user.domain.entity.UserGoal;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글마다 따로 커밋되는 상황을 재현하므로 테스트 데이터를 실제로 커밋하고 끝나면 지운다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({QuerydslConfig.class, DailyActivityService.class, GoalStreakService.class})
+class DailyActivityConcurrencyTest {
+
+    @Autowired DailyActivityService dailyActivityService;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    private Users user;
+
+    @BeforeEach
+    void beforeEach() {
+        String name = UUID.randomUUID().toString().substring(0, 8) + "user";
+        user = transactionTemplate.execute(status -> {
+            Users created = Users.builder()
+                    .email(name)
+                    .nickname(name)
+                    .socialType(SocialType.HARU)
+                    .userName("user")
+                    .userRole(UserRole.USER)
+                    .password("user")
+                    .build();
+            em.persist(created);
+            em.persist(UserGoal.builder().user(created).category(em.find(Category.class, 1L)).goal(60).build());
+            return created;
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from daily_activity where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from goal_streak where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from post where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from user_goal where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from users where user_id = ?", user.getId());
+    }
+
+    @Test
+    @DisplayName("같은 날 같은 카테고리에 게시글이 동시에 커밋되어도 집계 한 줄에 둘 다 반영되고, 목표 달성 기록도 한 줄만 만든다")
+    void concurrentRefresh() throws Exception {
+        //Given
+        CyclicBarrier bothWritten = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //When
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> writePost(30, bothWritten), executor);
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> writePost(40, bothWritten), executor);
+            CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select total_activity_time, post_count, goal_met from daily_activity " +
+                        "where user_id = ? and activity_date = ? and category_id = 1", user.getId(), LocalDate.now());
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(((Number) row.get("total_activity_time")).intValue()).isEqualTo(70);
+            assertThat(((Number) row.get("post_count")).intValue()).isEqualTo(2);
+            assertThat(row.get("goal_met")).isEqualTo(true);
+        });
+        assertThat(jdbcTemplate.queryForList("select success_days from goal_streak where user_id = ? and category_id = 1",
+                Integer.class, user.getId())).containsExactly(1);
+    }
+
+    // 두 게시글이 모두 저장(커밋 전)된 뒤에 집계를 요청하도록 맞춘다.
+    private void writePost(int activityTime, CyclicBarrier bothWritten) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = Post.builder()
+                    .content("content")
+                    .user(em.find(Users.class, user.getId()))
+                    .category(em.find(Category.class, 1L))
+                    .activityTime(activityTime)
+                    .goal(60)
+                    .build();
+            em.persist(post);
+            em.flush();
+            try {
+                bothWritten.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            dailyActivityService.refreshAfterCommit(post);
+        });
+    }
+}
@@ -0,0 +1,224 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.post.domain.dto.response.DailyPostDto;
+import goojeans.harulog.post.domain.dto.response.YearlyPostDto;
+import goojeans.harulog.post.domain.entity.DailyActivity;
+import goojeans.harulog.post.domain.entity.GoalStreak;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.repository.DailyActivityRepository;
+import goojeans.harulog.post.repository.GoalStreakRepository;
+import goojeans.harulog.post.repository.PostStatisticRepositoryImpl;
+import goojeans.harulog.user.domain.entity.UserGoal;
+import goojeans.harulog.user.domain.entity.UserGoalId;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuerydslConfig.class, DailyActivityService.class, GoalStreakService.class, PostStatisticRepositoryImpl.class})
+class DailyActivityServiceTest {
+
+    @Autowired
+    DailyActivityService dailyActivityService;
+
+    @Autowired
+    DailyActivityRepository dailyActivityRepository;
+
+    @Autowired
+    PostStatisticRepositoryImpl postStatisticRepository;
+
+    @Autowired
+    GoalStreakService goalStreakService;
+
+    @Autowired
+    GoalStreakRepository goalStreakRepository;
+
+    @Autowired
+    EntityManager em;
+
+    private Users user;
+    private Category exercise;
+    private Category wakeUp;
+
+    @BeforeEach
+    void beforeEach() {
+        user = Users.builder()
+                .email("user")
+                .nickname("user")
+                .socialType(SocialType.HARU)
+                .userName("user")
+                .userRole(UserRole.USER)
+                .password("user")
+                .build();
+        em.persist(user);
+        exercise = em.find(Category.class, 1L);
+        wakeUp = em.find(Category.class, 2L);
+    }
+
+    @Test
+    @DisplayName("게시글이 바뀔 때마다 그날의 카테고리 집계 한 줄을 다시 만든다")
+    void refresh() {
+        //Given
+        Post first = createPost(exercise, 30, 60);
+        dailyActivityService.refresh(first);
+        Post second = createPost(exercise, 40, 60);
+        dailyActivityService.refresh(second);
+
+        //When
+        DailyActivity afterCreate = today(exercise);
+        em.remove(em.find(Post.class, second.getId()));
+        dailyActivityService.refresh(second);
+        DailyActivity afterDelete = today(exercise);
+
+        //Then
+        assertThat(afterCreate.getTotalActivityTime()).isEqualTo(70);
+        assertThat(afterCreate.getPostCount()).isEqualTo(2);
+        assertThat(afterCreate.isGoalMet()).isTrue();
+        assertThat(afterDelete.getTotalActivityTime()).isEqualTo(30);
+        assertThat(afterDelete.getPostCount()).isEqualTo(1);
+        assertThat(afterDelete.isGoalMet()).isFalse();
+    }
+
+    @Test
+    @DisplayName("기상은 목표 시각 이전에 일어난 게시글이 있으면 달성이다")
+    void wakeUpGoal() {
+        //Given
+        Post late = createPost(wakeUp, 800, 700);
+        dailyActivityService.refresh(late);
+        boolean lateMet = today(wakeUp).isGoalMet();
+
+        //When
+        Post early = createPost(wakeUp, 630, 700);
+        dailyActivityService.refresh(early);
+
+        //Then
+        assertThat(lateMet).isFalse();
+        assertThat(today(wakeUp).isGoalMet()).isTrue();
+    }
+
+    @Test
+    @DisplayName("재생성 결과는 증분 갱신 결과와 같고, 연간 통계는 집계를 읽는다")
+    void rebuild() {
+        //Given
+        dailyActivityService.refresh(createPost(exercise, 30, 60));
+        dailyActivityService.refresh(createPost(exercise, 40, 60));
+        dailyActivityService.refresh(createPost(wakeUp, 630, 700));
+        List<String> incremental = snapshot();
+
+        //When
+        dailyActivityService.rebuild();
+
+        //Then
+        assertThat(snapshot()).containsExactlyElementsOf(incremental);
+        List<YearlyPostDto> yearly = postStatisticRepository.findYearlyPost(user.getId());
+        assertThat(yearly).hasSize(2);
+        assertThat(yearly).extracting(YearlyPostDto::getActivityTime).containsExactlyInAnyOrder(70, 630);
+    }
+
+    @Test
+    @DisplayName("목표 달성 기록은 게시글마다 갱신되고, 기상 목표가 없어도 하루 통계를 조회할 수 있다")
+    void goalStreak() {
+        //Given
+        em.persist(UserGoal.builder().user(user).category(exercise).goal(60).build());
+        em.flush();
+
+        //When
+        dailyActivityService.refresh(createPost(exercise, 30, 60));
+        GoalStreak notMet = streak(exercise);
+        Post met = createPost(exercise, 40, 60);
+        dailyActivityService.refresh(met);
+        GoalStreak afterMet = streak(exercise);
+        em.remove(em.find(Post.class, met.getId()));
+        dailyActivityService.refresh(met);
+        GoalStreak afterDelete = streak(exercise);
+
+        List<UserGoal> userGoals = List.of(em.find(UserGoal.class, UserGoalId.of(user.getId(), exercise.getCategoryId())));
+        Map<Long, GoalStreak> streaks = goalStreakService.findStreaks(user.getId(), userGoals);
+        List<DailyPostDto> daily = postStatisticRepository.findDailyPost(user.getId(), userGoals, streaks);
+
+        //Then
+        assertThat(notMet.getSuccessDays()).isZero();
+        assertThat(afterMet.getSuccessDays()).isEqualTo(1);
+        assertThat(afterMet.getCurrentStreak(LocalDate.now())).isEqualTo(1);
+        assertThat(afterMet.getLongestStreak()).isEqualTo(1);
+        assertThat(afterDelete.getSuccessDays()).isZero();
+        assertThat(afterDelete.getLongestStreak()).isZero();
+
+        assertThat(daily).hasSize(1);
+        assertThat(daily.get(0).getCategoryName()).isEqualTo("운동");
+        assertThat(daily.get(0).getAchievement()).isEqualTo(30L);
+        assertThat(daily.get(0).getCurrentStreak()).isZero();
+    }
+
+    @Test
+    @DisplayName("아직 기록이 없는 목표는 조회할 때 지금까지의 집계로 계산만 하고 저장하지 않는다")
+    void findStreaksWithoutRecord() {
+        //Given
+        em.persist(UserGoal.builder().user(user).category(exercise).goal(60).build());
+        createPost(exercise, 70, 60);
+        em.flush();
+        dailyActivityRepository.upsertDay(user.getId(), LocalDate.now(), exercise.getCategoryId(),
+                LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay());
+        List<UserGoal> userGoals = List.of(em.find(UserGoal.class, UserGoalId.of(user.getId(), exercise.getCategoryId())));
+
+        //When
+        Map<Long, GoalStreak> streaks = goalStreakService.findStreaks(user.getId(), userGoals);
+
+        //Then
+        assertThat(streaks.get(exercise.getCategoryId()).getSuccessDays()).isEqualTo(1);
+        em.flush();
+        assertThat(goalStreakRepository.findByUserId(user.getId())).isEmpty();
+    }
+
+    private GoalStreak streak(Category category) {
+        em.flush();
+        em.clear();
+        return goalStreakRepository.findByUserIdAndCategoryId(user.getId(), category.getCategoryId()).orElseThrow();
+    }
+
+    private DailyActivity today(Category category) {
+        em.clear();
+        return dailyActivityRepository.findByUserIdAndActivityDate(user.getId(), LocalDate.now()).stream()
+                .filter(row -> row.getCategoryId().equals(category.getCategoryId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<String> snapshot() {
+        em.clear();
+        return dailyActivityRepository.findByUserIdAndActivityDate(user.getId(), LocalDate.now()).stream()
+                .sorted(Comparator.comparing(DailyActivity::getCategoryId))
+                .map(row -> row.getCategoryId() + ":" + row.getTotalActivityTime() + ":" + row.getPostCount() + ":" + row.isGoalMet())
+                .toList();
+    }
+
+    private Post createPost(Category category, int activityTime, int goal) {
+        Post post = Post.builder()
+                .content("content")
+                .user(em.find(Users.class, user.getId()))
+                .category(em.find(Category.class, category.getCategoryId()))
+                .activityTime(activityTime)
+                .goal(goal)
+                .build();
+        em.persist(post);
+        return post;
+    }
+}
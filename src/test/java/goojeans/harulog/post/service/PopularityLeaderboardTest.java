@@ -0,0 +1,118 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.dto.PostScoreDto;
+import goojeans.harulog.post.domain.event.PostDeletedEvent;
+import goojeans.harulog.post.domain.event.PostScoreChangedEvent;
+import goojeans.harulog.post.repository.PostRepository;
+import goojeans.harulog.post.util.FeedCursor;
+import goojeans.harulog.post.util.Leaderboard;
+import goojeans.harulog.post.util.LeaderboardMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class PopularityLeaderboardTest {
+
+    @Mock
+    PostRepository postRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PopularityLeaderboard leaderboard;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        leaderboard = new PopularityLeaderboard(postRepository, meterRegistry, LeaderboardMode.ALL_TIME, 3);
+    }
+
+    @Test
+    @DisplayName("DB 에서 상위 capacity 개로 다시 만들고, 좋아요 이벤트로 순위를 갱신한다")
+    void rebuildAndUpdate() {
+        //Given
+        doReturn(List.of(
+                new PostScoreDto(1L, 1L, now, 5),
+                new PostScoreDto(2L, 1L, now, 3),
+                new PostScoreDto(3L, 2L, now, 1),
+                new PostScoreDto(4L, 2L, now, 0)
+        )).when(postRepository).findScoreChunkAfter(eq(0L), any(Pageable.class));
+
+        //When
+        assertThat(leaderboard.page(null, FeedCursor.decodeScore(null), 10)).isEmpty();
+        leaderboard.rebuild();
+        leaderboard.onScoreChanged(new PostScoreChangedEvent(4L, 2L, now, 4));
+        leaderboard.onDeleted(new PostDeletedEvent(1L));
+
+        //Then
+        assertThat(ids(null, FeedCursor.decodeScore(null), 10)).containsExactly(4L, 2L);
+        assertThat(ids(2L, FeedCursor.decodeScore(null), 10)).containsExactly(4L, 3L);
+        assertThat(ids(null, FeedCursor.ofScore(LeaderboardMode.ALL_TIME, 4, 4L), 10)).containsExactly(2L);
+        assertThat(meterRegistry.get("post.leaderboard.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("좋아요 취소나 삭제로 빈자리가 생기면 순위표 최하위 다음부터 DB 에서 채운다")
+    void refill() {
+        //Given
+        doReturn(List.of(
+                new PostScoreDto(1L, 1L, now, 5),
+                new PostScoreDto(2L, 1L, now, 3),
+                new PostScoreDto(3L, 1L, now, 2),
+                new PostScoreDto(4L, 1L, now, 1)
+        )).when(postRepository).findScoreChunkAfter(eq(0L), any(Pageable.class));
+        doReturn(List.of(new PostScoreDto(4L, 1L, now, 1)))
+                .when(postRepository).findScorePageOrderByLikes(eq(2), eq(3L), any(Pageable.class));
+        leaderboard.rebuild();
+
+        //When
+        leaderboard.onDeleted(new PostDeletedEvent(1L));
+        leaderboard.refill();
+        leaderboard.refill();
+
+        //Then
+        // 전체 순위표를 채우면서 카테고리 순위표 빈자리도 같이 채워진다.
+        assertThat(ids(null, FeedCursor.decodeScore(null), 10)).containsExactly(2L, 3L, 4L);
+        assertThat(ids(1L, FeedCursor.decodeScore(null), 10)).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("다른 점수 기준으로 만든 커서는 첫 페이지부터 조회한다")
+    void cursorOfOtherMode() {
+        //Given
+        PopularityLeaderboard hot = new PopularityLeaderboard(postRepository, new SimpleMeterRegistry(), LeaderboardMode.HOT, 3);
+        doReturn(List.of(
+                new PostScoreDto(1L, 1L, now, 5),
+                new PostScoreDto(2L, 1L, now.minusDays(1), 50)
+        )).when(postRepository).findScoreChunkAfter(eq(0L), any(Pageable.class));
+        hot.rebuild();
+
+        //When
+        // 순위표가 준비되기 전에 받은 좋아요 수 커서
+        FeedCursor likeCountCursor = FeedCursor.decodeScore(FeedCursor.ofLikeCount(5, 1L).encode());
+
+        //Then
+        assertThat(hot.page(null, likeCountCursor, 10).orElseThrow())
+                .extracting(Leaderboard.Entry::postId)
+                .containsExactly(1L, 2L);
+    }
+
+    private List<Long> ids(Long categoryId, FeedCursor cursor, int limit) {
+        return leaderboard.page(categoryId, cursor, limit).orElseThrow().stream()
+                .map(Leaderboard.Entry::postId)
+                .toList();
+    }
+}
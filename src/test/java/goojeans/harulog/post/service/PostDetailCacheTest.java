@@ -0,0 +1,45 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.common.SingleFlight;
+import goojeans.harulog.post.domain.dto.PostResponseDto;
+import goojeans.harulog.post.domain.event.PostContentChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostDetailCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostDetailCache cache = new PostDetailCache(meterRegistry, new SingleFlight(meterRegistry), 100, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("조회하는 동안 게시글이 바뀌어 비워지면 조회 결과를 캐시에 넣지 않는다")
+    void invalidateDuringLoad() {
+        //Given
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, PostResponseDto> staleLoader = postId -> {
+            loads.incrementAndGet();
+            // 조회가 끝나기 전에 변경이 커밋된 경우
+            cache.onContentChanged(new PostContentChangedEvent(postId));
+            return new PostResponseDto();
+        };
+        Function<Long, PostResponseDto> loader = postId -> {
+            loads.incrementAndGet();
+            return new PostResponseDto();
+        };
+
+        //When
+        cache.get(1L, staleLoader);
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        //Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,373 @@
+package goojeans.harulog.post.service;
+
+import com.google.firebase.FirebaseApp;
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.comment.domain.dto.CommentSliceDto;
+import goojeans.harulog.comment.domain.entity.Comment;
+import goojeans.harulog.comment.service.CommentTreeLoader;
+import goojeans.harulog.common.SingleFlight;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.likes.domain.entity.Likes;
+import goojeans.harulog.likes.service.LikeWriteBuffer;
+import goojeans.harulog.likes.service.LikedPostResolver;
+import goojeans.harulog.domain.BusinessException;
+import goojeans.harulog.post.domain.dto.PostResponseDto;
+import goojeans.harulog.post.domain.dto.response.PostSliceDto;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.util.FeedCursor;
+import goojeans.harulog.post.util.Leaderboard;
+import goojeans.harulog.user.domain.entity.Follow;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuerydslConfig.class, PostService.class, TimelineService.class, CommentTreeLoader.class,
+        PostDetailCache.class, PostDetailReader.class, SingleFlight.class, LikedPostResolver.class, LikeWriteBuffer.class, DailyActivityService.class,
+        GoalStreakService.class, PostServiceTest.MetricsConfig.class})
+class PostServiceTest {
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostDetailReader postDetailReader;
+
+    @Autowired
+    CommentTreeLoader commentTreeLoader;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @MockBean
+    FirebaseApp firebaseApp;
+
+    // 순위표가 준비되지 않은 상태 (DB 조회 경로)
+    @MockBean
+    PopularityLeaderboard popularityLeaderboard;
+
+    private Statistics statistics;
+    private Users author;
+    private Users reader;
+    private Category category;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        author = createUser("author");
+        reader = createUser("reader");
+        category = em.find(Category.class, 1L);
+
+        em.persist(Follow.builder().follower(reader).following(author).build());
+        createPosts(2);
+    }
+
+    @Test
+    @DisplayName("게시글 수가 늘어나도 피드 목록 조회 쿼리 수는 같다")
+    void feedQueryCountIsConstant() {
+        List<Supplier<List<PostResponseDto>>> endpoints = List.of(
+                () -> postService.getUserPost(author.getId()),
+                () -> postService.getPostsOrderByLikes(),
+                () -> postService.getPostCategoryOrderByLikes(category.getCategoryName()),
+                () -> postService.userLikePost(reader.getId()),
+                () -> postService.userFollowPost(reader.getId()),
+                () -> postService.getAllPost()
+        );
+
+        long[] before = endpoints.stream().mapToLong(this::countStatements).toArray();
+
+        createPosts(10);
+
+        for (int i = 0; i < endpoints.size(); i++) {
+            assertThat(countStatements(endpoints.get(i))).isEqualTo(before[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("게시글의 좋아요 수, 댓글 수가 응답에 들어간다")
+    void feedCounts() {
+        //When
+        List<PostResponseDto> result = postService.getUserPost(author.getId());
+
+        //Then
+        assertThat(result).hasSize(2);
+        assertThat(result).allSatisfy(dto -> {
+            assertThat(dto.getLikeCount()).isEqualTo(1);
+            assertThat(dto.getCommentCount()).isEqualTo(1);
+            assertThat(dto.getNickname()).isEqualTo(author.getNickname());
+        });
+    }
+
+    @Test
+    @DisplayName("커서를 따라가면 모든 게시글을 중복 없이 최신순으로 조회한다")
+    void feedCursorPagination() {
+        //Given
+        createPosts(10);
+        em.flush();
+        em.clear();
+
+        //When
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PostSliceDto slice = postService.getUserPostPage(author.getId(), cursor, 5);
+            assertThat(slice.getContent().size()).isLessThanOrEqualTo(5);
+            slice.getContent().forEach(dto -> ids.add(dto.getId()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        //Then
+        List<Long> expected = postService.getUserPost(author.getId()).stream()
+                .sorted(Comparator.comparing(PostResponseDto::getCreatedAt)
+                        .thenComparing(PostResponseDto::getId).reversed())
+                .map(PostResponseDto::getId)
+                .toList();
+        assertThat(ids).hasSize(12).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("게시글 상세 조회는 댓글 수와 관계없이 쿼리 3번으로 댓글 첫 페이지를 만든다")
+    void postDetailQueryCount() {
+        //Given
+        Post post = createPost();
+        for (int i = 0; i < 25; i++) {
+            Comment parent = createComment(post, null);
+            createComment(post, parent);
+            createComment(post, parent);
+        }
+
+        //When
+        List<PostResponseDto> detail = new ArrayList<>();
+        long statementCount = countStatementsOf(() -> detail.add(postDetailReader.getPost(post.getId())));
+
+        //Then
+        assertThat(statementCount).isEqualTo(3);
+        assertThat(detail.get(0).getCommentNextCursor()).isNotNull();
+        assertThat(detail.get(0).getCommentList()).hasSize(CommentTreeLoader.DEFAULT_PAGE_SIZE);
+        assertThat(detail.get(0).getCommentList()).allSatisfy(comment -> {
+            assertThat(comment.getReplyCount()).isEqualTo(2);
+            assertThat(comment.getChildren()).isEmpty();
+        });
+    }
+
+    @Test
+    @DisplayName("게시글 상세는 캐시에서 다시 읽고, 좋아요 여부만 따로 조회한다")
+    void postDetailCache() {
+        //Given
+        Post post = createPost();
+        postDetailReader.getPost(post.getId());
+
+        //When
+        long cachedCount = countStatementsOf(() -> postDetailReader.getPost(post.getId()));
+        long userCount = countStatementsOf(() -> postDetailReader.getPostUser(post.getId(), reader.getId()));
+
+        //Then
+        assertThat(cachedCount).isZero();
+        assertThat(userCount).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("피드 목록의 좋아요 여부는 게시글 수와 관계없이 쿼리 한 번으로 채운다")
+    void likedByUser() {
+        //Given
+        Post notLiked = createPost();
+        List<PostResponseDto> feed = postService.getUserPost(author.getId());
+
+        //When
+        long statementCount = countStatementsOf(() -> postService.applyLikedByUser(reader.getId(), feed));
+
+        //Then
+        assertThat(statementCount).isEqualTo(1);
+        assertThat(feed).hasSize(3);
+        assertThat(feed).allSatisfy(dto ->
+                assertThat(dto.getLikedByUser()).isEqualTo(!dto.getId().equals(notLiked.getId())));
+        assertThat(postService.applyLikedByUser(null, postService.getAllPost()))
+                .allSatisfy(dto -> assertThat(dto.getLikedByUser()).isNull());
+    }
+
+    @Test
+    @DisplayName("댓글과 대댓글은 커서로 이어서 조회한다")
+    void commentPagination() {
+        //Given
+        Post post = createPost();
+        Comment parent = createComment(post, null);
+        for (int i = 0; i < 5; i++) {
+            createComment(post, parent);
+        }
+        createComment(post, null);
+
+        //When
+        CommentSliceDto first = commentTreeLoader.loadReplyPage(parent.getId(), null, 3);
+        CommentSliceDto second = commentTreeLoader.loadReplyPage(parent.getId(), first.getNextCursor(), 3);
+        CommentSliceDto topLevel = commentTreeLoader.loadTopLevelPage(post.getId(), null, 10);
+
+        //Then
+        assertThat(first.getContent()).hasSize(3);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(topLevel.getContent()).hasSize(2);
+        assertThat(topLevel.getContent().get(0).getReplyCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("인기 순위표가 끝나면 좋아요 순 피드를 DB 에서 이어서 채운다")
+    void likesFeedContinuesPastLeaderboard() {
+        //Given
+        Post first = createPost(3_000_000);
+        Post second = createPost(2_000_000);
+        Post third = createPost(1_000_000);
+        em.flush();
+        em.clear();
+        // 순위표에는 1위만 들어있다. (capacity 1)
+        when(popularityLeaderboard.page(isNull(), any(), anyInt()))
+                .thenReturn(Optional.of(List.of(new Leaderboard.Entry(first.getId(), 3_000_000))));
+        when(popularityLeaderboard.followsLikeOrder()).thenReturn(true);
+
+        //When
+        PostSliceDto slice = postService.getPostsOrderByLikesPage(null, 3);
+
+        //Then
+        assertThat(slice.getContent()).extracting(PostResponseDto::getId)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(slice.getNextCursor()).isEqualTo(FeedCursor.ofLikeCount(1_000_000, third.getId()).encode());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 예외가 발생한다")
+    void invalidCursor() {
+        assertThatThrownBy(() -> postService.getAllPostPage("not-a-cursor", 5))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private long countStatements(Supplier<List<PostResponseDto>> endpoint) {
+        return countStatementsOf(() -> endpoint.get().forEach(dto -> assertThat(dto.getCategoryName()).isNotNull()));
+    }
+
+    private long countStatementsOf(Runnable action) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        action.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Users createUser(String name) {
+        Users user = Users.builder()
+                .email(name)
+                .nickname(name)
+                .socialType(SocialType.HARU)
+                .userName(name)
+                .userRole(UserRole.USER)
+                .password(name)
+                .build();
+        em.persist(user);
+        return user;
+    }
+
+    private Post createPost() {
+        Post post = Post.builder()
+                .content("content")
+                .user(author)
+                .category(category)
+                .build();
+        em.persist(post);
+        return post;
+    }
+
+    private Post createPost(int likeCount) {
+        Post post = Post.builder()
+                .content("content")
+                .user(author)
+                .category(category)
+                .likeCount(likeCount)
+                .build();
+        em.persist(post);
+        return post;
+    }
+
+    private Comment createComment(Post post, Comment parent) {
+        Comment comment = Comment.builder()
+                .user(reader)
+                .nickname(reader.getNickname())
+                .post(post)
+                .parent(parent)
+                .content("comment")
+                .depth(parent == null ? 0 : 1)
+                .build();
+        em.persist(comment);
+        return comment;
+    }
+
+    // 작성자의 게시글을 만들고, 독자가 좋아요와 댓글을 하나씩 남긴다.
+    private void createPosts(int count) {
+        for (int i = 0; i < count; i++) {
+            Post post = Post.builder()
+                    .content("content" + i)
+                    .user(author)
+                    .category(category)
+                    .likeCount(1)
+                    .commentCount(1)
+                    .build();
+            em.persist(post);
+
+            em.persist(Likes.builder()
+                    .user(reader)
+                    .post(post)
+                    .build());
+
+            em.persist(Comment.builder()
+                    .user(reader)
+                    .nickname(reader.getNickname())
+                    .post(post)
+                    .content("comment" + i)
+                    .depth(0)
+                    .build());
+        }
+    }
+}
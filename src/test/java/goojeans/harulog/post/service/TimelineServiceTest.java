@@ -0,0 +1,164 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.category.domain.entity.Category;
+import goojeans.harulog.config.QuerydslConfig;
+import goojeans.harulog.post.domain.entity.Post;
+import goojeans.harulog.post.repository.TimelineRepository;
+import goojeans.harulog.post.util.FeedCursor;
+import goojeans.harulog.user.domain.entity.Follow;
+import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.util.SocialType;
+import goojeans.harulog.user.util.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 팔로워가 1명을 넘으면 fan-out-on-read 대상
+@DataJpaTest(properties = "post.timeline.fan-out-limit=1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuerydslConfig.class, TimelineService.class, TimelineBackfiller.class})
+class TimelineServiceTest {
+
+    @Autowired
+    TimelineService timelineService;
+
+    @Autowired
+    TimelineBackfiller timelineBackfiller;
+
+    @Autowired
+    TimelineRepository timelineRepository;
+
+    @Autowired
+    EntityManager em;
+
+    private Users reader;
+    private Users other;
+    private Users author;
+    private Users celebrity;
+    private Category category;
+
+    @BeforeEach
+    void beforeEach() {
+        reader = createUser("reader");
+        other = createUser("other");
+        author = createUser("author");
+        celebrity = createUser("celebrity");
+        category = em.find(Category.class, 1L);
+
+        // author 는 팔로워 1명, celebrity 는 팔로워 2명
+        em.persist(Follow.builder().follower(reader).following(author).build());
+        em.persist(Follow.builder().follower(reader).following(celebrity).build());
+        em.persist(Follow.builder().follower(other).following(celebrity).build());
+        timelineService.refreshHeavyAccounts();
+    }
+
+    @Test
+    @DisplayName("일반 계정은 타임라인에 넣고, 팔로워가 많은 계정은 조회 시점에 합친다")
+    void fanOutAndMerge() {
+        //Given
+        Post authorPost = createPost(author);
+        Post celebrityPost = createPost(celebrity);
+
+        //When
+        timelineService.fanOut(authorPost);
+        timelineService.fanOut(celebrityPost);
+
+        //Then
+        assertThat(timelineRepository.count()).isEqualTo(1);
+
+        List<Post> timeline = timelineService.getTimeline(reader.getId(), FeedCursor.decodeCreatedAt(null), 10);
+        assertThat(timeline).extracting(Post::getId)
+                .containsExactly(celebrityPost.getId(), authorPost.getId());
+    }
+
+    @Test
+    @DisplayName("팔로워가 기준 아래로 줄면 그동안 넣지 않은 게시글을 남은 팔로워 타임라인에 채운다")
+    void heavyToLight() {
+        //Given
+        Post celebrityPost = createPost(celebrity);
+        timelineService.fanOut(celebrityPost);
+        em.createQuery("DELETE FROM Follow f WHERE f.follower = :follower AND f.following = :following")
+                .setParameter("follower", other)
+                .setParameter("following", celebrity)
+                .executeUpdate();
+
+        //When
+        timelineService.refreshHeavyAccounts();
+        timelineService.refreshHeavyAccounts();
+
+        //Then
+        assertThat(timelineRepository.count()).isEqualTo(1);
+        List<Post> timeline = timelineService.getTimeline(reader.getId(), FeedCursor.decodeCreatedAt(null), 10);
+        assertThat(timeline).extracting(Post::getId).containsExactly(celebrityPost.getId());
+    }
+
+    @Test
+    @DisplayName("팔로우 시 최근 게시글을 채우고, 언팔로우 시 제거한다")
+    void backfillAndTrim() {
+        //Given
+        createPost(author);
+        createPost(author);
+
+        //When
+        timelineService.backfill(reader.getId(), author.getId());
+
+        //Then
+        assertThat(timelineRepository.count()).isEqualTo(2);
+
+        timelineService.trim(reader.getId(), author.getId());
+        assertThat(timelineRepository.existsByUserId(reader.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("타임라인 도입 이전 팔로우는 서버 시작 시 최근 게시글로 채운다")
+    void backfillExistingFollows() {
+        //Given
+        Post first = createPost(author);
+        Post second = createPost(author);
+        Post celebrityPost = createPost(celebrity);
+        em.flush();
+
+        //When
+        timelineBackfiller.backfill();
+        timelineBackfiller.backfill();
+
+        //Then
+        // 팔로워가 많은 계정은 채우지 않고 조회 시점에 합친다.
+        assertThat(timelineRepository.existsByUserId(reader.getId())).isTrue();
+        List<Post> timeline = timelineService.getTimeline(reader.getId(), FeedCursor.decodeCreatedAt(null), 10);
+        assertThat(timeline).extracting(Post::getId)
+                .containsExactly(celebrityPost.getId(), second.getId(), first.getId());
+    }
+
+    private Users createUser(String name) {
+        Users user = Users.builder()
+                .email(name)
+                .nickname(name)
+                .socialType(SocialType.HARU)
+                .userName(name)
+                .userRole(UserRole.USER)
+                .password(name)
+                .build();
+        em.persist(user);
+        return user;
+    }
+
+    private Post createPost(Users user) {
+        Post post = Post.builder()
+                .content(user.getNickname())
+                .user(user)
+                .category(category)
+                .build();
+        em.persist(post);
+        return post;
+    }
+}
@@ -0,0 +1,84 @@
+package goojeans.harulog.post.service;
+
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
+import goojeans.harulog.post.domain.event.DailyActivityChangedEvent;
+import goojeans.harulog.post.util.YearlyHeatmap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YearlyHeatmapCacheTest {
+
+    private final YearlyHeatmapCache cache = new YearlyHeatmapCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+
+    @Test
+    @DisplayName("캐시된 잔디밭은 다시 만들지 않고, 활동 집계가 바뀌면 다시 만든다")
+    void invalidateOnActivityChanged() {
+        //Given
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, YearlyHeatmapDto> loader = userId -> {
+            loads.incrementAndGet();
+            return new YearlyHeatmap(LocalDate.now()).toDto();
+        };
+
+        //When
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        cache.onDailyActivityChanged(new DailyActivityChangedEvent(1L));
+        cache.get(1L, loader);
+
+        //Then
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("만드는 동안 활동 집계가 바뀌어 비워지면 만든 결과를 캐시에 넣지 않는다")
+    void invalidateDuringLoad() {
+        //Given
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, YearlyHeatmapDto> loader = userId -> {
+            loads.incrementAndGet();
+            return new YearlyHeatmap(LocalDate.now()).toDto();
+        };
+
+        //When
+        cache.get(1L, userId -> {
+            loads.incrementAndGet();
+            // 이전 집계를 읽은 뒤에 변경이 커밋된 경우
+            cache.onDailyActivityChanged(new DailyActivityChangedEvent(userId));
+            return new YearlyHeatmap(LocalDate.now()).toDto();
+        });
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        //Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("날짜가 바뀌어 시작일이 달라진 항목은 다시 만든다")
+    void reloadAfterDayChanged() {
+        //Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, userId -> new YearlyHeatmapDto(LocalDate.now().minusDays(366), YearlyHeatmap.DAYS, Map.of()));
+
+        //When
+        YearlyHeatmapDto heatmap = cache.get(1L, userId -> {
+            loads.incrementAndGet();
+            return new YearlyHeatmap(LocalDate.now()).toDto();
+        });
+
+        //Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(heatmap.getStartDate()).isEqualTo(LocalDate.now().minusDays(365));
+    }
+}
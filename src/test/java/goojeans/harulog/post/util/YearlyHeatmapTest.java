@@ -0,0 +1,42 @@
+package goojeans.harulog.post.util;
+
+import goojeans.harulog.post.domain.dto.response.YearlyHeatmapDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YearlyHeatmapTest {
+
+    @Test
+    @DisplayName("카테고리별로 하루 한 칸씩 담기고, base64 로 인코딩한 값을 되돌릴 수 있다")
+    void encodeAndDecode() {
+        //Given
+        LocalDate today = LocalDate.of(2024, 3, 1);
+        YearlyHeatmap heatmap = new YearlyHeatmap(today);
+
+        //When
+        heatmap.add("운동", today, 30);
+        heatmap.add("운동", today, 20);
+        heatmap.add("운동", heatmap.getStartDate(), 40_000);
+        heatmap.add("독서", today.minusDays(10), 15);
+        heatmap.add("독서", heatmap.getStartDate().minusDays(1), 99);
+        YearlyHeatmapDto dto = heatmap.toDto();
+
+        //Then
+        assertThat(dto.getStartDate()).isEqualTo(today.minusDays(365));
+        assertThat(dto.getDays()).isEqualTo(YearlyHeatmap.DAYS);
+        assertThat(dto.getMinutes()).containsOnlyKeys("운동", "독서");
+
+        short[] exercise = YearlyHeatmap.decode(dto.getMinutes().get("운동"));
+        assertThat(exercise).hasSize(YearlyHeatmap.DAYS);
+        assertThat(exercise[YearlyHeatmap.DAYS - 1]).isEqualTo((short) 50);
+        assertThat(exercise[0]).isEqualTo(Short.MAX_VALUE);
+
+        short[] reading = YearlyHeatmap.decode(dto.getMinutes().get("독서"));
+        assertThat(reading[YearlyHeatmap.DAYS - 11]).isEqualTo((short) 15);
+        assertThat(reading[0]).isZero();
+    }
+}
@@ -2,6 +2,7 @@ package goojeans.harulog.user.service;
 
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
+import goojeans.harulog.post.service.TimelineService;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.user.domain.dto.request.FollowRequest;
 import goojeans.harulog.user.domain.dto.response.FollowInfo;
@@ -47,6 +48,8 @@ public class FollowServiceTest {
     FollowRepository followRepository;
     @Mock
     SecurityUtils securityUtils;
+    @Mock
+    TimelineService timelineService;
 
     private String testString1 = "test1";
     private String testString2 = "test2";
@@ -235,6 +238,7 @@ public class FollowServiceTest {
 
         verify(userRepository, times(1)).findByNickname(testString1);
         verify(userRepository, times(1)).findByNickname(testString3);
+        verify(timelineService, times(1)).backfill(testId3, testId1);
 
     }
 
@@ -262,6 +266,7 @@ public class FollowServiceTest {
         assertThat(response.getCode()).isEqualTo(ResponseCode.SUCCESS.getCode());
 
         verify(followRepository, times(1)).deleteFollow(new FollowId(user1.getId(), user2.getId()));
+        verify(timelineService, times(1)).trim(user1.getId(), user2.getId());
 //        verify(userRepository, times(1)).findUsersByNickname(testString1);
         verify(userRepository, times(1)).findUsersByNickname(testString2);
 
@@ -291,6 +296,7 @@ public class FollowServiceTest {
         assertThat(response.getCode()).isEqualTo(ResponseCode.SUCCESS.getCode());
 
         verify(followRepository, times(1)).deleteFollow(new FollowId(user1.getId(), user2.getId()));
+        verify(timelineService, times(1)).trim(user1.getId(), user2.getId());
 //        verify(userRepository, times(1)).findUsersByNickname(testString1);
         verify(userRepository, times(1)).findUsersByNickname(testString2);
 
@@ -7,6 +7,7 @@ import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
 import goojeans.harulog.domain.dto.ImageUrlString;
 import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.domain.event.UserProfileChangedEvent;
 import goojeans.harulog.user.repository.UserRepository;
 import goojeans.harulog.user.util.SecurityUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -41,6 +43,8 @@ public class ImageServiceTest {
     private UserRepository userRepository;
     @Mock
     private FirebaseApp firebaseApp;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     @DisplayName("유저 프사 업로드")
@@ -82,6 +86,7 @@ public class ImageServiceTest {
         verify(securityUtils, times(1)).getCurrentUserInfo();
         verify(userRepository, times(1)).findById(testId);
         verify(bucket, times(1)).create(eq(blob), any(InputStream.class), eq("image/jpeg"));
+        verify(eventPublisher, times(1)).publishEvent(any(UserProfileChangedEvent.class));
 
     }
 
@@ -3,6 +3,7 @@ package goojeans.harulog.user.service;
 import goojeans.harulog.category.domain.entity.Category;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
+import goojeans.harulog.post.service.GoalStreakService;
 import goojeans.harulog.user.domain.dto.request.UpdateGoalsDto;
 import goojeans.harulog.user.domain.dto.request.UpdateUserGoalsRequest;
 import goojeans.harulog.user.domain.dto.response.UserGoalResponse;
@@ -33,6 +34,8 @@ public class UserGoalServiceTest {
     UserGoalServiceImpl service;
     @Mock
     UserGoalRepository userGoalRepository;
+    @Mock
+    GoalStreakService goalStreakService;
 
     private final String testString = "testString";
     private final String categoryName1 = "category1";
@@ -120,6 +123,8 @@ public class UserGoalServiceTest {
         assertThat(response.getCode()).isEqualTo(ResponseCode.SUCCESS.getCode());
 
         verify(userGoalRepository, times(1)).findUserGoalsByUserId(testId1);
+        verify(goalStreakService, times(1)).reset(testId1, testId1);
+        verify(goalStreakService, never()).reset(testId1, testId2);
 
     }
 
@@ -2,6 +2,7 @@ package goojeans.harulog.user.service;
 
 import goojeans.harulog.category.domain.entity.Category;
 import goojeans.harulog.category.repository.CategoryRepository;
+import goojeans.harulog.common.SingleFlight;
 import goojeans.harulog.domain.ResponseCode;
 import goojeans.harulog.domain.dto.Response;
 import goojeans.harulog.user.domain.dto.JwtUserDetail;
@@ -14,12 +15,14 @@ import goojeans.harulog.user.domain.dto.response.UserInfoEditResponse;
 import goojeans.harulog.user.domain.entity.Follow;
 import goojeans.harulog.user.domain.entity.UserGoal;
 import goojeans.harulog.user.domain.entity.Users;
+import goojeans.harulog.user.domain.event.UserProfileChangedEvent;
 import goojeans.harulog.user.repository.UserGoalRepository;
 import goojeans.harulog.user.repository.UserRepository;
 import goojeans.harulog.user.util.JwtTokenProvider;
 import goojeans.harulog.user.util.SecurityUtils;
 import goojeans.harulog.user.util.SocialType;
 import goojeans.harulog.user.util.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +32,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -63,6 +67,10 @@ public class UserServiceTest {
     UserGoalRepository userGoalRepository;
     @Mock
     CategoryRepository categoryRepository;
+    @Spy
+    SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     private String testString = "test";
     private Long testId = 1L;
@@ -177,6 +185,8 @@ public class UserServiceTest {
         assertThat(testUser.getContactNumber()).isEqualTo(updateString);
 
         verify(userRepository, times(1)).findById(testId);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof UserProfileChangedEvent changed && changed.getNickname().equals(testString)));
 
     }
 